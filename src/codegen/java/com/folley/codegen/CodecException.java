@@ -0,0 +1,21 @@
+package com.folley.codegen;
+
+import javax.lang.model.element.Element;
+
+/**
+ * A bean the processor cannot generate a faithful codec for, reported as a
+ * compile error on the offending element.
+ */
+class CodecException extends RuntimeException {
+
+    private final transient Element element;
+
+    CodecException(Element element, String message) {
+        super(message);
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+}
@@ -0,0 +1,656 @@
+package com.folley.codegen;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Generates the codec source for one {@link JsonCodec} bean.
+ *
+ * Every property type resolves to a read expression, evaluated with the
+ * parser positioned on the property's value token, and a write statement.
+ * Containers and enums get private helper methods in the codec, shared by
+ * all properties of the same type. Types read through the mapper get a
+ * deserializer field that is looked up once, when Jackson resolves the
+ * generated deserializer, rather than on every value.
+ */
+final class CodecWriter {
+
+    private static final String GENERATOR = JsonCodecProcessor.class.getName();
+
+    /** Boxed types, mapped to the suffix of their {@code JsonCodecs.readNullable*} reader. */
+    private static final Map<String, String> BOXED = Map.of(
+            "java.lang.Byte", "Byte",
+            "java.lang.Short", "Short",
+            "java.lang.Integer", "Int",
+            "java.lang.Long", "Long",
+            "java.lang.Float", "Float",
+            "java.lang.Double", "Double",
+            "java.lang.Boolean", "Boolean",
+            "java.lang.Character", "Char");
+
+    /** Other value types with a reader in {@code JsonCodecs}. */
+    private static final Map<String, String> SCALARS = Map.of(
+            "java.lang.String", "readString",
+            "java.math.BigDecimal", "readBigDecimal",
+            "java.math.BigInteger", "readBigInteger",
+            "java.util.UUID", "readUuid");
+
+    private static final Set<String> COLLECTIONS = Set.of("java.util.List", "java.util.Set", "java.util.Collection");
+
+    private final ProcessingEnvironment env;
+    private final Types types;
+    private final TypeElement bean;
+    private final String beanName;
+    private final String codecName;
+
+    private final StringBuilder constants = new StringBuilder();
+    private final StringBuilder readHelpers = new StringBuilder();
+    private final StringBuilder writeHelpers = new StringBuilder();
+    private final StringBuilder delegateFields = new StringBuilder();
+    private final StringBuilder delegateResolution = new StringBuilder();
+    private final Map<String, String> delegates = new HashMap<>();
+    private final Map<String, String> typeConstants = new HashMap<>();
+    private final Map<String, String> helperNames = new HashMap<>();
+    private final Set<String> usedHelperNames = new HashSet<>();
+
+    CodecWriter(ProcessingEnvironment env, TypeElement bean) {
+        this.env = env;
+        this.types = env.getTypeUtils();
+        this.bean = bean;
+        this.beanName = bean.getSimpleName().toString();
+        this.codecName = codecName(bean);
+    }
+
+    void write() throws IOException {
+        List<Property> properties = properties();
+        String packageName = ((PackageElement) bean.getEnclosingElement()).getQualifiedName().toString();
+
+        StringBuilder read = new StringBuilder();
+        StringBuilder write = new StringBuilder();
+        for (Property property : properties) {
+            String constant = constantName(property.name());
+            constants.append("    private static final SerializedString ").append(constant)
+                    .append(" = new SerializedString(\"").append(property.name()).append("\");\n");
+            read.append("                    case \"").append(property.name()).append("\" -> value.")
+                    .append(property.setter()).append('(').append(readExpression(property.type())).append(");\n");
+            write.append("        gen.writeFieldName(").append(constant).append(");\n")
+                    .append("        ").append(writeStatement(property.type(), "value." + property.getter() + "()"))
+                    .append(";\n");
+        }
+
+        String source = "package " + packageName + ";\n"
+                + "\n"
+                + "import com.fasterxml.jackson.core.JsonGenerator;\n"
+                + "import com.fasterxml.jackson.core.JsonParser;\n"
+                + "import com.fasterxml.jackson.core.JsonToken;\n"
+                + "import com.fasterxml.jackson.core.io.SerializedString;\n"
+                + "import com.fasterxml.jackson.core.type.TypeReference;\n"
+                + "import com.fasterxml.jackson.databind.DeserializationContext;\n"
+                + "import com.fasterxml.jackson.databind.JavaType;\n"
+                + "import com.fasterxml.jackson.databind.JsonDeserializer;\n"
+                + "import com.fasterxml.jackson.databind.JsonMappingException;\n"
+                + "import com.fasterxml.jackson.databind.SerializerProvider;\n"
+                + "import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;\n"
+                + "import com.fasterxml.jackson.databind.deser.std.StdDeserializer;\n"
+                + "import com.fasterxml.jackson.databind.module.SimpleModule;\n"
+                + "import com.fasterxml.jackson.databind.ser.std.StdSerializer;\n"
+                + "import com.fasterxml.jackson.databind.type.TypeFactory;\n"
+                + "import com.folley.json.JsonCodecs;\n"
+                + "\n"
+                + "import javax.annotation.processing.Generated;\n"
+                + "import java.io.IOException;\n"
+                + "\n"
+                + "/**\n"
+                + " * Streaming JSON codec for {@link " + beanName + "}, generated from its properties.\n"
+                + " * Do not edit; change the bean and recompile instead.\n"
+                + " */\n"
+                + "@Generated(\"" + GENERATOR + "\")\n"
+                + "public final class " + codecName + " {\n"
+                + "\n"
+                + constants
+                + "\n"
+                + "    private " + codecName + "() {\n"
+                + "    }\n"
+                + "\n"
+                + "    /**\n"
+                + "     * Registers this codec as the serializer and deserializer for {@link " + beanName + "}.\n"
+                + "     */\n"
+                + "    public static void register(SimpleModule module) {\n"
+                + "        module.addSerializer(" + beanName + ".class, new Serializer());\n"
+                + "        module.addDeserializer(" + beanName + ".class, new Deserializer());\n"
+                + "    }\n"
+                + "\n"
+                + "    public static void write(" + beanName + " value, JsonGenerator gen, SerializerProvider provider)\n"
+                + "            throws IOException {\n"
+                + "        if (value == null) {\n"
+                + "            gen.writeNull();\n"
+                + "            return;\n"
+                + "        }\n"
+                + "        gen.writeStartObject(value);\n"
+                + write
+                + "        gen.writeEndObject();\n"
+                + "    }\n"
+                + writeHelpers
+                + "\n"
+                + "    static final class Serializer extends StdSerializer<" + beanName + "> {\n"
+                + "\n"
+                + "        Serializer() {\n"
+                + "            super(" + beanName + ".class);\n"
+                + "        }\n"
+                + "\n"
+                + "        @Override\n"
+                + "        public void serialize(" + beanName + " value, JsonGenerator gen, SerializerProvider provider)\n"
+                + "                throws IOException {\n"
+                + "            write(value, gen, provider);\n"
+                + "        }\n"
+                + "    }\n"
+                + "\n"
+                + "    static final class Deserializer extends StdDeserializer<" + beanName + "> implements ResolvableDeserializer {\n"
+                + "\n"
+                + delegateFields
+                + (delegateFields.length() > 0 ? "\n" : "")
+                + "        Deserializer() {\n"
+                + "            super(" + beanName + ".class);\n"
+                + "        }\n"
+                + "\n"
+                + "        @Override\n"
+                + "        public void resolve(DeserializationContext ctxt) throws JsonMappingException {\n"
+                + delegateResolution
+                + "        }\n"
+                + "\n"
+                + "        /**\n"
+                + "         * Reads one bean starting at the parser's current token, leaving the\n"
+                + "         * parser on the closing {@code END_OBJECT}.\n"
+                + "         */\n"
+                + "        @Override\n"
+                + "        public " + beanName + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {\n"
+                + "            String name;\n"
+                + "            if (p.isExpectedStartObjectToken()) {\n"
+                + "                name = p.nextFieldName();\n"
+                + "            } else if (p.hasToken(JsonToken.FIELD_NAME)) {\n"
+                + "                name = p.currentName();\n"
+                + "            } else {\n"
+                + "                return (" + beanName + ") ctxt.handleUnexpectedToken(" + beanName + ".class, p);\n"
+                + "            }\n"
+                + "            " + beanName + " value = new " + beanName + "();\n"
+                + "            for (; name != null; name = p.nextFieldName()) {\n"
+                + "                p.nextToken();\n"
+                + "                switch (name) {\n"
+                + read
+                + "                    default -> ctxt.handleUnknownProperty(p, this, value, name);\n"
+                + "                }\n"
+                + "            }\n"
+                + "            return value;\n"
+                + "        }\n"
+                + readHelpers
+                + "    }\n"
+                + "}\n";
+
+        try (Writer writer = env.getFiler().createSourceFile(packageName + "." + codecName, bean).openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    /**
+     * Properties in field declaration order, named the way Jackson names
+     * them from their getters.
+     */
+    private List<Property> properties() {
+        if (bean.getNestingKind() != NestingKind.TOP_LEVEL) {
+            throw new CodecException(bean, "@JsonCodec beans must be top-level classes");
+        }
+        if (!bean.getTypeParameters().isEmpty()) {
+            throw new CodecException(bean, "@JsonCodec beans cannot be generic");
+        }
+        if (!types.isSameType(bean.getSuperclass(), env.getElementUtils().getTypeElement("java.lang.Object").asType())) {
+            throw new CodecException(bean, "@JsonCodec beans cannot extend other classes");
+        }
+        rejectJacksonAnnotations(bean);
+        boolean hasDefaultConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(bean.getEnclosedElements())) {
+            rejectJacksonAnnotations(constructor);
+            hasDefaultConstructor |= constructor.getParameters().isEmpty()
+                    && constructor.getModifiers().contains(Modifier.PUBLIC);
+        }
+        if (!hasDefaultConstructor) {
+            throw new CodecException(bean, "@JsonCodec beans need a public no-argument constructor");
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(bean.getEnclosedElements())) {
+            rejectJacksonAnnotations(method);
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(bean.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            rejectJacksonAnnotations(field);
+            String suffix = capitalize(field.getSimpleName().toString());
+            TypeMirror type = field.asType();
+            ExecutableElement getter = method("get" + suffix, 0);
+            if (getter == null && type.getKind() == TypeKind.BOOLEAN) {
+                getter = method("is" + suffix, 0);
+            }
+            ExecutableElement setter = method("set" + suffix, 1);
+            if (getter == null && setter == null) {
+                continue;
+            }
+            if (getter == null || setter == null
+                    || !types.isSameType(getter.getReturnType(), type)
+                    || !types.isSameType(setter.getParameters().get(0).asType(), type)) {
+                throw new CodecException(field, "@JsonCodec properties need a public getter and setter of the field's type");
+            }
+            String getterName = getter.getSimpleName().toString();
+            String name = manglePropertyName(getterName.substring(getterName.startsWith("is") ? 2 : 3));
+            properties.add(new Property(name, getterName, setter.getSimpleName().toString(), type));
+        }
+        return properties;
+    }
+
+    private ExecutableElement method(String name, int parameters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(bean.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private String readExpression(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return "JsonCodecs.read" + primitiveLabel(type) + "(p, ctxt)";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            String name = qualifiedName(type);
+            if (BOXED.containsKey(name)) {
+                return "JsonCodecs.readNullable" + BOXED.get(name) + "(p, ctxt)";
+            }
+            if (SCALARS.containsKey(name)) {
+                return "JsonCodecs." + SCALARS.get(name) + "(p, ctxt)";
+            }
+            TypeElement element = (TypeElement) types.asElement(type);
+            if (isPlainEnum(element)) {
+                return enumReader(element) + "(p, ctxt)";
+            }
+            if (isDirectCollection(type)) {
+                return collectionReader((DeclaredType) type) + "(p, ctxt)";
+            }
+        }
+        if (type.getKind() == TypeKind.ARRAY && isDirectArray((ArrayType) type)) {
+            return arrayReader((ArrayType) type) + "(p, ctxt)";
+        }
+        return "JsonCodecs.readValue(p, ctxt, " + delegate(type) + ")";
+    }
+
+    private String writeStatement(TypeMirror type, String value) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "gen.writeBoolean(" + value + ")";
+            case CHAR:
+                return "gen.writeString(String.valueOf(" + value + "))";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "gen.writeNumber(" + value + ")";
+            default:
+                break;
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            String name = qualifiedName(type);
+            if (name.equals("java.lang.String")) {
+                return "gen.writeString(" + value + ")";
+            }
+            if (name.equals("java.util.UUID")) {
+                return "JsonCodecs.writeUuid(gen, provider, " + value + ")";
+            }
+            if (BOXED.containsKey(name) || SCALARS.containsKey(name)) {
+                return "JsonCodecs.write(gen, " + value + ")";
+            }
+            TypeElement element = (TypeElement) types.asElement(type);
+            if (isCodec(element)) {
+                return codecName(element) + ".write(" + value + ", gen, provider)";
+            }
+            if (isPlainEnum(element)) {
+                return "JsonCodecs.writeEnum(gen, provider, " + value + ")";
+            }
+            if (isDirectCollection(type)) {
+                return elementsWriter(type, ((DeclaredType) type).getTypeArguments().get(0), "size()")
+                        + "(gen, provider, " + value + ")";
+            }
+        }
+        if (type.getKind() == TypeKind.ARRAY && isDirectArray((ArrayType) type)) {
+            return elementsWriter(type, ((ArrayType) type).getComponentType(), "length")
+                    + "(gen, provider, " + value + ")";
+        }
+        return "provider.defaultSerializeValue(" + value + ", gen)";
+    }
+
+    private String enumReader(TypeElement element) {
+        String type = element.getQualifiedName().toString();
+        return helper("read:" + type, "read" + element.getSimpleName(), name -> {
+            StringBuilder cases = new StringBuilder();
+            for (Element constant : element.getEnclosedElements()) {
+                if (constant.getKind() == ElementKind.ENUM_CONSTANT) {
+                    cases.append("                case \"").append(constant.getSimpleName()).append("\": return ")
+                            .append(type).append('.').append(constant.getSimpleName()).append(";\n");
+                }
+            }
+            return "    private static " + type + " " + name + "(JsonParser p, DeserializationContext ctxt)\n"
+                    + "            throws IOException {\n"
+                    + "        if (p.hasToken(JsonToken.VALUE_STRING)) {\n"
+                    + "            switch (p.getText()) {\n"
+                    + cases
+                    + "                default: break;\n"
+                    + "            }\n"
+                    + "        }\n"
+                    + "        return JsonCodecs.readValue(p, ctxt, " + type + ".class);\n"
+                    + "    }\n";
+        });
+    }
+
+    private String collectionReader(DeclaredType type) {
+        TypeMirror elementType = type.getTypeArguments().get(0);
+        String implementation = qualifiedName(type).equals("java.util.Set") ? "java.util.HashSet" : "java.util.ArrayList";
+        String elementRead = readExpression(elementType);
+        String constant = typeConstant(type);
+        return helper("read:" + type, "read" + label(type), name ->
+                "    private static " + type + " " + name + "(JsonParser p, DeserializationContext ctxt)\n"
+                        + "            throws IOException {\n"
+                        + "        if (!p.isExpectedStartArrayToken()) {\n"
+                        + "            return JsonCodecs.readValue(p, ctxt, " + constant + ");\n"
+                        + "        }\n"
+                        + "        " + type + " values = new " + implementation + "<>();\n"
+                        + "        while (p.nextToken() != JsonToken.END_ARRAY) {\n"
+                        + "            values.add(" + elementRead + ");\n"
+                        + "        }\n"
+                        + "        return values;\n"
+                        + "    }\n");
+    }
+
+    private String arrayReader(ArrayType type) {
+        TypeMirror component = type.getComponentType();
+        String elementRead = readExpression(component);
+        String constant = typeConstant(type);
+        if (component.getKind().isPrimitive()) {
+            // Grow a primitive buffer so elements are never boxed.
+            return helper("read:" + type, "read" + label(type), name ->
+                    "    private static " + type + " " + name + "(JsonParser p, DeserializationContext ctxt)\n"
+                            + "            throws IOException {\n"
+                            + "        if (!p.isExpectedStartArrayToken()) {\n"
+                            + "            return JsonCodecs.readValue(p, ctxt, " + constant + ");\n"
+                            + "        }\n"
+                            + "        " + type + " values = new " + component + "[16];\n"
+                            + "        int size = 0;\n"
+                            + "        while (p.nextToken() != JsonToken.END_ARRAY) {\n"
+                            + "            if (size == values.length) {\n"
+                            + "                values = java.util.Arrays.copyOf(values, size * 2);\n"
+                            + "            }\n"
+                            + "            values[size++] = " + elementRead + ";\n"
+                            + "        }\n"
+                            + "        return java.util.Arrays.copyOf(values, size);\n"
+                            + "    }\n");
+        }
+        return helper("read:" + type, "read" + label(type), name ->
+                "    private static " + type + " " + name + "(JsonParser p, DeserializationContext ctxt)\n"
+                        + "            throws IOException {\n"
+                        + "        if (!p.isExpectedStartArrayToken()) {\n"
+                        + "            return JsonCodecs.readValue(p, ctxt, " + constant + ");\n"
+                        + "        }\n"
+                        + "        java.util.List<" + component + "> values = new java.util.ArrayList<>();\n"
+                        + "        while (p.nextToken() != JsonToken.END_ARRAY) {\n"
+                        + "            values.add(" + elementRead + ");\n"
+                        + "        }\n"
+                        + "        return values.toArray(new " + component + "[0]);\n"
+                        + "    }\n");
+    }
+
+    private String elementsWriter(TypeMirror type, TypeMirror elementType, String size) {
+        String elementWrite = writeStatement(elementType, "element");
+        return helper("write:" + type, "write" + label(type), name ->
+                "    private static void " + name + "(JsonGenerator gen, SerializerProvider provider, " + type + " values)\n"
+                        + "            throws IOException {\n"
+                        + "        if (values == null) {\n"
+                        + "            gen.writeNull();\n"
+                        + "            return;\n"
+                        + "        }\n"
+                        + "        gen.writeStartArray(values, values." + size + ");\n"
+                        + "        for (" + elementType + " element : values) {\n"
+                        + "            " + elementWrite + ";\n"
+                        + "        }\n"
+                        + "        gen.writeEndArray();\n"
+                        + "    }\n");
+    }
+
+    /**
+     * Returns the name of the helper for {@code key}, generating it on first
+     * use. Read helpers become instance methods of the deserializer so they
+     * can use its resolved delegates; write helpers stay static.
+     */
+    private String helper(String key, String preferredName, Function<String, String> source) {
+        String existing = helperNames.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        String name = preferredName;
+        for (int i = 2; !usedHelperNames.add(name); i++) {
+            name = preferredName + i;
+        }
+        helperNames.put(key, name);
+        String code = source.apply(name);
+        if (key.startsWith("read:")) {
+            readHelpers.append('\n').append(code.replace("private static ", "private ").replaceAll("(?m)^(?=.)", "    "));
+        } else {
+            writeHelpers.append('\n').append(code);
+        }
+        return name;
+    }
+
+    /**
+     * The deserializer field for a type read through the mapper, resolved
+     * the way {@code DeserializationContext.readValue} would resolve it.
+     */
+    private String delegate(TypeMirror type) {
+        String key = type.toString();
+        String existing = delegates.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        String label = label(type);
+        String name = Character.toLowerCase(label.charAt(0)) + label.substring(1) + "Deserializer";
+        while (delegates.containsValue(name)) {
+            name = "_" + name;
+        }
+        delegates.put(key, name);
+        String javaType = typeConstant(type);
+        if (javaType.endsWith(".class")) {
+            javaType = "ctxt.constructType(" + javaType + ")";
+        }
+        delegateFields.append("        private JsonDeserializer<Object> ").append(name).append(";\n");
+        delegateResolution.append("            ").append(name).append(" = ctxt.findRootValueDeserializer(")
+                .append(javaType).append(");\n");
+        return name;
+    }
+
+    /**
+     * A class literal, or for parameterized types a {@code JavaType}
+     * constant, that the mapper can resolve a deserializer from.
+     */
+    private String typeConstant(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (types.isSameType(erased, type)) {
+            return erased + ".class";
+        }
+        String key = type.toString();
+        String existing = typeConstants.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        String name = "TYPE_" + (typeConstants.size() + 1);
+        typeConstants.put(key, name);
+        constants.append("    private static final JavaType ").append(name)
+                .append(" = TypeFactory.defaultInstance().constructType(new TypeReference<").append(type)
+                .append(">() {\n    });\n");
+        return name;
+    }
+
+    private boolean isDirect(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isDirectArray((ArrayType) type);
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        String name = qualifiedName(type);
+        TypeElement element = (TypeElement) types.asElement(type);
+        return BOXED.containsKey(name) || SCALARS.containsKey(name) || isCodec(element) || isPlainEnum(element)
+                || isDirectCollection(type);
+    }
+
+    private boolean isDirectCollection(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || !COLLECTIONS.contains(qualifiedName(type))) {
+            return false;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        return arguments.size() == 1 && isDirect(arguments.get(0));
+    }
+
+    /**
+     * Arrays of non-generic element types. Byte and char arrays are left to
+     * Jackson, which reads them from Base64 and plain strings respectively.
+     */
+    private boolean isDirectArray(ArrayType type) {
+        TypeMirror component = type.getComponentType();
+        if (component.getKind() == TypeKind.BYTE || component.getKind() == TypeKind.CHAR) {
+            return false;
+        }
+        if (component.getKind() == TypeKind.DECLARED && !((DeclaredType) component).getTypeArguments().isEmpty()) {
+            return false;
+        }
+        return isDirect(component);
+    }
+
+    private boolean isCodec(TypeElement element) {
+        return element.getAnnotation(JsonCodec.class) != null;
+    }
+
+    /**
+     * Enums Jackson maps by constant name, with no Jackson annotations that
+     * could rename constants or add creators.
+     */
+    private boolean isPlainEnum(TypeElement element) {
+        if (element.getKind() != ElementKind.ENUM || hasJacksonAnnotation(element)) {
+            return false;
+        }
+        for (Element member : element.getEnclosedElements()) {
+            if (hasJacksonAnnotation(member)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rejectJacksonAnnotations(Element element) {
+        if (hasJacksonAnnotation(element)) {
+            throw new CodecException(element, "Jackson annotations are not supported on @JsonCodec beans");
+        }
+    }
+
+    private static boolean hasJacksonAnnotation(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().startsWith("com.fasterxml.jackson.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String qualifiedName(TypeMirror type) {
+        return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+    }
+
+    /**
+     * A readable name fragment for helper methods, e.g. {@code AddressList}
+     * or {@code IntArray}.
+     */
+    private String label(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return primitiveLabel(type);
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return label(((ArrayType) type).getComponentType()) + "Array";
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return "Value";
+        }
+        StringBuilder label = new StringBuilder();
+        for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+            label.append(label(argument));
+        }
+        return label.append(types.asElement(type).getSimpleName()).toString();
+    }
+
+    private static String primitiveLabel(TypeMirror type) {
+        return capitalize(type.getKind().name().toLowerCase(Locale.ROOT));
+    }
+
+    private static String codecName(TypeElement element) {
+        return element.getSimpleName() + "JsonCodec";
+    }
+
+    private static String constantName(String property) {
+        return property.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Jackson's default naming: leading upper-case letters of the accessor
+     * suffix are lower-cased, so {@code getZipCode} is {@code zipCode} and
+     * {@code getURL} is {@code url}.
+     */
+    private static String manglePropertyName(String suffix) {
+        StringBuilder name = new StringBuilder(suffix.length());
+        int i = 0;
+        while (i < suffix.length() && Character.isUpperCase(suffix.charAt(i))) {
+            name.append(Character.toLowerCase(suffix.charAt(i++)));
+        }
+        return name.append(suffix, i, suffix.length()).toString();
+    }
+
+    private record Property(String name, String getter, String setter, TypeMirror type) {
+    }
+}
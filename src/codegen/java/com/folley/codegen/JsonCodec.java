@@ -0,0 +1,24 @@
+package com.folley.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a streaming Jackson codec, {@code <Type>JsonCodec}, next to the
+ * annotated JavaBean at compile time.
+ *
+ * The codec reads and writes the same JSON as Jackson's bean serializer and
+ * deserializer under default property settings: properties in field
+ * declaration order, nulls included, and unknown properties handled as
+ * {@code FAIL_ON_UNKNOWN_PROPERTIES} says. Scalars, enums, arrays, lists,
+ * sets and other {@code @JsonCodec} types are handled inline; any other
+ * property type, and any token a fast path does not expect, is handed back
+ * to the {@code ObjectMapper} so coercion rules and registered modules still
+ * apply. Jackson annotations on the bean are rejected rather than ignored.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonCodec {
+}
@@ -0,0 +1,47 @@
+package com.folley.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Writes a {@code <Type>JsonCodec} source file for every class annotated
+ * with {@link JsonCodec}.
+ */
+@SupportedAnnotationTypes("com.folley.codegen.JsonCodec")
+public class JsonCodecProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(JsonCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@JsonCodec only applies to classes");
+                continue;
+            }
+            try {
+                new CodecWriter(processingEnv, (TypeElement) element).write();
+            } catch (CodecException e) {
+                error(e.getElement(), e.getMessage());
+            } catch (IOException e) {
+                error(element, "Could not write JSON codec: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,84 @@
+package com.folley.collections;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a large JSON array of ints as the previous {@code Integer[]} and
+ * {@code HashSet<Integer>} versus {@link IntList} and {@link IntHashSet}.
+ * Run with {@code -PjmhProfilers=gc} to compare bytes allocated per decode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntCollectionsBenchmark {
+
+    @Param({"50000"})
+    public int elements;
+
+    private byte[] json;
+    private ObjectReader boxedArray;
+    private ObjectReader boxedSet;
+    private ObjectReader intList;
+    private ObjectReader intSet;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        boxedArray = mapper.readerFor(Integer[].class);
+        boxedSet = mapper.readerFor(new TypeReference<Set<Integer>>() {
+        });
+        intList = mapper.readerFor(IntList.class);
+        intSet = mapper.readerFor(IntHashSet.class);
+        Random random = new Random(42);
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) {
+                array.append(',');
+            }
+            array.append(random.nextInt(1_000_000));
+        }
+        json = array.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Integer[] integerArray() throws IOException {
+        return boxedArray.readValue(json);
+    }
+
+    @Benchmark
+    public IntList intList() throws IOException {
+        return intList.readValue(json);
+    }
+
+    @Benchmark
+    public Set<Integer> integerSet() throws IOException {
+        return boxedSet.readValue(json);
+    }
+
+    @Benchmark
+    public IntHashSet intHashSet() throws IOException {
+        return intSet.readValue(json);
+    }
+}
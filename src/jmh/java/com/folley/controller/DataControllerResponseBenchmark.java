@@ -0,0 +1,109 @@
+package com.folley.controller;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.model.ComprehensiveData;
+import com.folley.model.ComprehensiveDataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and encoding the {@code /api/data/comprehensive} response as the
+ * original pair of {@code HashMap}s written through the mapper versus the
+ * {@link ComprehensiveDataResponse} record written through a cached writer.
+ * The parsed example document stands in for {@code fullData}. Run with
+ * {@code -PjmhProfilers=gc} and compare {@code gc.alloc.rate.norm}, the bytes
+ * allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataControllerResponseBenchmark {
+
+    private ObjectMapper mapper;
+    private ObjectWriter writer;
+    private ComprehensiveData data;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        writer = mapper.writerFor(ComprehensiveDataResponse.class);
+        String json = DataController.EXAMPLE_JSON;
+        data = mapper.readValue(json, ComprehensiveData.class);
+    }
+
+    @Benchmark
+    public byte[] map() throws IOException {
+        return mapper.writeValueAsBytes(mapResponse(data));
+    }
+
+    @Benchmark
+    public byte[] record() throws IOException {
+        return writer.writeValueAsBytes(ComprehensiveDataResponse.of(data, data));
+    }
+
+    /**
+     * The response as {@code DataController} built it before it had a
+     * response type.
+     */
+    private static Map<String, Object> mapResponse(ComprehensiveData data) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("received", true);
+        response.put("message", ComprehensiveDataResponse.MESSAGE);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("byteValue", data.getByteValue());
+        summary.put("shortValue", data.getShortValue());
+        summary.put("integerValue", data.getIntegerValue());
+        summary.put("longValue", data.getLongValue());
+        summary.put("floatValue", data.getFloatValue());
+        summary.put("doubleValue", data.getDoubleValue());
+        summary.put("booleanValue", data.getBooleanValue());
+        summary.put("characterValue", data.getCharacterValue());
+        summary.put("stringValue", data.getStringValue());
+        summary.put("bigDecimalValue", data.getBigDecimalValue());
+        summary.put("bigIntegerValue", data.getBigIntegerValue());
+        summary.put("uuidValue", data.getUuidValue());
+        summary.put("localDate", data.getLocalDate());
+        summary.put("localTime", data.getLocalTime());
+        summary.put("localDateTime", data.getLocalDateTime());
+        summary.put("zonedDateTime", data.getZonedDateTime());
+        summary.put("instant", data.getInstant());
+        summary.put("status", data.getStatus());
+        summary.put("address", data.getAddress());
+        summary.put("stringArrayLength", data.getStringArray() != null ? data.getStringArray().length : 0);
+        summary.put("intArrayLength", data.getIntArray() != null ? data.getIntArray().length : 0);
+        summary.put("integerArrayLength", data.getIntegerArray() != null ? data.getIntegerArray().size() : 0);
+        summary.put("stringListSize", data.getStringList() != null ? data.getStringList().size() : 0);
+        summary.put("integerSetSize", data.getIntegerSet() != null ? data.getIntegerSet().size() : 0);
+        summary.put("metadataSize", data.getMetadata() != null ? data.getMetadata().size() : 0);
+        summary.put("addressesSize", data.getAddresses() != null ? data.getAddresses().size() : 0);
+        summary.put("nullableField", data.getNullableField());
+
+        response.put("summary", summary);
+        response.put("fullData", data);
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.folley.model.Address;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prints retained bytes per address for a parsed batch, read by the
+ * generated codec, through the string pool, and through the pool with
+ * shared instances. Streets come from a vocabulary of a few thousand and
+ * the other fields from a few hundred values, so many addresses repeat.
+ *
+ * Run with {@code ./gradlew addressFootprint}.
+ */
+public final class AddressFootprint {
+
+    private static final int ADDRESSES = 200_000;
+
+    private AddressFootprint() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int addresses = args.length > 0 ? Integer.parseInt(args[0]) : ADDRESSES;
+        byte[] json = batch(addresses);
+        System.out.printf("%-20s %15s %18s%n", "reader", "total bytes", "bytes/address");
+        for (String reader : new String[] {"generated", "pooled", "pooled-shared"}) {
+            List<Address> parsed = mapper(reader).readValue(json, new TypeReference<List<Address>>() {
+            });
+            long bytes = GraphLayout.parseInstance(parsed).totalSize();
+            System.out.printf("%-20s %15d %18.1f%n", reader, bytes, (double) bytes / addresses);
+        }
+    }
+
+    static ObjectMapper mapper(String reader) {
+        SimpleModule module = JsonCodecs.module();
+        switch (reader) {
+            case "generated" -> {
+            }
+            case "pooled" -> module.addDeserializer(Address.class, new AddressDeserializer(new StringPool(4096), 0));
+            case "pooled-shared" -> module.addDeserializer(Address.class,
+                    new AddressDeserializer(new StringPool(4096), 4096));
+            default -> throw new IllegalArgumentException("Unknown reader: " + reader);
+        }
+        return new ObjectMapper().registerModule(module);
+    }
+
+    /**
+     * A JSON array of addresses drawn from 2,000 streets, 300 cities, 50
+     * states, 500 zip codes and 5 countries.
+     */
+    static byte[] batch(int addresses) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < addresses; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int street = random.nextInt(2_000);
+            json.append("{\"street\":\"").append(100 + street).append(" Main St\"")
+                    .append(",\"city\":\"City ").append(street % 300).append('"')
+                    .append(",\"state\":\"S").append(street % 50).append('"')
+                    .append(",\"zipCode\":\"").append(10_000 + street % 500).append('"')
+                    .append(",\"country\":\"Country ").append(street % 5).append("\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.controller.DataController;
+import com.folley.model.ComprehensiveData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing the {@code /api/data/example} document through
+ * Jackson's reflective bean codecs ({@code reflective}), the generated
+ * {@code @JsonCodec} ones alone ({@code generated}), and the generated ones
+ * with everything {@link JsonCodecConfiguration} adds at its defaults: the
+ * address pool, the java.time fast paths and {@link NumberParsing}
+ * ({@code configured}), with the mapper otherwise configured like the
+ * application's.
+ *
+ * The generated codecs alone make writes faster but leave reads about where
+ * they were, because reading this document is dominated by its java.time,
+ * {@code BigDecimal} and map values rather than by bean binding; the read
+ * gains come with {@code configured}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComprehensiveDataCodecBenchmark {
+
+    @Param({"reflective", "generated", "configured"})
+    private String codec;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private byte[] json;
+    private ComprehensiveData data;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (codec.equals("generated")) {
+            mapper.registerModule(JsonCodecs.module());
+        } else if (codec.equals("configured")) {
+            mapper.registerModule(new JsonCodecConfiguration().jsonCodecModule(4096, false, 256));
+            new NumberParsing(256, 1000).applyTo(mapper);
+        }
+        reader = mapper.readerFor(ComprehensiveData.class);
+        writer = mapper.writerFor(ComprehensiveData.class);
+        json = DataController.EXAMPLE_JSON.getBytes(StandardCharsets.UTF_8);
+        data = reader.readValue(json);
+    }
+
+    @Benchmark
+    public ComprehensiveData read() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(data);
+    }
+}
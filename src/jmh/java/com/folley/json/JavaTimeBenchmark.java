@@ -0,0 +1,83 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading each java.time type of {@code ComprehensiveData}, with the values
+ * of the example request, through {@code JavaTimeModule} alone
+ * ({@code standard}) and with {@link JavaTimeDeserializers} in front of it
+ * ({@code fast}). Run with {@code -PjmhProfilers=gc} to compare bytes
+ * allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaTimeBenchmark {
+
+    @Param({"standard", "fast"})
+    public String mode;
+
+    @Param({"localDate", "localTime", "localDateTime", "instant", "zonedDateTime"})
+    public String type;
+
+    private byte[] json;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        if (mode.equals("fast")) {
+            SimpleModule module = new SimpleModule("java-time-fast-paths");
+            JavaTimeDeserializers.addTo(module, new ZoneIdCache(256));
+            mapper.registerModule(module);
+        }
+        String value = switch (type) {
+            case "localDate" -> "2024-10-26";
+            case "localTime" -> "14:30:00";
+            case "localDateTime" -> "2024-10-26T14:30:00";
+            case "instant" -> "2024-10-26T19:30:00Z";
+            case "zonedDateTime" -> "2024-10-26T14:30:00-05:00[America/Chicago]";
+            default -> throw new IllegalArgumentException(type);
+        };
+        Class<?> valueType = switch (type) {
+            case "localDate" -> LocalDate.class;
+            case "localTime" -> LocalTime.class;
+            case "localDateTime" -> LocalDateTime.class;
+            case "instant" -> Instant.class;
+            default -> ZonedDateTime.class;
+        };
+        json = ("\"" + value + "\"").getBytes(StandardCharsets.UTF_8);
+        reader = mapper.readerFor(valueType);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,84 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a large nested metadata object and taking its size, as
+ * {@code /api/data/comprehensive} does, and reading it and writing it back.
+ * {@code map} binds a {@code Map<String, Object>} as before,
+ * {@code tokens} a {@link LazyJsonObject} buffered in a {@code TokenBuffer}
+ * and {@code slice} one that keeps a slice of the input. Run with
+ * {@code -PjmhProfilers=gc} to compare bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyJsonObjectBenchmark {
+
+    @Param({"map", "tokens", "slice"})
+    public String mode;
+
+    @Param({"200"})
+    public int keys;
+
+    private byte[] json;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        json = metadata(keys);
+        reader = mode.equals("map") ? mapper.readerFor(Map.class) : mapper.readerFor(LazyJsonObject.class);
+        if (mode.equals("slice")) {
+            reader = LazyJsonObject.readingFrom(reader, json);
+        }
+        writer = mapper.writer();
+    }
+
+    @Benchmark
+    public int size() throws IOException {
+        return reader.<Map<?, ?>>readValue(json).size();
+    }
+
+    @Benchmark
+    public byte[] echo() throws IOException {
+        return writer.writeValueAsBytes(reader.readValue(json));
+    }
+
+    private static byte[] metadata(int keys) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < keys; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"key").append(i).append("\":{\"id\":").append(i)
+                    .append(",\"score\":").append(i * 0.25)
+                    .append(",\"tags\":[\"alpha\",\"beta\",\"gamma\"]")
+                    .append(",\"owner\":{\"name\":\"user").append(i).append("\",\"active\":").append(i % 2 == 0)
+                    .append("}}");
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
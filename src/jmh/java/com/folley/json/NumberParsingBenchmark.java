@@ -0,0 +1,81 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.folley.model.ComprehensiveData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the numeric fields of {@code ComprehensiveData} with Jackson's
+ * number parsing ({@code jackson}) and with {@link NumberParsing}
+ * ({@code fast}). {@code typical} holds ordinary doubles, floats and big
+ * numbers; {@code adversarial} a {@code BigInteger} string of 999 digits,
+ * just within Jackson's own length limit, which the fast mode rejects
+ * before converting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParsingBenchmark {
+
+    @Param({"jackson", "fast"})
+    public String mode;
+
+    @Param({"typical", "adversarial"})
+    public String input;
+
+    private byte[] json;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(JsonCodecs.module())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (mode.equals("fast")) {
+            new NumberParsing(256, 1000).applyTo(mapper);
+        }
+        json = (input.equals("typical") ? typical() : adversarial()).getBytes(StandardCharsets.UTF_8);
+        reader = mapper.readerFor(ComprehensiveData.class);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        try {
+            return reader.readValue(json);
+        } catch (JsonProcessingException e) {
+            return e;
+        }
+    }
+
+    private static String typical() {
+        return """
+                {"floatValue": 3.1415927, "doubleValue": 2.718281828459045,
+                 "bigDecimalValue": 123456789.987654321, "bigIntegerValue": 98765432109876543210,
+                 "metadata": {}}
+                """;
+    }
+
+    private static String adversarial() {
+        return "{\"bigIntegerValue\": \"" + "7".repeat(999) + "\"}";
+    }
+}
@@ -0,0 +1,77 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.controller.DataController;
+import com.folley.model.ComprehensiveData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding the {@code /api/data/example} document as JSON, CBOR
+ * and Smile, with mappers configured like the application's message
+ * converters. The encoded size of each format is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private ComprehensiveData data;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(JsonCodecs.module())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        data = json.readValue(DataController.EXAMPLE_JSON, ComprehensiveData.class);
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> json.getFactory();
+        };
+        ObjectMapper mapper = json.copyWith(factory);
+        reader = mapper.readerFor(ComprehensiveData.class);
+        writer = mapper.writerFor(ComprehensiveData.class);
+        encoded = writer.writeValueAsBytes(data);
+        System.out.printf("%n%s: %d bytes on the wire%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(data);
+    }
+
+    @Benchmark
+    public ComprehensiveData decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,62 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of the repository with every thread updating random ids,
+ * comparing the default lock stripes against a single lock for all writes.
+ * Run with {@code -t} set to the core count, since striping only matters
+ * once writers contend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ProductRepositoryLockBenchmark {
+
+    @Param({"1", "64"})
+    private int lockStripes;
+
+    @Param({"100000"})
+    private int products;
+
+    private ProductRepository repository;
+
+    @Setup
+    public void setUp() {
+        repository = new ProductRepository(ProductRepository.StorageMode.HEAP, false, lockStripes);
+        for (long id = 0; id < products; id++) {
+            repository.save(new Product(id, "Product " + id, (double) id, "desc"));
+        }
+    }
+
+    @Benchmark
+    public Product save() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextInt(products);
+        return repository.save(new Product(id, "Product " + id, random.nextDouble(1_000), "desc"));
+    }
+
+    @Benchmark
+    public Product findById() {
+        return repository.findById(ThreadLocalRandom.current().nextInt(products)).orElse(null);
+    }
+}
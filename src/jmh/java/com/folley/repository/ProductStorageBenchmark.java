@@ -0,0 +1,60 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-lookup and full-scan cost of each product storage layout. Columnar
+ * layouts pay for materializing a {@link Product} on every read; see
+ * {@link ProductStorageFootprint} for what they save in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductStorageBenchmark {
+
+    @Param({"heap", "columnar", "columnar-off-heap"})
+    private String layout;
+
+    @Param({"100000"})
+    private int products;
+
+    private ProductStorage storage;
+
+    @Setup
+    public void setUp() {
+        storage = ProductStorageFootprint.create(layout);
+        ProductStorageFootprint.fill(storage, products);
+    }
+
+    @Benchmark
+    public Product findById() {
+        return storage.get(ThreadLocalRandom.current().nextInt(products));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double scanAllPrices() {
+        double total = 0;
+        for (Product product : storage.values()) {
+            total += product.getPrice();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,52 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints retained bytes per product for each storage layout, measured by
+ * walking the object graph with JOL. Off-heap text is added from the direct
+ * buffer's capacity since it is invisible to the heap walk.
+ *
+ * Run with {@code ./gradlew footprint}.
+ */
+public final class ProductStorageFootprint {
+
+    private static final int PRODUCTS = 1_000_000;
+
+    private ProductStorageFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : PRODUCTS;
+        System.out.printf("%-20s %15s %18s%n", "layout", "total bytes", "bytes/product");
+        for (String layout : new String[] {"heap", "columnar", "columnar-off-heap"}) {
+            ProductStorage storage = create(layout);
+            fill(storage, products);
+            long bytes = GraphLayout.parseInstance(storage).totalSize();
+            if (storage instanceof ColumnarProductStorage columnar && layout.endsWith("off-heap")) {
+                bytes += columnar.offHeapBytes();
+            }
+            System.out.printf("%-20s %15d %18.1f%n", layout, bytes, (double) bytes / products);
+        }
+    }
+
+    static ProductStorage create(String layout) {
+        return switch (layout) {
+            case "heap" -> new HeapProductStorage();
+            case "columnar" -> new ColumnarProductStorage(false);
+            case "columnar-off-heap" -> new ColumnarProductStorage(true);
+            default -> throw new IllegalArgumentException("Unknown layout: " + layout);
+        };
+    }
+
+    /**
+     * Loads a catalog with short names and sentence-length descriptions.
+     */
+    static void fill(ProductStorage storage, int products) {
+        for (int id = 0; id < products; id++) {
+            storage.put(new Product((long) id, "Product " + id, 10.0 + (id % 1000),
+                    "Description of product " + id + ", a reasonably typical catalog entry"));
+        }
+    }
+}
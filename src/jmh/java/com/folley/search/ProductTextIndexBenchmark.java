@@ -0,0 +1,82 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query and update cost of {@link ProductTextIndex} over a catalog whose
+ * names and descriptions draw on a small vocabulary, so common query terms
+ * have posting lists covering a large share of the catalog. Run with
+ * {@code -PjmhProfilers=gc} to compare bytes allocated per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductTextIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "wireless", "mouse", "keyboard", "usb", "cable", "black", "silver", "laptop", "stand", "hub",
+            "braided", "charger", "monitor", "ergonomic", "compact", "bluetooth", "gaming", "office", "travel", "case"};
+
+    @Param({"100000"})
+    private int products;
+
+    private ProductRepository repository;
+    private ProductTextIndex index;
+
+    @Setup
+    public void setUp() {
+        repository = new ProductRepository();
+        index = new ProductTextIndex(repository);
+        Random random = new Random(42);
+        for (long id = 1; id <= products; id++) {
+            repository.save(new Product(id, words(random, 3), 9.99, words(random, 12)));
+        }
+    }
+
+    @Benchmark
+    public List<ProductTextMatch> searchCommonTerms() {
+        return index.search("wireless mouse", 20);
+    }
+
+    @Benchmark
+    public List<ProductTextMatch> searchRareTerm() {
+        return index.search("braided", 20);
+    }
+
+    @Benchmark
+    public Product update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return repository.save(new Product((long) random.nextInt(1, products + 1), words(random, 3), 9.99, words(random, 12)));
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
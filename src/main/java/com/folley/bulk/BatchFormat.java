@@ -0,0 +1,15 @@
+package com.folley.bulk;
+
+/**
+ * Body formats accepted for batches of {@code ComprehensiveData} records.
+ */
+public enum BatchFormat {
+    /** A single JSON array of record objects. */
+    JSON_ARRAY,
+    /** One JSON record object per line. */
+    NDJSON,
+    /** A single CBOR array of record maps. */
+    CBOR_ARRAY,
+    /** A single Smile array of record objects. */
+    SMILE_ARRAY
+}
@@ -0,0 +1,10 @@
+package com.folley.bulk;
+
+/**
+ * A record of a batch that could not be processed.
+ *
+ * @param index   0-based position of the record in the batch
+ * @param message why the record was rejected
+ */
+public record BatchRecordError(long index, String message) {
+}
@@ -0,0 +1,290 @@
+package com.folley.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.folley.json.LazyJsonObject;
+import com.folley.model.ComprehensiveData;
+import com.folley.model.Status;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Processes batches of {@link ComprehensiveData} records posted as NDJSON or
+ * as one JSON, CBOR or Smile array.
+ *
+ * The calling thread only frames records: NDJSON lines are copied out of a
+ * reused line buffer, array elements are copied token by token into a
+ * {@link TokenBuffer}. Binding and processing run on a shared executor, on
+ * virtual threads when the runtime has them and otherwise on a fixed pool.
+ * Each batch has at most {@code maxInFlight} framed records waiting to be
+ * processed; beyond that reading pauses, so memory does not grow with the
+ * size of the batch. A record that fails to bind, however it fails, is
+ * reported by its index without affecting the others. A syntax error in an array ends the batch,
+ * since the element boundaries after it are unknown.
+ */
+@Component
+public class ComprehensiveDataBatchProcessor implements DisposableBean {
+
+    static final int MAX_RECORD_BYTES = 1024 * 1024;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ObjectReader reader;
+    private final ObjectReader cborReader;
+    private final ObjectReader smileReader;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+
+    /**
+     * @param workers        processing threads when virtual threads are not used; 0 uses one per processor
+     * @param maxInFlight    records per batch read but not yet processed before reading pauses
+     * @param virtualThreads process on virtual threads if the runtime supports them
+     * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+     */
+    public ComprehensiveDataBatchProcessor(ObjectMapper objectMapper,
+                                           @Value("${folley.data.batch.workers:0}") int workers,
+                                           @Value("${folley.data.batch.max-in-flight:256}") int maxInFlight,
+                                           @Value("${folley.data.batch.virtual-threads:true}") boolean virtualThreads) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("folley.data.batch.max-in-flight must be positive: " + maxInFlight);
+        }
+        this.reader = objectMapper.readerFor(ComprehensiveData.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.cborReader = reader.with(new CBORFactory());
+        this.smileReader = reader.with(new SmileFactory());
+        this.maxInFlight = maxInFlight;
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.executor = virtual != null ? virtual : newPlatformExecutor(
+                workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads and processes every record in {@code in}, returning once all of
+     * them have been processed.
+     *
+     * @throws IOException if reading the body fails
+     */
+    public ComprehensiveDataBatchResult process(InputStream in, BatchFormat format) throws IOException {
+        Batch batch = new Batch();
+        try {
+            if (format == BatchFormat.NDJSON) {
+                batch.readLines(new LineReader(in, MAX_RECORD_BYTES));
+            } else {
+                ObjectReader arrayReader = switch (format) {
+                    case CBOR_ARRAY -> cborReader;
+                    case SMILE_ARRAY -> smileReader;
+                    default -> reader;
+                };
+                try (JsonParser parser = arrayReader.createParser(in)) {
+                    batch.readArray(parser);
+                }
+            }
+        } finally {
+            batch.awaitProcessed();
+        }
+        return batch.result();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up
+     * reflectively so the code still compiles for Java 17; null if the
+     * runtime does not have it or only as a preview.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int workers) {
+        AtomicInteger threads = new AtomicInteger();
+        // Unbounded queue: every batch bounds its own queued records with a semaphore.
+        return new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "data-batch-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * State of a single batch.
+     */
+    private final class Batch {
+
+        private final long started = System.nanoTime();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder[] statusCounts = new LongAdder[Status.values().length];
+        // Max-heap on index, so the highest index is dropped once the cap is reached.
+        private final PriorityQueue<BatchRecordError> errors = new PriorityQueue<>(
+                Comparator.comparingLong(BatchRecordError::index).reversed());
+        private long records;
+        private boolean complete = true;
+
+        Batch() {
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] = new LongAdder();
+            }
+        }
+
+        void readLines(LineReader lines) throws IOException {
+            while (lines.next()) {
+                if (lines.isBlank() && !lines.truncated()) {
+                    continue;
+                }
+                long index = records++;
+                if (lines.truncated()) {
+                    reject(index, "Record exceeds " + MAX_RECORD_BYTES + " bytes");
+                    continue;
+                }
+                byte[] line = Arrays.copyOfRange(lines.buffer(), lines.start(), lines.start() + lines.length());
+                submit(index, () -> LazyJsonObject.readingFrom(reader, line).readValue(line));
+            }
+        }
+
+        void readArray(JsonParser parser) throws IOException {
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    abort("Expected an array of records");
+                    return;
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        abort("Unexpected end of input");
+                        return;
+                    }
+                    TokenBuffer element = new TokenBuffer(parser);
+                    element.copyCurrentStructure(parser);
+                    submit(records++, () -> {
+                        try (JsonParser elementParser = element.asParser()) {
+                            return reader.readValue(elementParser);
+                        }
+                    });
+                }
+                if (parser.nextToken() != null) {
+                    abort("Unexpected content after the array");
+                }
+            } catch (JsonProcessingException e) {
+                abort(e.getOriginalMessage());
+            }
+        }
+
+        private void submit(long index, RecordSource source) {
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    handle(index, source);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void handle(long index, RecordSource source) {
+            ComprehensiveData data;
+            try {
+                data = source.read();
+            } catch (JsonProcessingException e) {
+                reject(index, e.getOriginalMessage());
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Includes failures of custom deserializers when exceptions are not wrapped.
+                reject(index, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+                return;
+            }
+            if (data == null) {
+                reject(index, "Record is null");
+                return;
+            }
+            if (data.getStatus() != null) {
+                statusCounts[data.getStatus().ordinal()].increment();
+            }
+            processed.increment();
+        }
+
+        /**
+         * Reports a framing error at the position of the next record; reading
+         * stops there.
+         */
+        private void abort(String message) {
+            complete = false;
+            report(records, message);
+        }
+
+        private void reject(long index, String message) {
+            failed.increment();
+            report(index, message);
+        }
+
+        private void report(long index, String message) {
+            synchronized (errors) {
+                errors.add(new BatchRecordError(index, message));
+                if (errors.size() > MAX_REPORTED_ERRORS) {
+                    errors.poll();
+                }
+            }
+        }
+
+        void awaitProcessed() {
+            inFlight.acquireUninterruptibly(maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+
+        ComprehensiveDataBatchResult result() {
+            Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                long count = statusCounts[status.ordinal()].sum();
+                if (count > 0) {
+                    byStatus.put(status, count);
+                }
+            }
+            List<BatchRecordError> reported;
+            synchronized (errors) {
+                reported = new ArrayList<>(errors);
+            }
+            reported.sort(Comparator.comparingLong(BatchRecordError::index));
+            return new ComprehensiveDataBatchResult(records, processed.sum(), failed.sum(), complete, byStatus,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), reported);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordSource {
+        ComprehensiveData read() throws IOException;
+    }
+}
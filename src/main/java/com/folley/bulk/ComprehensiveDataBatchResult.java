@@ -0,0 +1,24 @@
+package com.folley.bulk;
+
+import com.folley.model.Status;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch of {@code ComprehensiveData} records.
+ *
+ * @param records       records read from the body
+ * @param processed     records parsed and processed
+ * @param failed        records rejected
+ * @param complete      false if the body could not be read to the end, in which
+ *                      case the last error says why; that error is not counted as failed
+ * @param statusCounts  processed records per {@link Status}, omitting records without one
+ * @param elapsedMillis time taken by the batch
+ * @param errors        rejected records in batch order, at most the first
+ *                      {@value ComprehensiveDataBatchProcessor#MAX_REPORTED_ERRORS} of them
+ */
+public record ComprehensiveDataBatchResult(long records, long processed, long failed, boolean complete,
+                                           Map<Status, Long> statusCounts, long elapsedMillis,
+                                           List<BatchRecordError> errors) {
+}
@@ -0,0 +1,113 @@
+package com.folley.bulk;
+
+import com.folley.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Parses CSV product rows against a header naming any of {@code id}, {@code
+ * name}, {@code price} and {@code description} in any order. Fields may be
+ * quoted with {@code "}, doubling quotes inside; quoted fields cannot span
+ * lines. Empty fields are null, so rows without an id get a server id.
+ */
+final class CsvProductParser {
+
+    private enum Column { ID, NAME, PRICE, DESCRIPTION, IGNORED }
+
+    private final Column[] columns;
+
+    /**
+     * @throws IllegalArgumentException if the header names no known column
+     */
+    CsvProductParser(String header) {
+        List<String> names = split(header);
+        this.columns = new Column[names.size()];
+        boolean known = false;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = switch (names.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "id" -> Column.ID;
+                case "name" -> Column.NAME;
+                case "price" -> Column.PRICE;
+                case "description" -> Column.DESCRIPTION;
+                default -> Column.IGNORED;
+            };
+            known |= columns[i] != Column.IGNORED;
+        }
+        if (!known) {
+            throw new IllegalArgumentException("CSV header names none of id, name, price, description");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    Product parse(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " fields but found " + fields.size());
+        }
+        Product product = new Product();
+        for (int i = 0; i < columns.length; i++) {
+            String field = fields.get(i);
+            if (field.isEmpty()) {
+                continue;
+            }
+            switch (columns[i]) {
+                case ID -> product.setId(parseNumber(field, "id", Long::parseLong));
+                case NAME -> product.setName(field);
+                case PRICE -> product.setPrice(parseNumber(field, "price", Double::parseDouble));
+                case DESCRIPTION -> product.setDescription(field);
+                case IGNORED -> {
+                }
+            }
+        }
+        return product;
+    }
+
+    private static <T> T parseNumber(String field, String column, Function<String, T> parser) {
+        try {
+            return parser.apply(field.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + field);
+        }
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,10 @@
+package com.folley.bulk;
+
+/**
+ * A line of the import body that could not be imported.
+ *
+ * @param line    1-based line number in the body
+ * @param message why the line was rejected
+ */
+public record ImportError(long line, String message) {
+}
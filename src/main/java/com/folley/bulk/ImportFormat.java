@@ -0,0 +1,11 @@
+package com.folley.bulk;
+
+/**
+ * Body formats accepted by the bulk importer.
+ */
+public enum ImportFormat {
+    /** One JSON product object per line. */
+    NDJSON,
+    /** A header row naming any of {@code id,name,price,description}, then one product per row. */
+    CSV
+}
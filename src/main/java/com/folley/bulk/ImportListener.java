@@ -0,0 +1,12 @@
+package com.folley.bulk;
+
+/**
+ * Receives progress while an import runs. Called from the reading thread and
+ * from insert workers concurrently, so implementations must be thread-safe.
+ */
+public interface ImportListener {
+
+    void onError(ImportError error);
+
+    void onProgress(ImportProgress progress);
+}
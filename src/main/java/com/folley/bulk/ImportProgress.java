@@ -0,0 +1,16 @@
+package com.folley.bulk;
+
+/**
+ * Running totals of an import.
+ *
+ * @param lines         lines read so far, including blank and rejected ones
+ * @param imported      products stored
+ * @param failed        lines rejected by parsing or by the store
+ * @param elapsedMillis time since the import started
+ */
+public record ImportProgress(long lines, long imported, long failed, long elapsedMillis) {
+
+    public double productsPerSecond() {
+        return elapsedMillis == 0 ? 0 : imported * 1000.0 / elapsedMillis;
+    }
+}
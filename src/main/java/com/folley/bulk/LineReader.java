@@ -0,0 +1,121 @@
+package com.folley.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a byte stream into lines without decoding it, reusing one buffer
+ * that only grows to the longest line seen. Lines longer than the limit are
+ * skipped and flagged rather than buffered.
+ */
+final class LineReader {
+
+    private final InputStream in;
+    private final int maxLineBytes;
+    private byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private long lineNumber;
+    private int lineStart;
+    private int lineLength;
+    private boolean truncated;
+
+    LineReader(InputStream in, int maxLineBytes) {
+        this.in = in;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * Advances to the next line, which is then described by {@link #buffer()},
+     * {@link #start()} and {@link #length()} until the next call.
+     *
+     * @return false at the end of the stream
+     */
+    boolean next() throws IOException {
+        boolean overflowed = false;
+        int scan = position;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    setLine(position, i, overflowed);
+                    position = i + 1;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (position < limit || overflowed) {
+                    setLine(position, limit, overflowed);
+                    position = limit;
+                    return true;
+                }
+                return false;
+            }
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            if (limit == buffer.length) {
+                if (buffer.length >= maxLineBytes) {
+                    // Drop what we have of this line and keep scanning for its end.
+                    overflowed = true;
+                    limit = 0;
+                } else {
+                    buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxLineBytes));
+                }
+            }
+            scan = limit;
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    private void setLine(int start, int end, boolean overflowed) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        lineNumber++;
+        lineStart = start;
+        lineLength = end - start;
+        truncated = overflowed;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int start() {
+        return lineStart;
+    }
+
+    int length() {
+        return lineLength;
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * True if the current line exceeded the limit; its content is incomplete.
+     */
+    boolean truncated() {
+        return truncated;
+    }
+
+    boolean isBlank() {
+        for (int i = lineStart; i < lineStart + lineLength; i++) {
+            if (buffer[i] != ' ' && buffer[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
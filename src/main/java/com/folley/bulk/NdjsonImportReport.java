@@ -0,0 +1,85 @@
+package com.folley.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.folley.json.ProductJsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams import events to a client as newline-delimited JSON, flushing each
+ * one so progress is visible while the body is still being uploaded:
+ * <pre>
+ * {"event":"error","line":12,"message":"..."}
+ * {"event":"progress","lines":50000,"imported":49990,"failed":10,"elapsedMillis":1000,"productsPerSecond":49990.0}
+ * {"event":"summary",...same fields as progress...}
+ * </pre>
+ * Only the first {@value #MAX_REPORTED_ERRORS} errors are listed; the totals
+ * still count all of them. If the client goes away, further events are
+ * dropped.
+ */
+public class NdjsonImportReport implements ImportListener {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final OutputStream out;
+    private final JsonGenerator generator;
+    private int reportedErrors;
+    private IOException failure;
+
+    public NdjsonImportReport(OutputStream out) throws IOException {
+        this.out = out;
+        this.generator = ProductJsonWriter.createGenerator(out);
+    }
+
+    @Override
+    public synchronized void onError(ImportError error) {
+        if (reportedErrors++ >= MAX_REPORTED_ERRORS || failure != null) {
+            return;
+        }
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("event", "error");
+            generator.writeNumberField("line", error.line());
+            generator.writeStringField("message", error.message());
+            generator.writeEndObject();
+            endEvent();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public synchronized void onProgress(ImportProgress progress) {
+        writeTotals("progress", progress);
+    }
+
+    public synchronized void onComplete(ImportProgress progress) {
+        writeTotals("summary", progress);
+    }
+
+    private void writeTotals(String event, ImportProgress progress) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("event", event);
+            generator.writeNumberField("lines", progress.lines());
+            generator.writeNumberField("imported", progress.imported());
+            generator.writeNumberField("failed", progress.failed());
+            generator.writeNumberField("elapsedMillis", progress.elapsedMillis());
+            generator.writeNumberField("productsPerSecond", progress.productsPerSecond());
+            generator.writeEndObject();
+            endEvent();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void endEvent() throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+        out.flush();
+    }
+}
@@ -0,0 +1,212 @@
+package com.folley.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.folley.json.ProductJsonReader;
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads large NDJSON or CSV bodies into the product store.
+ *
+ * The calling thread reads the body line by line from a reused buffer and
+ * parses each line on its own, so memory stays flat and a malformed line is
+ * reported without derailing the rest. Parsed products are grouped into
+ * batches and handed to a pool of insert workers through a bounded queue;
+ * when the queue is full the reading thread inserts the batch itself, which
+ * throttles reading to the speed of the store. Products follow the create
+ * rules of {@link ProductRepository#insert(Product)}, and a line the store
+ * fails on is reported like any other rejected line.
+ */
+@Component
+public class ProductImporter {
+
+    static final int MAX_LINE_BYTES = 1024 * 1024;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ProductRepository repository;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final AtomicInteger importCount = new AtomicInteger();
+
+    /**
+     * @param workers       insert threads per import; 0 uses one per processor
+     * @param batchSize     products per insert batch
+     * @param queueCapacity batches waiting for a worker before reading blocks
+     */
+    public ProductImporter(ProductRepository repository,
+                           @Value("${folley.products.import.workers:0}") int workers,
+                           @Value("${folley.products.import.batch-size:1000}") int batchSize,
+                           @Value("${folley.products.import.queue-capacity:16}") int queueCapacity) {
+        this.repository = repository;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Imports every product in {@code in}, reporting rejected lines and
+     * roughly once a second the running totals to {@code listener}.
+     *
+     * @return the final totals
+     * @throws IOException if reading the body fails
+     */
+    public ImportProgress importProducts(InputStream in, ImportFormat format, ImportListener listener)
+            throws IOException {
+        Import run = new Import(listener);
+        String name = "product-import-" + importCount.incrementAndGet() + "-";
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, name + threads.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            run.read(new LineReader(in, MAX_LINE_BYTES), format, executor);
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return run.progress();
+    }
+
+    /**
+     * State of a single import.
+     */
+    private final class Import {
+
+        private final ImportListener listener;
+        private final long started = System.nanoTime();
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private volatile long lines;
+
+        Import(ImportListener listener) {
+            this.listener = listener;
+        }
+
+        void read(LineReader reader, ImportFormat format, ThreadPoolExecutor executor) throws IOException {
+            CsvProductParser csv = null;
+            List<Product> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+            long nextReport = started + PROGRESS_INTERVAL_NANOS;
+            while (reader.next()) {
+                lines = reader.lineNumber();
+                if (reader.isBlank() && !reader.truncated()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && csv == null) {
+                    // Every row depends on the header, so a bad one ends the import.
+                    csv = readHeader(reader);
+                    if (csv == null) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    if (reader.truncated()) {
+                        throw new IllegalArgumentException("Line exceeds " + MAX_LINE_BYTES + " bytes");
+                    }
+                    Product product = format == ImportFormat.CSV ? csv.parse(text(reader)) : parseJson(reader);
+                    batch.add(product);
+                    batchLines.add(reader.lineNumber());
+                } catch (JsonProcessingException e) {
+                    reject(reader.lineNumber(), e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    reject(reader.lineNumber(), e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    submit(executor, batch, batchLines);
+                    batch = new ArrayList<>(batchSize);
+                    batchLines = new ArrayList<>(batchSize);
+                }
+                long now = System.nanoTime();
+                if (now >= nextReport) {
+                    listener.onProgress(progress());
+                    nextReport = now + PROGRESS_INTERVAL_NANOS;
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(executor, batch, batchLines);
+            }
+        }
+
+        private CsvProductParser readHeader(LineReader reader) {
+            if (reader.truncated()) {
+                reject(reader.lineNumber(), "Line exceeds " + MAX_LINE_BYTES + " bytes");
+                return null;
+            }
+            try {
+                return new CsvProductParser(text(reader));
+            } catch (IllegalArgumentException e) {
+                reject(reader.lineNumber(), e.getMessage());
+                return null;
+            }
+        }
+
+        private Product parseJson(LineReader reader) throws IOException {
+            try (JsonParser parser = ProductJsonReader.createParser(reader.buffer(), reader.start(), reader.length())) {
+                Product product = ProductJsonReader.read(parser);
+                if (parser.nextToken() != null) {
+                    throw new IllegalArgumentException("Unexpected content after the product object");
+                }
+                return product;
+            }
+        }
+
+        private void submit(ThreadPoolExecutor executor, List<Product> batch, List<Long> batchLines) {
+            executor.execute(() -> insert(batch, batchLines));
+        }
+
+        /**
+         * Inserts a batch product by product, so a store failure, such as a
+         * journal that refuses writes, rejects only the line it happened on
+         * and the worker carries on with the rest.
+         */
+        private void insert(List<Product> batch, List<Long> batchLines) {
+            for (int i = 0; i < batch.size(); i++) {
+                Product product = batch.get(i);
+                try {
+                    if (repository.insert(product).isPresent()) {
+                        imported.increment();
+                    } else {
+                        reject(batchLines.get(i), "Product " + product.getId() + " already exists");
+                    }
+                } catch (RuntimeException e) {
+                    reject(batchLines.get(i), "Rejected by the store: " + e.getMessage());
+                }
+            }
+        }
+
+        private void reject(long line, String message) {
+            failed.increment();
+            listener.onError(new ImportError(line, message));
+        }
+
+        ImportProgress progress() {
+            return new ImportProgress(lines, imported.sum(), failed.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+
+        private static String text(LineReader reader) {
+            return new String(reader.buffer(), reader.start(), reader.length(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.folley.cache;
+
+/**
+ * A pre-encoded JSON response body.
+ *
+ * @param version the product or catalog version the body was encoded from
+ * @param json    the body as sent without content coding
+ * @param gzip    the body gzip-compressed, or null when gzip is disabled or
+ *                the body is too small to benefit
+ */
+public record CachedResponse(long version, byte[] json, byte[] gzip) {
+
+    long weight() {
+        return 64 + json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.folley.cache;
+
+/**
+ * Approximate access counts for cache admission (TinyLFU): a count-min sketch
+ * of 4-bit counters, four per key, halved periodically so that old popularity
+ * fades.
+ *
+ * Updates are deliberately unsynchronized. Concurrent increments may be lost,
+ * which only makes the estimates slightly lower; they never block readers.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param expectedEntries roughly how many keys the cache holds at once
+     */
+    FrequencySketch(int expectedEntries) {
+        int size = Integer.highestOneBit(Math.max(64, Math.min(expectedEntries, 1 << 24)) - 1) << 1;
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    int frequency(long key) {
+        int min = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long hash = hash(key, i);
+            min = Math.min(min, (int) ((table[slot(hash)] >>> shift(hash)) & MAX_COUNT));
+        }
+        return min;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long hash = hash(key, i);
+            int slot = slot(hash);
+            int shift = shift(hash);
+            if (((table[slot] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[slot] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int slot(long hash) {
+        return (int) hash & mask;
+    }
+
+    /**
+     * Picks one of the sixteen 4-bit counters in a slot from high hash bits.
+     */
+    private static int shift(long hash) {
+        return (int) (hash >>> 60) << 2;
+    }
+
+    private static long hash(long key, int depth) {
+        long hash = (key + SEEDS[depth]) * SEEDS[depth];
+        return hash ^ (hash >>> 29);
+    }
+}
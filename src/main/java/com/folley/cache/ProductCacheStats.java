@@ -0,0 +1,13 @@
+package com.folley.cache;
+
+/**
+ * Counters for the product response cache since startup.
+ */
+public record ProductCacheStats(long hits, long misses, long evictions, long rejections,
+                                int entries, long bytes, long maxBytes) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,255 @@
+package com.folley.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.folley.model.Product;
+import com.folley.repository.ProductChangeListener;
+import com.folley.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-encoded JSON for single products and for the full product list, so
+ * repeated reads skip serialization entirely.
+ *
+ * Entries are tagged with the version they were encoded from and are only
+ * served while that version is current, so a read racing a write can never
+ * see stale bytes; repository changes additionally drop the affected entries
+ * right away. Total size is bounded in bytes. Eviction is least recently used,
+ * guarded by a TinyLFU admission filter: when the cache is full, a new entry
+ * only displaces the LRU victim if it has been requested more often, which
+ * keeps one-off scans from flushing the popular products.
+ *
+ * Lookups are lock-free. Recency updates and insertions take a lock; a hit
+ * that finds it busy skips its recency update rather than wait.
+ */
+@Component
+public class ProductResponseCache implements ProductChangeListener {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectWriter productWriter;
+    private final ObjectWriter listWriter;
+    private final long maxBytes;
+    private final boolean gzip;
+
+    private final Map<Long, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, CachedResponse> recency = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private volatile CachedResponse catalog;
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param maxBytes bound on cached bytes; 0 disables caching
+     * @param gzip     also keep a gzip-compressed copy of bodies of 1 KiB or more
+     */
+    public ProductResponseCache(ProductRepository repository, ObjectMapper objectMapper,
+                                @Value("${folley.products.cache.max-bytes:67108864}") long maxBytes,
+                                @Value("${folley.products.cache.gzip:false}") boolean gzip) {
+        this.productWriter = objectMapper.writerFor(Product.class);
+        this.listWriter = objectMapper.writerFor(new TypeReference<List<Product>>() {
+        });
+        this.maxBytes = maxBytes;
+        this.gzip = gzip;
+        this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, maxBytes / 512));
+        repository.addListener(this);
+    }
+
+    /**
+     * Returns the encoding of {@code product}, which must be the currently
+     * stored version.
+     */
+    public CachedResponse product(Product product) {
+        if (maxBytes == 0) {
+            return encode(productWriter, product, product.getVersion());
+        }
+        long id = product.getId();
+        sketch.increment(id);
+        CachedResponse cached = entries.get(id);
+        if (cached != null && cached.version() == product.getVersion()) {
+            hits.increment();
+            if (lock.tryLock()) {
+                try {
+                    recency.get(id);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return cached;
+        }
+        misses.increment();
+        CachedResponse encoded = encode(productWriter, product, product.getVersion());
+        admit(id, encoded);
+        return encoded;
+    }
+
+    /**
+     * Returns the encoding of the full product list at {@code catalogVersion},
+     * calling {@code products} only on a miss. The version must be stable, i.e.
+     * every write up to it must be visible to {@code products}.
+     */
+    public CachedResponse catalog(long catalogVersion, Supplier<List<Product>> products) {
+        CachedResponse cached = catalog;
+        if (cached != null && cached.version() == catalogVersion) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        CachedResponse encoded = encode(listWriter, products.get(), catalogVersion);
+        if (encoded.weight() <= maxBytes) {
+            lock.lock();
+            try {
+                CachedResponse current = catalog;
+                if (current == null || current.version() < catalogVersion) {
+                    weight += encoded.weight() - (current != null ? current.weight() : 0);
+                    catalog = encoded;
+                    evictOverflow();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes a product list without caching it, for lists that are not tied
+     * to a stable catalog version.
+     */
+    public CachedResponse encode(List<Product> products) {
+        return encode(listWriter, products, 0);
+    }
+
+    public ProductCacheStats stats() {
+        lock.lock();
+        try {
+            return new ProductCacheStats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(),
+                    entries.size(), weight, maxBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onChange(Product previous, Product current, long version) {
+        if (maxBytes == 0) {
+            return;
+        }
+        long id = current != null ? current.getId() : previous.getId();
+        lock.lock();
+        try {
+            remove(id);
+            if (catalog != null) {
+                weight -= catalog.weight();
+                catalog = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(long id, CachedResponse encoded) {
+        if (encoded.weight() > maxBytes) {
+            rejections.increment();
+            return;
+        }
+        lock.lock();
+        try {
+            CachedResponse existing = entries.get(id);
+            if (existing != null && existing.version() >= encoded.version()) {
+                return;
+            }
+            remove(id);
+            if (!evictToFit(id, encoded.weight())) {
+                rejections.increment();
+                return;
+            }
+            entries.put(id, encoded);
+            recency.put(id, encoded);
+            weight += encoded.weight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts least recently used entries until {@code incoming} more bytes fit,
+     * as long as each victim is requested less often than {@code candidate}.
+     * Callers must hold the lock.
+     *
+     * @return false if the candidate lost to a victim and should not be cached
+     */
+    private boolean evictToFit(long candidate, long incoming) {
+        Iterator<Map.Entry<Long, CachedResponse>> lru = recency.entrySet().iterator();
+        while (weight + incoming > maxBytes && lru.hasNext()) {
+            Map.Entry<Long, CachedResponse> victim = lru.next();
+            if (sketch.frequency(victim.getKey()) >= sketch.frequency(candidate)) {
+                return false;
+            }
+            lru.remove();
+            entries.remove(victim.getKey());
+            weight -= victim.getValue().weight();
+            evictions.increment();
+        }
+        return weight + incoming <= maxBytes;
+    }
+
+    /**
+     * Makes room after the catalog encoding grew, evicting unconditionally.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, CachedResponse>> lru = recency.entrySet().iterator();
+        while (weight > maxBytes && lru.hasNext()) {
+            Map.Entry<Long, CachedResponse> victim = lru.next();
+            lru.remove();
+            entries.remove(victim.getKey());
+            weight -= victim.getValue().weight();
+            evictions.increment();
+        }
+    }
+
+    private void remove(long id) {
+        CachedResponse removed = entries.remove(id);
+        if (removed != null) {
+            recency.remove(id);
+            weight -= removed.weight();
+        }
+    }
+
+    private CachedResponse encode(ObjectWriter writer, Object value, long version) {
+        try {
+            byte[] json = writer.writeValueAsBytes(value);
+            return new CachedResponse(version, json, gzip && json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(json);
+        }
+        return out.toByteArray();
+    }
+}
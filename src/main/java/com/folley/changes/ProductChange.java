@@ -0,0 +1,14 @@
+package com.folley.changes;
+
+import com.folley.model.Product;
+
+/**
+ * One logged change to the catalog.
+ *
+ * @param version the catalog version of the change
+ * @param id      the product changed
+ * @param deleted true for a tombstone, in which case {@code product} is null
+ * @param product the product as stored after the change
+ */
+public record ProductChange(long version, long id, boolean deleted, Product product) {
+}
@@ -0,0 +1,144 @@
+package com.folley.changes;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductChangeListener;
+import com.folley.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded in-memory log of the most recent catalog changes, for clients that
+ * poll for deltas instead of reloading the catalog.
+ *
+ * Changes are stored in a ring indexed by catalog version. Writers on
+ * different stripes log their versions out of order, so the log also tracks
+ * a frontier: the highest version up to which every change has been logged.
+ * Each writer advances the frontier as far as the ring allows after logging,
+ * and readers never look past it, so a poll can never skip a change that was
+ * still in flight. A version whose write failed is logged as a skip, which
+ * moves the frontier on without reporting a change. Once a version has been
+ * overwritten by a newer lap of the ring, polls from before it are told to
+ * resync.
+ */
+@Component
+public class ProductChangeLog implements ProductChangeListener {
+
+    private final ProductRepository repository;
+    private final AtomicReferenceArray<ProductChange> ring;
+    private final int mask;
+    private final long startVersion;
+    private final AtomicLong frontier;
+
+    /**
+     * @param capacity number of changes retained, rounded up to a power of two
+     */
+    public ProductChangeLog(ProductRepository repository,
+                            @Value("${folley.products.changes.capacity:65536}") int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.repository = repository;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.startVersion = repository.catalogVersion();
+        this.frontier = new AtomicLong(startVersion);
+        repository.addListener(this);
+    }
+
+    /**
+     * Returns up to {@code limit} changes made after version {@code since},
+     * keeping only the latest change per product.
+     */
+    public ProductChanges since(long since, int limit) {
+        long floor = floor();
+        long upTo = advanceFrontier(floor);
+        if (since < floor || since > repository.catalogVersion() || upTo - since > ring.length()) {
+            return ProductChanges.resync(upTo);
+        }
+
+        Map<Long, ProductChange> latest = new LinkedHashMap<>();
+        long version = since;
+        while (version < upTo && latest.size() < limit) {
+            ProductChange change = ring.get(index(version + 1));
+            if (change == null || change.version() != version + 1) {
+                // Overwritten by a newer lap while we were reading.
+                return ProductChanges.resync(upTo);
+            }
+            if (!isSkip(change)) {
+                latest.remove(change.id());
+                latest.put(change.id(), change);
+            }
+            version++;
+        }
+        return new ProductChanges(new ArrayList<>(latest.values()), version, version < upTo, false);
+    }
+
+    @Override
+    public void onChange(Product previous, Product current, long version) {
+        long floor = floor();
+        if (version <= floor) {
+            // Restored from durable storage rather than changed now.
+            return;
+        }
+        ProductChange change = current != null
+                ? new ProductChange(version, current.getId(), false, current)
+                : new ProductChange(version, previous.getId(), true, null);
+        ring.set(index(version), change);
+        advanceFrontier(floor);
+    }
+
+    @Override
+    public void onSkipped(long version) {
+        long floor = floor();
+        if (version <= floor) {
+            return;
+        }
+        ring.set(index(version), new ProductChange(version, 0, false, null));
+        advanceFrontier(floor);
+    }
+
+    /**
+     * A skip is the only entry that neither deletes nor carries a product.
+     */
+    private static boolean isSkip(ProductChange change) {
+        return !change.deleted() && change.product() == null;
+    }
+
+    /**
+     * Changes at or below this version were never logged.
+     */
+    private long floor() {
+        return Math.max(startVersion, repository.recoveredCatalogVersion());
+    }
+
+    /**
+     * Moves the frontier past every consecutively logged version.
+     *
+     * @return the new frontier
+     */
+    private long advanceFrontier(long floor) {
+        long current = frontier.get();
+        if (current < floor) {
+            current = frontier.accumulateAndGet(floor, Math::max);
+        }
+        while (true) {
+            ProductChange next = ring.get(index(current + 1));
+            if (next == null || next.version() != current + 1) {
+                return current;
+            }
+            if (frontier.compareAndSet(current, current + 1)) {
+                current++;
+            } else {
+                current = frontier.get();
+            }
+        }
+    }
+
+    private int index(long version) {
+        return (int) (version & mask);
+    }
+}
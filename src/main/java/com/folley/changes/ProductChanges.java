@@ -0,0 +1,21 @@
+package com.folley.changes;
+
+import java.util.List;
+
+/**
+ * A page of catalog changes.
+ *
+ * @param changes        the latest change per product in the page, in version order
+ * @param version        the version to pass as {@code since} on the next poll; every
+ *                       change up to it has been reported or superseded
+ * @param hasMore        true if more changes are already available after {@code version}
+ * @param resyncRequired true if the requested version is no longer covered by the
+ *                       change log; the client must reload the full catalog and then
+ *                       poll from {@code version}
+ */
+public record ProductChanges(List<ProductChange> changes, long version, boolean hasMore, boolean resyncRequired) {
+
+    static ProductChanges resync(long version) {
+        return new ProductChanges(List.of(), version, false, true);
+    }
+}
@@ -0,0 +1,339 @@
+package com.folley.collections;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.folley.json.JsonCodecs;
+
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of {@code int}s, in place of a {@code HashSet<Integer>}. Elements are
+ * kept in an {@code int[]}, indexed by an open-addressing table of positions
+ * with linear probing. Lookups, additions and removals are constant time
+ * without boxing. Elements iterate in insertion order until one is removed;
+ * removal moves the last element into the freed position, as a
+ * {@code HashSet} makes no promise about order either. A null element is
+ * allowed and iterates first. Not thread-safe.
+ *
+ * In JSON it is an array of numbers in insertion order, so an array without
+ * duplicates is written back as it was read.
+ */
+@JsonDeserialize(using = IntHashSet.Deserializer.class)
+@JsonSerialize(using = IntHashSet.Serializer.class)
+public final class IntHashSet extends AbstractSet<Integer> {
+
+    private static final int[] EMPTY = {};
+    private static final int MIN_SLOTS = 8;
+
+    private int[] elements;
+    private int size;
+    // Position of the element plus one; 0 marks an empty slot.
+    private int[] slots;
+    private int mask;
+    private boolean containsNull;
+    private int modCount;
+
+    public IntHashSet() {
+        this(0);
+    }
+
+    public IntHashSet(int expectedSize) {
+        elements = expectedSize > 0 ? new int[expectedSize] : EMPTY;
+        allocate(slotsFor(expectedSize));
+    }
+
+    /**
+     * A set of {@code values}, without duplicates.
+     */
+    public static IntHashSet of(int... values) {
+        IntHashSet set = new IntHashSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Override
+    public int size() {
+        return containsNull ? size + 1 : size;
+    }
+
+    public boolean contains(int value) {
+        return slotOf(value) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        if (value == null) {
+            return containsNull;
+        }
+        return value instanceof Integer integer && contains(integer.intValue());
+    }
+
+    public boolean add(int value) {
+        int slot = slot(value);
+        while (slots[slot] != 0) {
+            if (elements[slots[slot] - 1] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, size + (size >> 1)));
+        }
+        elements[size++] = value;
+        slots[slot] = size;
+        modCount++;
+        if (size * 2 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        if (value != null) {
+            return add(value.intValue());
+        }
+        if (containsNull) {
+            return false;
+        }
+        containsNull = true;
+        modCount++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int slot = slotOf(value);
+        if (slot < 0) {
+            return false;
+        }
+        int position = slots[slot] - 1;
+        deleteSlot(slot);
+        size--;
+        if (position != size) {
+            // Move the last element into the hole and repoint its slot.
+            int moved = elements[size];
+            elements[position] = moved;
+            int movedSlot = slot(moved);
+            while (slots[movedSlot] != size + 1) {
+                movedSlot = (movedSlot + 1) & mask;
+            }
+            slots[movedSlot] = position + 1;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        if (value == null) {
+            if (!containsNull) {
+                return false;
+            }
+            containsNull = false;
+            modCount++;
+            return true;
+        }
+        return value instanceof Integer integer && remove(integer.intValue());
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        containsNull = false;
+        Arrays.fill(slots, 0);
+        modCount++;
+    }
+
+    /**
+     * A copy of the elements other than null, in insertion order.
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+
+            private boolean nullPending = containsNull;
+            private int next;
+            // -2 before the first element, -1 for null, otherwise the position.
+            private int last = -2;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nullPending || next < size;
+            }
+
+            @Override
+            public Integer next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (nullPending) {
+                    nullPending = false;
+                    last = -1;
+                    return null;
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                return elements[next++];
+            }
+
+            @Override
+            public void remove() {
+                if (last == -2) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (last == -1) {
+                    IntHashSet.this.remove(null);
+                } else {
+                    IntHashSet.this.remove(elements[last]);
+                    next = last;
+                }
+                last = -2;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < size; i++) {
+            hash += elements[i];
+        }
+        return hash;
+    }
+
+    private int slotOf(int value) {
+        int slot = slot(value);
+        while (slots[slot] != 0) {
+            if (elements[slots[slot] - 1] == value) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties {@code slot}, shifting later slots of its probe chain back so
+     * no tombstones are needed.
+     */
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (slots[next] != 0) {
+            int home = slot(elements[slots[next] - 1]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[hole] = 0;
+    }
+
+    private int slot(int value) {
+        int hash = value * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        allocate(capacity);
+        for (int position = 0; position < size; position++) {
+            int slot = slot(elements[position]);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = position + 1;
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int slotsFor(int expectedSize) {
+        return Math.max(MIN_SLOTS, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1);
+    }
+
+    /**
+     * Reads an array of numbers the way Jackson reads a {@code Set<Integer>}:
+     * integer tokens are read directly and anything else goes through the
+     * {@code Integer} deserializer, so nulls, coercion and errors behave the
+     * same. Values that are not arrays are read as a {@code HashSet} and
+     * copied.
+     */
+    static final class Deserializer extends JsonDeserializer<IntHashSet> {
+
+        @Override
+        public IntHashSet deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            IntHashSet set = new IntHashSet();
+            if (!p.isExpectedStartArrayToken()) {
+                Collection<Integer> values = ctxt.readValue(p,
+                        ctxt.getTypeFactory().constructCollectionType(HashSet.class, Integer.class));
+                if (values == null) {
+                    return null;
+                }
+                set.addAll(values);
+                return set;
+            }
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    set.add(p.getIntValue());
+                } else {
+                    set.add(JsonCodecs.readNullableInt(p, ctxt));
+                }
+            }
+            return set;
+        }
+    }
+
+    static final class Serializer extends JsonSerializer<IntHashSet> {
+
+        @Override
+        public void serialize(IntHashSet value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (!value.containsNull) {
+                gen.writeArray(value.elements, 0, value.size);
+                return;
+            }
+            gen.writeStartArray(value, value.size());
+            gen.writeNull();
+            for (int i = 0; i < value.size; i++) {
+                gen.writeNumber(value.elements[i]);
+            }
+            gen.writeEndArray();
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, IntHashSet value) {
+            return value.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.folley.collections;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.folley.json.JsonCodecs;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * A growable list of {@code int}s backed by an {@code int[]}, in place of an
+ * {@code Integer[]}. Like the array it is appended to and its elements can
+ * be replaced, but nothing can be inserted or removed in the middle. Null
+ * elements are allowed and tracked in a bit set that is only allocated when
+ * the first one is added. Not thread-safe.
+ *
+ * In JSON it is an array of numbers, read and written without boxing; see
+ * {@link Deserializer}.
+ */
+@JsonDeserialize(using = IntList.Deserializer.class)
+@JsonSerialize(using = IntList.Serializer.class)
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+    private static final int[] EMPTY = {};
+
+    private int[] elements;
+    private int size;
+    private BitSet nulls;
+
+    public IntList() {
+        elements = EMPTY;
+    }
+
+    public IntList(int capacity) {
+        elements = capacity > 0 ? new int[capacity] : EMPTY;
+    }
+
+    /**
+     * A list of {@code values}, which are copied.
+     */
+    public static IntList of(int... values) {
+        IntList list = new IntList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @throws NullPointerException if the element is null
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        if (nulls != null && nulls.get(index)) {
+            throw new NullPointerException("Element " + index + " is null");
+        }
+        return elements[index];
+    }
+
+    @Override
+    public Integer get(int index) {
+        checkIndex(index);
+        return nulls != null && nulls.get(index) ? null : elements[index];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, size + (size >> 1)));
+        }
+        elements[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        if (value != null) {
+            add(value.intValue());
+        } else {
+            add(0);
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(size - 1);
+        }
+        return true;
+    }
+
+    @Override
+    public Integer set(int index, Integer value) {
+        Integer previous = get(index);
+        elements[index] = value != null ? value : 0;
+        if (value == null) {
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(index);
+        } else if (nulls != null) {
+            nulls.clear(index);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nulls = null;
+        modCount++;
+    }
+
+    /**
+     * Whether any element is null.
+     */
+    public boolean hasNulls() {
+        return nulls != null && !nulls.isEmpty();
+    }
+
+    /**
+     * A copy of the elements, with nulls as 0.
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hasNulls()) {
+            return super.hashCode();
+        }
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    /**
+     * Reads an array of numbers the way Jackson reads an {@code Integer[]}:
+     * integer tokens are read directly and anything else goes through the
+     * {@code Integer} deserializer, so nulls, coercion from strings and
+     * floats, and errors behave the same. Values that are not arrays, such
+     * as single values when {@code ACCEPT_SINGLE_VALUE_AS_ARRAY} is enabled,
+     * are read as an {@code Integer[]} and copied.
+     */
+    static final class Deserializer extends JsonDeserializer<IntList> {
+
+        @Override
+        public IntList deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            IntList list = new IntList();
+            if (!p.isExpectedStartArrayToken()) {
+                Integer[] values = ctxt.readValue(p, Integer[].class);
+                if (values == null) {
+                    return null;
+                }
+                for (Integer value : values) {
+                    list.add(value);
+                }
+                return list;
+            }
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    list.add(p.getIntValue());
+                } else {
+                    list.add(JsonCodecs.readNullableInt(p, ctxt));
+                }
+            }
+            return list;
+        }
+    }
+
+    static final class Serializer extends JsonSerializer<IntList> {
+
+        @Override
+        public void serialize(IntList value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (!value.hasNulls()) {
+                gen.writeArray(value.elements, 0, value.size);
+                return;
+            }
+            gen.writeStartArray(value, value.size);
+            for (int i = 0; i < value.size; i++) {
+                if (value.nulls.get(i)) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value.elements[i]);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, IntList value) {
+            return value.isEmpty();
+        }
+    }
+}
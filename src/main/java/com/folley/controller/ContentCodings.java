@@ -0,0 +1,58 @@
+package com.folley.controller;
+
+/**
+ * Content negotiation over {@code Accept-Encoding}, per RFC 9110 section 12.5.3.
+ */
+final class ContentCodings {
+
+    private ContentCodings() {
+    }
+
+    /**
+     * Whether {@code acceptEncoding} allows a gzip response: {@code gzip} or
+     * {@code x-gzip} with a non-zero weight or, failing those, {@code *} with
+     * one. An explicit {@code gzip;q=0} refuses it even next to {@code *}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            int semicolon = entry.indexOf(';');
+            String coding = (semicolon < 0 ? entry : entry.substring(0, semicolon)).trim();
+            boolean isGzip = coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip");
+            if (!isGzip && !coding.equals("*")) {
+                continue;
+            }
+            double weight = semicolon < 0 ? 1 : weight(entry.substring(semicolon + 1));
+            if (isGzip) {
+                gzip = Math.max(gzip, weight);
+            } else {
+                any = Math.max(any, weight);
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * The {@code q} parameter among {@code parameters}, 1 if there is none and
+     * 0 if it is malformed.
+     */
+    private static double weight(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.length() > 2 && (trimmed.charAt(0) == 'q' || trimmed.charAt(0) == 'Q')
+                    && trimmed.charAt(1) == '=') {
+                try {
+                    double q = Double.parseDouble(trimmed.substring(2));
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
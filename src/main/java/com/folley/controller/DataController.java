@@ -1,119 +1,206 @@
 package com.folley.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.folley.bulk.BatchFormat;
+import com.folley.bulk.ComprehensiveDataBatchProcessor;
+import com.folley.bulk.ComprehensiveDataBatchResult;
+import com.folley.json.BinaryFormatConfiguration;
+import com.folley.json.LazyJsonObject;
+import com.folley.json.RawJson;
 import com.folley.model.ComprehensiveData;
-import org.springframework.http.HttpStatus;
+import com.folley.model.ComprehensiveDataResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/data")
 public class DataController {
 
-    @PostMapping("/comprehensive")
-    public ResponseEntity<Map<String, Object>> processComprehensiveData(@RequestBody ComprehensiveData data) {
-        Map<String, Object> response = new HashMap<>();
+    /**
+     * A document with every field of {@link ComprehensiveData} populated.
+     */
+    public static final String EXAMPLE_JSON = """
+            {
+              "byteValue": 127,
+              "shortValue": 32767,
+              "integerValue": 2147483647,
+              "longValue": 9223372036854775807,
+              "floatValue": 3.14159,
+              "doubleValue": 2.718281828459045,
+              "booleanValue": true,
+              "characterValue": "A",
+              "stringValue": "Hello, World!",
+              "bigDecimalValue": "12345678901234567890.123456789",
+              "bigIntegerValue": "999999999999999999999999999999",
+              "uuidValue": "550e8400-e29b-41d4-a716-446655440000",
+              "localDate": "2024-10-26",
+              "localTime": "14:30:00",
+              "localDateTime": "2024-10-26T14:30:00",
+              "zonedDateTime": "2024-10-26T14:30:00-05:00[America/Chicago]",
+              "instant": "2024-10-26T19:30:00Z",
+              "status": "ACTIVE",
+              "address": {
+                "street": "123 Main St",
+                "city": "Springfield",
+                "state": "IL",
+                "zipCode": "62701",
+                "country": "USA"
+              },
+              "stringArray": ["one", "two", "three"],
+              "intArray": [1, 2, 3, 4, 5],
+              "integerArray": [10, 20, 30],
+              "stringList": ["alpha", "beta", "gamma"],
+              "integerSet": [100, 200, 300],
+              "metadata": {
+                "key1": "value1",
+                "key2": 42,
+                "key3": true
+              },
+              "addresses": [
+                {
+                  "street": "456 Oak Ave",
+                  "city": "Portland",
+                  "state": "OR",
+                  "zipCode": "97201",
+                  "country": "USA"
+                },
+                {
+                  "street": "789 Elm Blvd",
+                  "city": "Austin",
+                  "state": "TX",
+                  "zipCode": "78701",
+                  "country": "USA"
+                }
+              ],
+              "nullableField": null
+            }
+            """;
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final boolean echoRawBody;
+    private final ComprehensiveDataBatchProcessor batchProcessor;
+    private final ObjectWriter batchWriter;
+
+    /**
+     * @param echoRawBody echo the request body verbatim as {@code fullData}
+     *                    instead of re-serializing the parsed object
+     */
+    public DataController(ObjectMapper objectMapper,
+                          @Value("${folley.data.echo-raw-body:true}") boolean echoRawBody,
+                          ComprehensiveDataBatchProcessor batchProcessor) {
+        // Trailing content would otherwise be echoed into the response as invalid JSON.
+        this.reader = objectMapper.readerFor(ComprehensiveData.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        // The response type is final, so the writer resolves its serializer once here.
+        this.writer = objectMapper.writerFor(ComprehensiveDataResponse.class);
+        this.echoRawBody = echoRawBody;
+        this.batchProcessor = batchProcessor;
+        this.batchWriter = objectMapper.writerFor(ComprehensiveDataBatchResult.class);
+    }
+
+    /**
+     * Parses the body for the summary and, unless disabled, echoes the
+     * original bytes as {@code fullData} so the document is only encoded once.
+     * Bodies that are not UTF-8 are re-serialized instead. Like the Jackson
+     * converter, it takes {@code application/json} and any
+     * {@code application/*+json} type.
+     */
+    @PostMapping(value = "/comprehensive", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/*+json"})
+    public ResponseEntity<byte[]> processComprehensiveData(@RequestBody byte[] body) throws IOException {
+        ComprehensiveData data;
+        try {
+            data = LazyJsonObject.readingFrom(reader, body).readValue(body);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (data == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Object fullData = echoRawBody ? RawJson.utf8Value(body) : null;
+        ComprehensiveDataResponse response = ComprehensiveDataResponse.of(data, fullData != null ? fullData : data);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(writer.writeValueAsBytes(response));
+    }
 
-        response.put("received", true);
-        response.put("message", "Successfully processed comprehensive data with all datatypes");
+    /**
+     * {@link #processComprehensiveData(byte[])} for JSON bodies from clients
+     * that accept CBOR or Smile. Those formats cannot embed the raw JSON body,
+     * so {@code fullData} is the parsed document.
+     */
+    @PostMapping(value = "/comprehensive", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/*+json"},
+            produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ComprehensiveDataResponse> processComprehensiveDataBinary(
+            @RequestBody ComprehensiveData data) {
+        return processComprehensiveData(data);
+    }
 
-        // Echo back some of the received values to confirm deserialization
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("byteValue", data.getByteValue());
-        summary.put("shortValue", data.getShortValue());
-        summary.put("integerValue", data.getIntegerValue());
-        summary.put("longValue", data.getLongValue());
-        summary.put("floatValue", data.getFloatValue());
-        summary.put("doubleValue", data.getDoubleValue());
-        summary.put("booleanValue", data.getBooleanValue());
-        summary.put("characterValue", data.getCharacterValue());
-        summary.put("stringValue", data.getStringValue());
-        summary.put("bigDecimalValue", data.getBigDecimalValue());
-        summary.put("bigIntegerValue", data.getBigIntegerValue());
-        summary.put("uuidValue", data.getUuidValue());
-        summary.put("localDate", data.getLocalDate());
-        summary.put("localTime", data.getLocalTime());
-        summary.put("localDateTime", data.getLocalDateTime());
-        summary.put("zonedDateTime", data.getZonedDateTime());
-        summary.put("instant", data.getInstant());
-        summary.put("status", data.getStatus());
-        summary.put("address", data.getAddress());
-        summary.put("stringArrayLength", data.getStringArray() != null ? data.getStringArray().length : 0);
-        summary.put("intArrayLength", data.getIntArray() != null ? data.getIntArray().length : 0);
-        summary.put("integerArrayLength", data.getIntegerArray() != null ? data.getIntegerArray().length : 0);
-        summary.put("stringListSize", data.getStringList() != null ? data.getStringList().size() : 0);
-        summary.put("integerSetSize", data.getIntegerSet() != null ? data.getIntegerSet().size() : 0);
-        summary.put("metadataSize", data.getMetadata() != null ? data.getMetadata().size() : 0);
-        summary.put("addressesSize", data.getAddresses() != null ? data.getAddresses().size() : 0);
-        summary.put("nullableField", data.getNullableField());
+    /**
+     * Processes many records in one request, sent either as a JSON array or as
+     * NDJSON. Records are parsed as they arrive and processed in parallel; the
+     * response totals the batch and lists the records that were rejected.
+     */
+    @PostMapping(value = "/comprehensive/batch", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<byte[]> processComprehensiveDataBatch(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ComprehensiveDataBatchResult result = batchProcessor.process(body, batchFormat(contentType));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(batchWriter.writeValueAsBytes(result));
+    }
 
-        response.put("summary", summary);
-        response.put("fullData", data);
+    /**
+     * {@link #processComprehensiveDataBatch} for clients that accept CBOR or
+     * Smile.
+     */
+    @PostMapping(value = "/comprehensive/batch", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ComprehensiveDataBatchResult> processComprehensiveDataBatchBinary(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(batchProcessor.process(body, batchFormat(contentType)));
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+    /**
+     * Processes a CBOR or Smile document, echoing the parsed document as
+     * {@code fullData} in whichever format the client accepts.
+     */
+    @PostMapping(value = "/comprehensive", consumes = {MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ComprehensiveDataResponse> processComprehensiveData(@RequestBody ComprehensiveData data) {
+        return ResponseEntity.ok(ComprehensiveDataResponse.of(data, data));
     }
 
     @GetMapping("/example")
     public ResponseEntity<String> getExampleJson() {
-        String exampleJson = """
-                {
-                  "byteValue": 127,
-                  "shortValue": 32767,
-                  "integerValue": 2147483647,
-                  "longValue": 9223372036854775807,
-                  "floatValue": 3.14159,
-                  "doubleValue": 2.718281828459045,
-                  "booleanValue": true,
-                  "characterValue": "A",
-                  "stringValue": "Hello, World!",
-                  "bigDecimalValue": "12345678901234567890.123456789",
-                  "bigIntegerValue": "999999999999999999999999999999",
-                  "uuidValue": "550e8400-e29b-41d4-a716-446655440000",
-                  "localDate": "2024-10-26",
-                  "localTime": "14:30:00",
-                  "localDateTime": "2024-10-26T14:30:00",
-                  "zonedDateTime": "2024-10-26T14:30:00-05:00[America/Chicago]",
-                  "instant": "2024-10-26T19:30:00Z",
-                  "status": "ACTIVE",
-                  "address": {
-                    "street": "123 Main St",
-                    "city": "Springfield",
-                    "state": "IL",
-                    "zipCode": "62701",
-                    "country": "USA"
-                  },
-                  "stringArray": ["one", "two", "three"],
-                  "intArray": [1, 2, 3, 4, 5],
-                  "integerArray": [10, 20, 30],
-                  "stringList": ["alpha", "beta", "gamma"],
-                  "integerSet": [100, 200, 300],
-                  "metadata": {
-                    "key1": "value1",
-                    "key2": 42,
-                    "key3": true
-                  },
-                  "addresses": [
-                    {
-                      "street": "456 Oak Ave",
-                      "city": "Portland",
-                      "state": "OR",
-                      "zipCode": "97201",
-                      "country": "USA"
-                    },
-                    {
-                      "street": "789 Elm Blvd",
-                      "city": "Austin",
-                      "state": "TX",
-                      "zipCode": "78701",
-                      "country": "USA"
-                    }
-                  ],
-                  "nullableField": null
-                }
-                """;
+        return ResponseEntity.ok(EXAMPLE_JSON);
+    }
 
-        return ResponseEntity.ok(exampleJson);
+    private static BatchFormat batchFormat(String contentType) {
+        return switch (MediaType.parseMediaType(contentType).getSubtype().toLowerCase(Locale.ROOT)) {
+            case "x-ndjson" -> BatchFormat.NDJSON;
+            case "cbor" -> BatchFormat.CBOR_ARRAY;
+            case "x-jackson-smile" -> BatchFormat.SMILE_ARRAY;
+            default -> BatchFormat.JSON_ARRAY;
+        };
     }
 }
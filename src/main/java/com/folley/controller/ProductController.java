@@ -1,57 +1,530 @@
 package com.folley.controller;
 
+import com.folley.bulk.ImportFormat;
+import com.folley.bulk.NdjsonImportReport;
+import com.folley.bulk.ProductImporter;
+import com.folley.cache.CachedResponse;
+import com.folley.cache.ProductCacheStats;
+import com.folley.cache.ProductResponseCache;
+import com.folley.changes.ProductChangeLog;
+import com.folley.changes.ProductChanges;
+import com.folley.json.BinaryFormatConfiguration;
+import com.folley.json.ProductJsonWriter;
 import com.folley.model.Product;
+import com.folley.model.ProductField;
+import com.folley.model.ProductLookup;
+import com.folley.model.ProductOperation;
+import com.folley.model.ProductOperationResult;
+import com.folley.model.ProductPage;
+import com.folley.repository.ProductRepository;
+import com.folley.repository.ProductVersionConflictException;
+import com.folley.search.ProductQuery;
+import com.folley.search.ProductSearchIndex;
+import com.folley.search.ProductSearchResult;
+import com.folley.search.ProductSort;
+import com.folley.search.ProductTextIndex;
+import com.folley.search.ProductTextMatch;
+import com.folley.stats.ProductStatistics;
+import com.folley.stats.ProductStats;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
-    private List<Product> products = new ArrayList<>();
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_SIZE = 10_000;
 
+    private final ProductRepository repository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductTextIndex textIndex;
+    private final ProductResponseCache responseCache;
+    private final ProductChangeLog changeLog;
+    private final ProductStatistics statistics;
+    private final ProductImporter importer;
+
+    public ProductController(ProductRepository repository, ProductSearchIndex searchIndex,
+                             ProductTextIndex textIndex, ProductResponseCache responseCache,
+                             ProductChangeLog changeLog, ProductStatistics statistics,
+                             ProductImporter importer) {
+        this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.textIndex = textIndex;
+        this.responseCache = responseCache;
+        this.changeLog = changeLog;
+        this.statistics = statistics;
+        this.importer = importer;
+    }
+
+    /**
+     * Lists every product. The response is tagged with the catalog version
+     * unless writes are in flight, and a matching {@code If-None-Match} is
+     * answered with 304 before the catalog is copied. Tagged responses are
+     * served from the response cache.
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OptionalLong version = repository.stableCatalogVersion();
+        if (version.isEmpty()) {
+            return json(responseCache.encode(repository.findAll()), null, acceptEncoding);
+        }
+        String etag = ProductETags.ofCatalog(version.getAsLong());
+        if (ProductETags.noneMatchFails(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return json(responseCache.catalog(version.getAsLong(), repository::findAll), etag, acceptEncoding);
+    }
+
+    /**
+     * {@link #getAllProducts} for clients that accept CBOR or Smile. These are
+     * encoded by the message converters instead of served from the JSON
+     * response cache, and carry the weak form of the catalog tag.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<Product>> getAllProductsBinary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        OptionalLong version = repository.stableCatalogVersion();
+        if (version.isEmpty()) {
+            return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(repository.findAll());
+        }
+        String etag = ProductETags.weak(ProductETags.ofCatalog(version.getAsLong()));
+        if (ProductETags.noneMatchFails(ifNoneMatch, ProductETags.ofCatalog(version.getAsLong()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(repository.findAll());
+    }
+
+    /**
+     * Fetches the products with the given comma-separated ids in one request.
+     * The response lists the products found, in request order, followed by
+     * the ids that have none. A request that also has {@code limit} is a page
+     * request, so the two mappings never both match.
+     */
+    @GetMapping(params = {"ids", "!limit"})
+    public ResponseEntity<byte[]> getProductsByIds(@RequestParam String ids) {
+        return withParsedIds(ids, this::lookup);
+    }
+
+    /**
+     * Multi-get for id sets too large for a query string; the body is a JSON
+     * array of ids.
+     */
+    @PostMapping("/_mget")
+    public ResponseEntity<byte[]> getProductsByIds(@RequestBody long[] ids) {
+        return lookup(ids);
+    }
+
+    /**
+     * {@link #getProductsByIds(String)} for clients that accept CBOR or Smile.
+     */
+    @GetMapping(params = {"ids", "!limit"}, produces = {MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ProductLookup> getProductsByIdsBinary(@RequestParam String ids) {
+        return withParsedIds(ids, this::lookupBinary);
+    }
+
+    /**
+     * {@link #getProductsByIds(long[])} for clients that accept CBOR or Smile.
+     */
+    @PostMapping(value = "/_mget", produces = {MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ProductLookup> getProductsByIdsBinary(@RequestBody long[] ids) {
+        return lookupBinary(ids);
+    }
+
+    /**
+     * Keyset-paginated listing. {@code after} is the {@code nextCursor} of the
+     * previous page; {@code fields} optionally restricts each item to a
+     * comma-separated subset of product properties.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProductPage> getProductPage(@RequestParam int limit,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(required = false) String fields) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long afterId;
+        Set<ProductField> selected;
+        try {
+            afterId = after != null ? ProductCursor.decode(after) : null;
+            selected = fields != null ? ProductField.parse(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Product> products = repository.findPage(afterId, Math.min(limit, MAX_PAGE_SIZE));
+        String nextCursor = null;
+        if (!products.isEmpty()) {
+            long lastId = products.get(products.size() - 1).getId();
+            if (repository.hasProductsAfter(lastId)) {
+                nextCursor = ProductCursor.encode(lastId);
+            }
+        }
+
+        if (selected == null) {
+            return ResponseEntity.ok(new ProductPage(products, nextCursor));
+        }
+        List<Object> items = new ArrayList<>(products.size());
+        for (Product product : products) {
+            items.add(ProductField.project(product, selected));
+        }
+        return ResponseEntity.ok(new ProductPage(items, nextCursor));
+    }
+
+    /**
+     * Streams the whole catalog as newline-delimited JSON in id order without
+     * buffering the response or blocking writers. The scan walks the store by
+     * id, so each product appears at most once, as it stands when the scan
+     * reaches it. {@code X-Catalog-Version} is a version every write up to
+     * which is in the export; later writes may or may not be, so a client
+     * gets one consistent catalog by applying {@code /changes} since that
+     * version.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        long version = repository.appliedCatalogVersion();
+        StreamingResponseBody body = out -> ProductJsonWriter.writeNdjson(out, repository.scanAll());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("X-Catalog-Version", Long.toString(version))
+                .body(body);
+    }
+
+    /**
+     * Bulk-loads products from an NDJSON or CSV body. The body is read and
+     * inserted as it arrives, and the response streams rejected lines and
+     * periodic throughput as NDJSON events, ending with a summary.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        ImportFormat format = MediaType.parseMediaType(contentType).getSubtype().equalsIgnoreCase("csv")
+                ? ImportFormat.CSV : ImportFormat.NDJSON;
+        StreamingResponseBody response = out -> {
+            NdjsonImportReport report = new NdjsonImportReport(out);
+            report.onComplete(importer.importProducts(body, format, report));
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+    /**
+     * Filters products by price range and name, served from secondary indexes.
+     * {@code sort} is one of {@code id}, {@code price}, {@code -price} or
+     * {@code name}. The access path chosen is reported in {@code X-Query-Plan}.
+     * A NaN price bound is rejected; a minimum above the maximum finds nothing.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(@RequestParam(required = false) Double minPrice,
+                                                        @RequestParam(required = false) Double maxPrice,
+                                                        @RequestParam(required = false) String namePrefix,
+                                                        @RequestParam(required = false) String nameContains,
+                                                        @RequestParam(defaultValue = "id") String sort,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        ProductQuery query;
+        try {
+            query = new ProductQuery(minPrice, maxPrice, namePrefix, nameContains,
+                    ProductSort.fromParameter(sort), Math.min(limit, MAX_PAGE_SIZE));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProductSearchResult result = searchIndex.search(query);
+        return ResponseEntity.ok()
+                .header("X-Query-Plan", result.plan().name())
+                .body(result.items());
+    }
+
+    /**
+     * Full-text search over product names and descriptions, ranked by BM25.
+     */
+    @GetMapping("/text")
+    public ResponseEntity<List<ProductTextMatch>> searchProductText(@RequestParam String q,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(textIndex.search(q, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Returns products created, updated or deleted after catalog version
+     * {@code since}, latest change per product, with tombstones for deletes.
+     * Poll again with the returned {@code version}. When {@code since} is older
+     * than the change log reaches, the answer is 410 with
+     * {@code resyncRequired}: reload the catalog, then poll from the version
+     * given.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChanges> getChanges(@RequestParam long since,
+                                                     @RequestParam(defaultValue = "1000") int limit) {
+        if (since < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProductChanges changes = changeLog.since(since, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.status(changes.resyncRequired() ? HttpStatus.GONE : HttpStatus.OK).body(changes);
+    }
+
+    /**
+     * Product count and price aggregates, maintained incrementally on every
+     * write rather than computed from the catalog.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ProductStats> getStats() {
+        return ResponseEntity.ok(statistics.stats());
+    }
+
+    /**
+     * Cache hit ratios and occupancy of the serialized-response cache.
+     */
+    @GetMapping("/_cache")
+    public ResponseEntity<ProductCacheStats> getCacheStats() {
+        return ResponseEntity.ok(responseCache.stats());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return products.stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<Product> product = repository.findById(id);
+        if (product.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ProductETags.of(product.get());
+        if (ProductETags.noneMatchFails(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return json(responseCache.product(product.get()), etag, acceptEncoding);
     }
 
+    /**
+     * {@link #getProductById} for clients that accept CBOR or Smile, tagged
+     * with the weak form of the product's tag.
+     */
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<Product> getProductByIdBinary(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Product> product = repository.findById(id);
+        if (product.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ProductETags.of(product.get());
+        if (ProductETags.noneMatchFails(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ProductETags.weak(etag)).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(ProductETags.weak(etag))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(product.get());
+    }
+
+    /**
+     * Creates a product. Without an {@code id} the server assigns one; an
+     * {@code id} that is already taken is answered with 409.
+     */
     @PostMapping
     public ResponseEntity<Product> createProduct(@RequestBody Product product) {
-        products.add(product);
-        return ResponseEntity.status(HttpStatus.CREATED).body(product);
+        if (repository.insert(product).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ProductETags.of(product)).body(product);
     }
 
+    /**
+     * Deletes a product. With {@code If-Match} the delete only happens if the
+     * product still has that entity tag; otherwise the answer is 412.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        boolean removed = products.removeIf(p -> p.getId().equals(id));
-        if (removed) {
+    public ResponseEntity<Void> deleteProduct(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null && ProductETags.isWeak(ifMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        boolean deleted;
+        try {
+            deleted = ifMatch == null || ProductETags.isWildcard(ifMatch)
+                    ? repository.deleteById(id)
+                    : repository.deleteById(id, ProductETags.parseVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ProductVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (deleted) {
             return ResponseEntity.noContent().build();
         }
+        if (ifMatch != null) {
+            // If-Match never matches a missing resource.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Replaces a product. With {@code If-Match} the update is a compare-and-set
+     * against the product's entity tag, answered with 412 when it has moved on.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product updatedProduct) {
-        for (int i = 0; i < products.size(); i++) {
-            if (products.get(i).getId().equals(id)) {
-                updatedProduct.setId(id);
-                products.set(i, updatedProduct);
-                return ResponseEntity.ok(updatedProduct);
-            }
+    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product updatedProduct,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null && ProductETags.isWeak(ifMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Optional<Product> updated;
+        try {
+            updated = ifMatch == null || ProductETags.isWildcard(ifMatch)
+                    ? repository.update(id, updatedProduct)
+                    : repository.update(id, updatedProduct, ProductETags.parseVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ProductVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (updated.isPresent()) {
+            return ResponseEntity.ok().eTag(ProductETags.of(updated.get())).body(updated.get());
+        }
+        if (ifMatch != null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * Applies many creates, updates and deletes in one request. Each result
+     * carries the status the operation would have returned on its own. With
+     * {@code atomic=true} either every operation is applied or none is, and a
+     * rejected batch is answered with 409.
+     */
+    @PostMapping("/_batch")
+    public ResponseEntity<List<ProductOperationResult>> applyBatch(@RequestBody List<ProductOperation> operations,
+                                                                   @RequestParam(defaultValue = "false") boolean atomic) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        List<ProductOperation.Outcome> outcomes = repository.applyBatch(operations, atomic);
+        List<ProductOperationResult> results = new ArrayList<>(outcomes.size());
+        boolean aborted = false;
+        for (int i = 0; i < outcomes.size(); i++) {
+            ProductOperation operation = operations.get(i);
+            ProductOperation.Type op = operation != null ? operation.getOp() : null;
+            Long id = operation != null ? operation.targetId() : null;
+            ProductOperation.Outcome outcome = outcomes.get(i);
+            aborted |= outcome == ProductOperation.Outcome.ABORTED;
+            results.add(new ProductOperationResult(i, op, id, statusOf(op, outcome).value()));
+        }
+        return ResponseEntity.status(aborted ? HttpStatus.CONFLICT : HttpStatus.OK).body(results);
+    }
+
+    /**
+     * Wraps a pre-encoded body, choosing the gzip variant when the client
+     * accepts it. Gzipped responses carry the weak form of {@code etag}.
+     */
+    private static ResponseEntity<byte[]> json(CachedResponse response, String etag, String acceptEncoding) {
+        boolean gzipped = response.gzip() != null && ContentCodings.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (response.gzip() != null) {
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        } else {
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (etag != null) {
+            builder.eTag(gzipped ? ProductETags.weak(etag) : etag);
+        }
+        if (gzipped) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    private ResponseEntity<byte[]> lookup(long[] ids) {
+        if (ids.length > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        ProductLookup found = findAllById(ids);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128 + found.products().size() * 96);
+        try {
+            ProductJsonWriter.writeLookup(out, found.products(), found.missing());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(out.toByteArray());
+    }
+
+    private ResponseEntity<ProductLookup> lookupBinary(long[] ids) {
+        if (ids.length > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(findAllById(ids));
+    }
+
+    private ProductLookup findAllById(long[] ids) {
+        LongStream.Builder missing = LongStream.builder();
+        List<Product> products = repository.findAllById(ids, missing);
+        return new ProductLookup(products, missing.build().toArray());
+    }
+
+    /**
+     * Parses a comma-separated id list and passes it to {@code lookup},
+     * answering 413 for too many ids and 400 for one that is not a number.
+     */
+    private static <T> ResponseEntity<T> withParsedIds(String ids, Function<long[], ResponseEntity<T>> lookup) {
+        String[] parts = ids.split(",", -1);
+        if (parts.length > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        long[] parsed = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                parsed[i] = Long.parseLong(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return lookup.apply(parsed);
+    }
+
+    private static HttpStatus statusOf(ProductOperation.Type op, ProductOperation.Outcome outcome) {
+        return switch (outcome) {
+            case APPLIED -> switch (op) {
+                case CREATE -> HttpStatus.CREATED;
+                case UPDATE -> HttpStatus.OK;
+                case DELETE -> HttpStatus.NO_CONTENT;
+            };
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INVALID -> HttpStatus.BAD_REQUEST;
+            case CONFLICT -> HttpStatus.CONFLICT;
+            case ABORTED -> HttpStatus.FAILED_DEPENDENCY;
+        };
+    }
 }
@@ -0,0 +1,33 @@
+package com.folley.controller;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors for product pagination. A cursor encodes the id of the
+ * last product on a page, so the next page starts strictly after it no matter
+ * what was inserted or deleted in between.
+ */
+final class ProductCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ProductCursor() {
+    }
+
+    static String encode(long lastId) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(long)}
+     */
+    static long decode(String cursor) {
+        byte[] bytes = DECODER.decode(cursor);
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
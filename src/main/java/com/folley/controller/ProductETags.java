@@ -0,0 +1,78 @@
+package com.folley.controller;
+
+import com.folley.model.Product;
+
+/**
+ * Strong entity tags for products and the whole catalog, derived from
+ * repository versions so they can be compared without serializing anything.
+ */
+final class ProductETags {
+
+    private static final String CATALOG_PREFIX = "catalog-";
+
+    private ProductETags() {
+    }
+
+    static String of(Product product) {
+        return "\"" + product.getVersion() + "\"";
+    }
+
+    static String ofCatalog(long catalogVersion) {
+        return "\"" + CATALOG_PREFIX + catalogVersion + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against {@code etag} using weak
+     * comparison, as RFC 9110 requires for that header.
+     */
+    static boolean noneMatchFails(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a single strong product tag from an {@code If-Match} header.
+     *
+     * @throws IllegalArgumentException if the header is a list or not a product tag
+     */
+    static long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Expected one strong entity tag: " + ifMatch);
+        }
+        return Long.parseLong(tag, 1, tag.length() - 1, 10);
+    }
+
+    static boolean isWildcard(String ifMatch) {
+        return ifMatch.trim().equals("*");
+    }
+
+    /**
+     * Weak tags never satisfy {@code If-Match}, which uses strong comparison.
+     */
+    static boolean isWeak(String ifMatch) {
+        return ifMatch.trim().startsWith("W/");
+    }
+
+    /**
+     * Weakens a tag for a content-coded variant, whose bytes differ from the
+     * identity representation the strong tag names.
+     */
+    static String weak(String etag) {
+        return "W/" + etag;
+    }
+}
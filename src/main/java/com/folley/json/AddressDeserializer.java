@@ -0,0 +1,96 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.folley.model.Address;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reads {@link Address} like the generated codec, but takes {@code city},
+ * {@code state}, {@code zipCode} and {@code country} from a
+ * {@link StringPool}, so the same few values are not allocated and retained
+ * again for every address. Streets are rarely repeated and are read as
+ * usual.
+ *
+ * Optionally, whole addresses are shared too: an address equal to one
+ * recently read is replaced by that instance, kept in a direct-mapped table
+ * of the given size. {@code Address} is mutable, so this is only safe while
+ * deserialized addresses are treated as read-only.
+ */
+public final class AddressDeserializer extends StdDeserializer<Address> {
+
+    private final StringPool strings;
+    private final AtomicReferenceArray<Address> shared;
+    private final int sharedMask;
+
+    /**
+     * @param sharedCapacity slots for shared addresses, rounded up to a power of two; 0 does not share
+     */
+    public AddressDeserializer(StringPool strings, int sharedCapacity) {
+        super(Address.class);
+        this.strings = strings;
+        int size = sharedCapacity > 0 ? Integer.highestOneBit(Math.max(1, sharedCapacity - 1) << 1) : 0;
+        this.shared = size > 0 ? new AtomicReferenceArray<>(size) : null;
+        this.sharedMask = size - 1;
+    }
+
+    @Override
+    public Address deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else {
+            return (Address) ctxt.handleUnexpectedToken(Address.class, p);
+        }
+        Address value = new Address();
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            switch (name) {
+                case "street" -> value.setStreet(JsonCodecs.readString(p, ctxt));
+                case "city" -> value.setCity(readPooled(p, ctxt));
+                case "state" -> value.setState(readPooled(p, ctxt));
+                case "zipCode" -> value.setZipCode(readPooled(p, ctxt));
+                case "country" -> value.setCountry(readPooled(p, ctxt));
+                default -> ctxt.handleUnknownProperty(p, this, value, name);
+            }
+        }
+        return shared != null ? share(value) : value;
+    }
+
+    private String readPooled(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return strings.intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        return strings.intern(JsonCodecs.readString(p, ctxt));
+    }
+
+    private Address share(Address value) {
+        int hash = Objects.hashCode(value.getStreet());
+        hash = 31 * hash + Objects.hashCode(value.getCity());
+        hash = 31 * hash + Objects.hashCode(value.getState());
+        hash = 31 * hash + Objects.hashCode(value.getZipCode());
+        hash = 31 * hash + Objects.hashCode(value.getCountry());
+        int slot = (hash ^ (hash >>> 16)) & sharedMask;
+        Address existing = shared.get(slot);
+        if (existing != null && sameValues(existing, value)) {
+            return existing;
+        }
+        shared.set(slot, value);
+        return value;
+    }
+
+    private static boolean sameValues(Address a, Address b) {
+        return Objects.equals(a.getStreet(), b.getStreet())
+                && Objects.equals(a.getCity(), b.getCity())
+                && Objects.equals(a.getState(), b.getState())
+                && Objects.equals(a.getZipCode(), b.getZipCode())
+                && Objects.equals(a.getCountry(), b.getCountry());
+    }
+}
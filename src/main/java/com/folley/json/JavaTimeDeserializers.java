@@ -0,0 +1,378 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Fast paths in front of the {@code JavaTimeModule} deserializers for
+ * {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime},
+ * {@link Instant} and {@link ZonedDateTime}.
+ *
+ * Strings in the common ISO-8601 shapes are scanned by hand from the
+ * parser's characters: a four-digit year, two-digit fields, optional
+ * seconds and a fraction of up to nine digits, an offset of {@code Z} or
+ * {@code +HH:MM}, and for zoned values an optional bracketed region id
+ * resolved through a {@link ZoneIdCache}. Everything else, including
+ * numeric timestamps, padded or out-of-range values and properties with a
+ * {@code @JsonFormat} or format override, goes to the module's own
+ * deserializer, so results and errors are the same as without these.
+ * Zoned values are adjusted to the context time zone as
+ * {@code JavaTimeModule} does with its default features.
+ */
+public final class JavaTimeDeserializers {
+
+    private static final int[] SCALE = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000,
+            1_000_000_000};
+
+    private JavaTimeDeserializers() {
+    }
+
+    /**
+     * Wraps the default {@code JavaTimeModule} deserializers of mappers this
+     * module is registered with; without that module it has no effect.
+     * Deserializers registered with a formatter of their own, even of the
+     * same classes, are left alone, since the scanner only knows ISO-8601.
+     */
+    public static void addTo(SimpleModule module, ZoneIdCache zones) {
+        module.setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                          JsonDeserializer<?> deserializer) {
+                if (deserializer == LocalDateDeserializer.INSTANCE) {
+                    return new LocalDateFastPath(deserializer);
+                } else if (deserializer == LocalTimeDeserializer.INSTANCE) {
+                    return new LocalTimeFastPath(deserializer);
+                } else if (deserializer == LocalDateTimeDeserializer.INSTANCE) {
+                    return new LocalDateTimeFastPath(deserializer);
+                } else if (deserializer == InstantDeserializer.INSTANT) {
+                    return new InstantFastPath(deserializer);
+                } else if (deserializer == InstantDeserializer.ZONED_DATE_TIME) {
+                    return new ZonedDateTimeFastPath(deserializer, zones);
+                }
+                return deserializer;
+            }
+        });
+    }
+
+    /**
+     * Reads strings the scanner accepts and hands everything else to the
+     * wrapped deserializer.
+     */
+    abstract static class FastPath extends DelegatingDeserializer {
+
+        FastPath(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * The value of {@code length} characters from {@code offset}, or
+         * null to leave them to the wrapped deserializer.
+         */
+        abstract Object scan(char[] chars, int offset, int length, DeserializationContext ctxt);
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                Object value = scan(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), ctxt);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return _delegatee.deserialize(p, ctxt);
+        }
+
+        /**
+         * Keeps the fast path only where no format applies; a pattern,
+         * leniency, time zone or feature override is the wrapped
+         * deserializer's business.
+         */
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            JsonDeserializer<?> contextual = super.createContextual(ctxt, property);
+            JsonFormat.Value format = findFormatOverrides(ctxt, property, handledType());
+            if (format == null || format.equals(JsonFormat.Value.empty())) {
+                return contextual;
+            }
+            return contextual instanceof DelegatingDeserializer delegating ? delegating.getDelegatee() : contextual;
+        }
+    }
+
+    static final class LocalDateFastPath extends FastPath {
+
+        LocalDateFastPath(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new LocalDateFastPath(newDelegatee);
+        }
+
+        @Override
+        Object scan(char[] chars, int offset, int length, DeserializationContext ctxt) {
+            return length == 10 ? date(chars, offset) : null;
+        }
+    }
+
+    static final class LocalTimeFastPath extends FastPath {
+
+        LocalTimeFastPath(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new LocalTimeFastPath(newDelegatee);
+        }
+
+        @Override
+        Object scan(char[] chars, int offset, int length, DeserializationContext ctxt) {
+            return time(chars, offset, offset + length);
+        }
+    }
+
+    static final class LocalDateTimeFastPath extends FastPath {
+
+        LocalDateTimeFastPath(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new LocalDateTimeFastPath(newDelegatee);
+        }
+
+        @Override
+        Object scan(char[] chars, int offset, int length, DeserializationContext ctxt) {
+            return dateTime(chars, offset, offset + length);
+        }
+    }
+
+    static final class InstantFastPath extends FastPath {
+
+        InstantFastPath(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new InstantFastPath(newDelegatee);
+        }
+
+        @Override
+        Object scan(char[] chars, int offset, int length, DeserializationContext ctxt) {
+            int end = offset + length;
+            int offsetStart = offsetStart(chars, offset, end);
+            if (offsetStart < 0) {
+                return null;
+            }
+            LocalDateTime dateTime = dateTime(chars, offset, offsetStart);
+            ZoneOffset zoneOffset = dateTime != null ? offset(chars, offsetStart, end) : null;
+            if (zoneOffset == null) {
+                return null;
+            }
+            return Instant.ofEpochSecond(dateTime.toEpochSecond(zoneOffset), dateTime.getNano());
+        }
+    }
+
+    static final class ZonedDateTimeFastPath extends FastPath {
+
+        private final ZoneIdCache zones;
+
+        ZonedDateTimeFastPath(JsonDeserializer<?> delegate, ZoneIdCache zones) {
+            super(delegate);
+            this.zones = zones;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new ZonedDateTimeFastPath(newDelegatee, zones);
+        }
+
+        @Override
+        Object scan(char[] chars, int offset, int length, DeserializationContext ctxt) {
+            int end = offset + length;
+            int offsetEnd = end;
+            if (length > 0 && chars[end - 1] == ']') {
+                offsetEnd = indexOf(chars, '[', offset, end);
+                if (offsetEnd < 0) {
+                    return null;
+                }
+            }
+            int offsetStart = offsetStart(chars, offset, offsetEnd);
+            if (offsetStart < 0) {
+                return null;
+            }
+            LocalDateTime dateTime = dateTime(chars, offset, offsetStart);
+            ZoneOffset zoneOffset = dateTime != null ? offset(chars, offsetStart, offsetEnd) : null;
+            if (zoneOffset == null) {
+                return null;
+            }
+            ZoneId zone = zoneOffset;
+            if (offsetEnd < end) {
+                zone = zones.get(chars, offsetEnd + 1, end - offsetEnd - 2);
+                if (zone == null) {
+                    return null;
+                }
+            }
+            // Resolved by instant, as DateTimeFormatter.ISO_ZONED_DATE_TIME does.
+            ZonedDateTime value = ZonedDateTime.ofInstant(dateTime, zoneOffset, zone);
+            if (ctxt.isEnabled(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)) {
+                value = value.withZoneSameInstant(ctxt.getTimeZone().toZoneId().normalized());
+            }
+            return value;
+        }
+    }
+
+    /**
+     * {@code yyyy-MM-dd} at {@code offset}, or null.
+     */
+    static LocalDate date(char[] chars, int offset) {
+        if (chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > 28 && day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * {@code HH:mm}, {@code HH:mm:ss} or {@code HH:mm:ss.SSSSSSSSS} with one
+     * to nine fraction digits, filling the characters up to {@code end}, or
+     * null.
+     */
+    static LocalTime time(char[] chars, int offset, int end) {
+        int length = end - offset;
+        if (length < 5 || chars[offset + 2] != ':') {
+            return null;
+        }
+        int hour = digits(chars, offset, 2);
+        int minute = digits(chars, offset + 3, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > 5) {
+            if (length < 8 || chars[offset + 5] != ':') {
+                return null;
+            }
+            second = digits(chars, offset + 6, 2);
+            if (length > 8) {
+                int fractionDigits = length - 9;
+                if (chars[offset + 8] != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return null;
+                }
+                nano = digits(chars, offset + 9, fractionDigits);
+                if (nano < 0) {
+                    return null;
+                }
+                nano *= SCALE[9 - fractionDigits];
+            }
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * A date, {@code T} and a time filling the characters up to {@code end},
+     * or null.
+     */
+    static LocalDateTime dateTime(char[] chars, int offset, int end) {
+        if (end - offset < 16 || chars[offset + 10] != 'T') {
+            return null;
+        }
+        LocalDate date = date(chars, offset);
+        LocalTime time = date != null ? time(chars, offset + 11, end) : null;
+        return time != null ? LocalDateTime.of(date, time) : null;
+    }
+
+    /**
+     * {@code Z} or {@code +HH:MM} filling the characters up to {@code end},
+     * or null.
+     */
+    static ZoneOffset offset(char[] chars, int offset, int end) {
+        if (end - offset == 1 && chars[offset] == 'Z') {
+            return ZoneOffset.UTC;
+        }
+        if (end - offset != 6 || chars[offset] != '+' && chars[offset] != '-' || chars[offset + 3] != ':') {
+            return null;
+        }
+        int hours = digits(chars, offset + 1, 2);
+        int minutes = digits(chars, offset + 4, 2);
+        if (hours < 0 || minutes < 0 || minutes > 59 || hours * 60 + minutes > 18 * 60) {
+            return null;
+        }
+        int seconds = (hours * 60 + minutes) * 60;
+        return ZoneOffset.ofTotalSeconds(chars[offset] == '-' ? -seconds : seconds);
+    }
+
+    /**
+     * Where the offset after a date and time starts: the first {@code Z},
+     * {@code +} or {@code -} past the date and the hour, or -1.
+     */
+    private static int offsetStart(char[] chars, int offset, int end) {
+        for (int i = offset + 16; i < end; i++) {
+            char c = chars[i];
+            if (c == 'Z' || c == '+' || c == '-') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(char[] chars, char c, int offset, int end) {
+        for (int i = offset; i < end; i++) {
+            if (chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The value of {@code count} decimal digits, or -1 if any is not a digit.
+     */
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.folley.model.Address;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Registers the generated codecs with the application's {@code ObjectMapper};
+ * Spring Boot picks up every Jackson module bean.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JsonCodecConfiguration {
+
+    /**
+     * @param poolCapacity      strings kept in the address value pool; 0 reads addresses with the generated codec
+     * @param shareAddresses    also share instances of equal addresses
+     * @param zoneCacheCapacity resolved zone ids cached for the java.time fast paths; 0 turns the fast paths off
+     */
+    @Bean
+    public SimpleModule jsonCodecModule(@Value("${folley.json.address-pool.capacity:4096}") int poolCapacity,
+                                        @Value("${folley.json.address-pool.share-addresses:false}")
+                                        boolean shareAddresses,
+                                        @Value("${folley.json.time.zone-cache.capacity:256}") int zoneCacheCapacity) {
+        SimpleModule module = JsonCodecs.module();
+        if (poolCapacity > 0) {
+            module.addDeserializer(Address.class,
+                    new AddressDeserializer(new StringPool(poolCapacity), shareAddresses ? poolCapacity : 0));
+        }
+        if (zoneCacheCapacity > 0) {
+            JavaTimeDeserializers.addTo(module, new ZoneIdCache(zoneCacheCapacity));
+        }
+        return module;
+    }
+
+    /**
+     * @param mode        "fast" parses decimal numbers with {@link NumberParsing}, "jackson" leaves them to Jackson
+     * @param maxDigits   significant digits allowed in a number, and characters in other numeric text
+     * @param maxExponent decimal exponent allowed in a {@code BigDecimal} or {@code BigInteger}
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer numberParsingCustomizer(
+            @Value("${folley.json.numbers.parser:fast}") String mode,
+            @Value("${folley.json.numbers.max-digits:256}") int maxDigits,
+            @Value("${folley.json.numbers.max-exponent:1000}") int maxExponent) {
+        if (NumberParsing.Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)) == NumberParsing.Mode.JACKSON) {
+            return builder -> { };
+        }
+        NumberParsing numbers = new NumberParsing(maxDigits, maxExponent);
+        return builder -> builder.postConfigurer(numbers::applyTo);
+    }
+}
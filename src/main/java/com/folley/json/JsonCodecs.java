@@ -0,0 +1,329 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.base.ParserBase;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.folley.model.AddressJsonCodec;
+import com.folley.model.ComprehensiveDataJsonCodec;
+import com.folley.model.ProductJsonCodec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.UUID;
+
+/**
+ * Runtime support for the codecs generated from {@code @JsonCodec} beans.
+ *
+ * Each reader expects the parser on a value token. It decodes the token it
+ * expects for its type directly and hands anything else to the context, so
+ * nulls into primitives, string-to-number coercion and error reporting
+ * behave exactly as they do for Jackson's own deserializers. Readers for
+ * primitives fall back to the primitive deserializer and readers for
+ * wrappers to the wrapper's, since their coercion rules differ.
+ */
+public final class JsonCodecs {
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * A module with every generated codec, for registration with an
+     * {@code ObjectMapper}.
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("folley-json-codecs");
+        AddressJsonCodec.register(module);
+        ComprehensiveDataJsonCodec.register(module);
+        ProductJsonCodec.register(module);
+        return module;
+    }
+
+    public static byte readByte(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getByteValue() : ctxt.readValue(p, byte.class);
+    }
+
+    public static short readShort(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getShortValue() : ctxt.readValue(p, short.class);
+    }
+
+    public static int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getIntValue() : ctxt.readValue(p, int.class);
+    }
+
+    public static long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getLongValue() : ctxt.readValue(p, long.class);
+    }
+
+    public static float readFloat(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            NumberParsing numbers = NumberParsing.of(ctxt);
+            return numbers != null && p instanceof ParserBase ? numbers.parseFloat(p, ctxt) : p.getFloatValue();
+        }
+        return ctxt.readValue(p, float.class);
+    }
+
+    public static double readDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            NumberParsing numbers = NumberParsing.of(ctxt);
+            return numbers != null && p instanceof ParserBase ? numbers.parseDouble(p, ctxt) : p.getDoubleValue();
+        }
+        return ctxt.readValue(p, double.class);
+    }
+
+    public static boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        return ctxt.readValue(p, boolean.class);
+    }
+
+    public static char readChar(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING) && p.getTextLength() == 1) {
+            return p.getTextCharacters()[p.getTextOffset()];
+        }
+        return ctxt.readValue(p, char.class);
+    }
+
+    public static Byte readNullableByte(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getByteValue();
+        }
+        return readValue(p, ctxt, Byte.class);
+    }
+
+    public static Short readNullableShort(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getShortValue();
+        }
+        return readValue(p, ctxt, Short.class);
+    }
+
+    public static Integer readNullableInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getIntValue();
+        }
+        return readValue(p, ctxt, Integer.class);
+    }
+
+    public static Long readNullableLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getLongValue();
+        }
+        return readValue(p, ctxt, Long.class);
+    }
+
+    public static Float readNullableFloat(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            return readFloat(p, ctxt);
+        }
+        return readValue(p, ctxt, Float.class);
+    }
+
+    public static Double readNullableDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            return readDouble(p, ctxt);
+        }
+        return readValue(p, ctxt, Double.class);
+    }
+
+    public static Boolean readNullableBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        return readValue(p, ctxt, Boolean.class);
+    }
+
+    public static Character readNullableChar(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING) && p.getTextLength() == 1) {
+            return p.getTextCharacters()[p.getTextOffset()];
+        }
+        return readValue(p, ctxt, Character.class);
+    }
+
+    public static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return p.getText();
+        }
+        return readValue(p, ctxt, String.class);
+    }
+
+    /**
+     * With {@link NumberParsing} installed, numbers and numeric strings are
+     * checked against its limits and parsed from the parser's characters.
+     */
+    public static BigDecimal readBigDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        NumberParsing numbers = token == JsonToken.VALUE_NULL ? null : NumberParsing.of(ctxt);
+        if (numbers != null && NumberParsing.readsText(p, ctxt, LogicalType.Float, BigDecimal.class)) {
+            return numbers.parseBigDecimal(p, ctxt);
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue();
+        }
+        return readValue(p, ctxt, BigDecimal.class);
+    }
+
+    /**
+     * Like {@link #readBigDecimal}, for integers.
+     */
+    public static BigInteger readBigInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        NumberParsing numbers = token == JsonToken.VALUE_NULL ? null : NumberParsing.of(ctxt);
+        if (numbers != null && NumberParsing.readsText(p, ctxt, LogicalType.Integer, BigInteger.class)) {
+            return numbers.parseBigInteger(p, ctxt);
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getBigIntegerValue();
+        }
+        return readValue(p, ctxt, BigInteger.class);
+    }
+
+    /**
+     * Canonical 36-character UUIDs are parsed directly; anything else goes
+     * through Jackson, which also accepts Base64-encoded bytes.
+     */
+    public static UUID readUuid(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING) && p.getTextLength() == 36) {
+            try {
+                return UUID.fromString(p.getText());
+            } catch (IllegalArgumentException e) {
+                // Fall through so Jackson reports the malformed value.
+            }
+        }
+        return readValue(p, ctxt, UUID.class);
+    }
+
+    /**
+     * Reads a value through the mapper, for tokens the fast paths do not
+     * handle; JSON null is always read as null.
+     */
+    public static <T> T readValue(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, type);
+    }
+
+    public static <T> T readValue(JsonParser p, DeserializationContext ctxt, JavaType type) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, type);
+    }
+
+    /**
+     * Reads a value with a deserializer resolved up front, which avoids the
+     * per-call lookups of the {@code Class} and {@code JavaType} variants.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T readValue(JsonParser p, DeserializationContext ctxt, JsonDeserializer<?> deserializer)
+            throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : (T) deserializer.deserialize(p, ctxt);
+    }
+
+    public static void write(JsonGenerator gen, Byte value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    public static void write(JsonGenerator gen, Short value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.shortValue());
+        }
+    }
+
+    public static void write(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    public static void write(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    public static void write(JsonGenerator gen, Float value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.floatValue());
+        }
+    }
+
+    public static void write(JsonGenerator gen, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    public static void write(JsonGenerator gen, Boolean value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    public static void write(JsonGenerator gen, Character value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(String.valueOf(value.charValue()));
+        }
+    }
+
+    public static void write(JsonGenerator gen, BigDecimal value) throws IOException {
+        gen.writeNumber(value);
+    }
+
+    public static void write(JsonGenerator gen, BigInteger value) throws IOException {
+        gen.writeNumber(value);
+    }
+
+    /**
+     * Writes the canonical string form, except on binary formats where
+     * Jackson writes UUIDs as 16 raw bytes.
+     */
+    public static void writeUuid(JsonGenerator gen, SerializerProvider provider, UUID value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (gen.canWriteBinaryNatively()) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Writes the constant name unless the mapper is configured to write enums
+     * some other way.
+     */
+    public static void writeEnum(JsonGenerator gen, SerializerProvider provider, Enum<?> value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                || provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX)) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(value.name());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.json.UTF8StreamJsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON object that is kept in its encoded form until its entries are
+ * needed.
+ *
+ * Deserializing one walks the object once to count its distinct top-level
+ * keys and keeps the encoded value: a slice of the source bytes when the
+ * document was parsed from a byte array registered under {@link #SOURCE},
+ * otherwise a {@link TokenBuffer}. {@link #size()} and {@link #isEmpty()}
+ * are answered from the count; any other access binds the object into a
+ * {@code LinkedHashMap} of the same values Jackson would produce for a
+ * {@code Map<String, Object>}. Until then the object is written back out as
+ * it was read, byte for byte to JSON and token by token to other formats.
+ * Once materialized it is written from the map, since entries may have
+ * changed.
+ *
+ * Like the {@code LinkedHashMap} it stands in for, it is not thread-safe.
+ */
+@JsonDeserialize(using = LazyJsonObject.Deserializer.class)
+@JsonSerialize(using = LazyJsonObject.Serializer.class)
+public final class LazyJsonObject extends AbstractMap<String, Object> {
+
+    /**
+     * Reader attribute holding the {@code byte[]} being parsed. With it set,
+     * objects read from that array keep a slice of it instead of copying
+     * their tokens; see {@link #readingFrom(ObjectReader, byte[])}.
+     */
+    public static final Object SOURCE = LazyJsonObject.class.getName() + ".source";
+
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final int size;
+    private final ObjectCodec codec;
+    private final byte[] json;
+    private final int offset;
+    private final int length;
+    private final TokenBuffer tokens;
+    private LinkedHashMap<String, Object> entries;
+
+    private LazyJsonObject(int size, ObjectCodec codec, byte[] json, int offset, int length, TokenBuffer tokens) {
+        this.size = size;
+        this.codec = codec;
+        this.json = json;
+        this.offset = offset;
+        this.length = length;
+        this.tokens = tokens;
+    }
+
+    /**
+     * An already materialized object with a copy of {@code entries}.
+     */
+    public LazyJsonObject(Map<String, ?> entries) {
+        this(0, null, null, 0, 0, null);
+        this.entries = new LinkedHashMap<>(entries);
+    }
+
+    /**
+     * {@code reader} with {@link #SOURCE} set to {@code json}, for reading
+     * that array.
+     */
+    public static ObjectReader readingFrom(ObjectReader reader, byte[] json) {
+        return reader.withAttribute(SOURCE, json);
+    }
+
+    /**
+     * Whether the entries have been bound, by access or construction.
+     */
+    public boolean isMaterialized() {
+        return entries != null;
+    }
+
+    @Override
+    public int size() {
+        return entries != null ? entries.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return entries().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries().containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return entries().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return entries().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        entries().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return entries().entrySet();
+    }
+
+    private LinkedHashMap<String, Object> entries() {
+        if (entries == null) {
+            try (JsonParser parser = json != null
+                    ? codec.getFactory().createParser(json, offset, length)
+                    : tokens.asParser(codec)) {
+                entries = codec.readValue(parser, MAP_TYPE);
+            } catch (IOException e) {
+                // The value was already parsed once, so this only happens if the codec binds it differently.
+                throw new UncheckedIOException(e);
+            }
+        }
+        return entries;
+    }
+
+    private void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (entries != null) {
+            provider.defaultSerializeValue(entries, gen);
+        } else if (json != null && gen instanceof JsonGeneratorImpl) {
+            gen.writeRawValue(new RawJson(json, offset, length));
+        } else {
+            try (JsonParser parser = json != null
+                    ? codec.getFactory().createParser(json, offset, length)
+                    : tokens.asParser(codec)) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    static final class Deserializer extends JsonDeserializer<LazyJsonObject> {
+
+        @Override
+        public LazyJsonObject deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (LazyJsonObject) ctxt.handleUnexpectedToken(LazyJsonObject.class, p);
+            }
+            ObjectCodec codec = p.getCodec();
+            if (codec == null) {
+                return new LazyJsonObject(ctxt.readValue(p, ctxt.constructType(MAP_TYPE.getType())));
+            }
+            Object source = ctxt.getAttribute(SOURCE);
+            if (source instanceof byte[] json && p instanceof UTF8StreamJsonParser) {
+                long start = p.currentTokenLocation().getByteOffset();
+                KeyCounter keys = new KeyCounter();
+                JsonToken token;
+                while ((token = p.nextToken()) == JsonToken.FIELD_NAME) {
+                    keys.add(p.currentName());
+                    p.nextToken();
+                    p.skipChildren();
+                }
+                long end = p.currentLocation().getByteOffset();
+                if (token == JsonToken.END_OBJECT && start >= 0 && end <= json.length
+                        && json[(int) start] == '{' && json[(int) end - 1] == '}') {
+                    return new LazyJsonObject(keys.count(), codec, json, (int) start, (int) (end - start), null);
+                }
+                // The attribute does not hold the array being parsed, and the object has been skipped.
+                return ctxt.reportInputMismatch(LazyJsonObject.class, "%s does not hold the parsed document", SOURCE);
+            }
+            TokenBuffer tokens = ctxt.bufferForInputBuffering(p);
+            KeyCounter keys = new KeyCounter();
+            tokens.writeStartObject();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                keys.add(p.currentName());
+                tokens.copyCurrentStructure(p);
+            }
+            tokens.writeEndObject();
+            return new LazyJsonObject(keys.count(), codec, null, 0, 0, tokens);
+        }
+    }
+
+    static final class Serializer extends JsonSerializer<LazyJsonObject> {
+
+        @Override
+        public void serialize(LazyJsonObject value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            value.serialize(gen, provider);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, LazyJsonObject value) {
+            return value.isEmpty();
+        }
+    }
+
+    /**
+     * Counts distinct keys the way a map would hold them, where a repeated
+     * key replaces the earlier value. Small objects are checked by scanning
+     * the keys seen so far; parsers canonicalize names, so the scan mostly
+     * compares references.
+     */
+    private static final class KeyCounter {
+
+        private static final int SCAN_LIMIT = 16;
+
+        private final String[] names = new String[SCAN_LIMIT];
+        private Set<String> set;
+        private int count;
+
+        void add(String name) {
+            if (set != null) {
+                if (set.add(name)) {
+                    count++;
+                }
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                if (names[i].equals(name)) {
+                    return;
+                }
+            }
+            if (count < SCAN_LIMIT) {
+                names[count++] = name;
+                return;
+            }
+            set = new HashSet<>(Set.of(names));
+            set.add(name);
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.base.ParserBase;
+import com.fasterxml.jackson.core.io.doubleparser.JavaBigDecimalParser;
+import com.fasterxml.jackson.core.io.doubleparser.JavaBigIntegerParser;
+import com.fasterxml.jackson.core.io.doubleparser.JavaDoubleParser;
+import com.fasterxml.jackson.core.io.doubleparser.JavaFloatParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.CoercionAction;
+import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
+import com.fasterxml.jackson.databind.type.LogicalType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Bounded parsing of decimal numbers for the generated codecs, installed
+ * on a mapper with {@link #applyTo(ObjectMapper)}.
+ *
+ * Numbers are parsed in place from the parser's character buffer, numeric
+ * tokens of text formats as well as strings, with the FastDoubleParser copy
+ * that jackson-core ships. Before anything is parsed, one pass over the
+ * characters checks the limits: at most {@code maxDigits} significant
+ * digits, and for {@code BigDecimal} and {@code BigInteger} a decimal
+ * exponent, counting digits after the point, within {@code maxExponent}. A
+ * value over a limit fails at once, so an oversized number costs a scan
+ * rather than a super-linear {@code BigInteger} conversion. Text that is not
+ * a plain decimal number, such as {@code "NaN"} or padded strings, is
+ * handed to Jackson as before if it is no longer than {@code maxDigits}.
+ *
+ * Without it, the codecs read numbers with Jackson's parsers and limits.
+ */
+public final class NumberParsing {
+
+    public enum Mode {
+        /** Jackson's own number parsing and limits. */
+        JACKSON,
+        /** This class, with its limits. */
+        FAST
+    }
+
+    private static final int NOT_DECIMAL = 0;
+    private static final int INTEGER = 1;
+    private static final int DECIMAL = 2;
+
+    private final int maxDigits;
+    private final int maxExponent;
+
+    public NumberParsing(int maxDigits, int maxExponent) {
+        this.maxDigits = maxDigits;
+        this.maxExponent = maxExponent;
+    }
+
+    /**
+     * Makes readers of {@code mapper} parse numbers with this instance.
+     */
+    public void applyTo(ObjectMapper mapper) {
+        mapper.setDefaultAttributes(mapper.getDeserializationConfig().getAttributes()
+                .withSharedAttribute(NumberParsing.class, this));
+    }
+
+    /**
+     * The instance installed on the reading mapper, or null.
+     */
+    static NumberParsing of(DeserializationContext ctxt) {
+        return (NumberParsing) ctxt.getAttribute(NumberParsing.class);
+    }
+
+    public int maxDigits() {
+        return maxDigits;
+    }
+
+    public int maxExponent() {
+        return maxExponent;
+    }
+
+    /**
+     * Whether the current token's number can be read from its characters.
+     * Numeric tokens can, but only from JSON parsers, since binary formats
+     * already hold them as numbers. Strings can if the mapper would convert
+     * them to {@code type} at all; otherwise Jackson reports them.
+     */
+    static boolean readsText(JsonParser p, DeserializationContext ctxt, LogicalType logicalType, Class<?> type) {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return ctxt.findCoercionAction(logicalType, type, CoercionInputShape.String) == CoercionAction.TryConvert;
+        }
+        return p instanceof ParserBase;
+    }
+
+    double parseDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        if (check(ctxt, double.class, chars, offset, length, false) == NOT_DECIMAL) {
+            return ctxt.readValue(p, double.class);
+        }
+        return JavaDoubleParser.parseDouble(chars, offset, length);
+    }
+
+    float parseFloat(JsonParser p, DeserializationContext ctxt) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        if (check(ctxt, float.class, chars, offset, length, false) == NOT_DECIMAL) {
+            return ctxt.readValue(p, float.class);
+        }
+        return JavaFloatParser.parseFloat(chars, offset, length);
+    }
+
+    BigDecimal parseBigDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        if (check(ctxt, BigDecimal.class, chars, offset, length, true) == NOT_DECIMAL) {
+            return ctxt.readValue(p, BigDecimal.class);
+        }
+        return JavaBigDecimalParser.parseBigDecimal(chars, offset, length);
+    }
+
+    BigInteger parseBigInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        if (check(ctxt, BigInteger.class, chars, offset, length, true) != INTEGER) {
+            // Fractions and exponents convert, or fail, as Jackson decides.
+            return ctxt.readValue(p, BigInteger.class);
+        }
+        return JavaBigIntegerParser.parseBigInteger(chars, offset, length);
+    }
+
+    /**
+     * Classifies the characters as an integer, a decimal with a fraction or
+     * exponent, or something else, and reports numbers over the limits.
+     * Decimal syntax here is what {@code BigDecimal} accepts: an optional
+     * sign, digits with an optional point, and an optional exponent.
+     */
+    private int check(DeserializationContext ctxt, Class<?> type, char[] chars, int offset, int length,
+                      boolean limitExponent) throws IOException {
+        int end = offset + length;
+        int i = offset;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            i++;
+        }
+        long digits = 0;
+        long fractionDigits = 0;
+        boolean anyDigit = false;
+        boolean integer = true;
+        for (; i < end && isDigit(chars[i]); i++) {
+            anyDigit = true;
+            if (digits > 0 || chars[i] != '0') {
+                digits++;
+            }
+        }
+        if (i < end && chars[i] == '.') {
+            integer = false;
+            for (i++; i < end && isDigit(chars[i]); i++) {
+                anyDigit = true;
+                fractionDigits++;
+                if (digits > 0 || chars[i] != '0') {
+                    digits++;
+                }
+            }
+        }
+        long exponent = 0;
+        if (anyDigit && i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            integer = false;
+            i++;
+            boolean negative = i < end && chars[i] == '-';
+            if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+                i++;
+            }
+            int start = i;
+            for (; i < end && isDigit(chars[i]); i++) {
+                exponent = Math.min(exponent * 10 + (chars[i] - '0'), Integer.MAX_VALUE);
+            }
+            if (i == start) {
+                anyDigit = false;
+            }
+            exponent = negative ? -exponent : exponent;
+        }
+        if (!anyDigit || i != end) {
+            if (length > maxDigits) {
+                return ctxt.reportInputMismatch(type, "Number text of %d characters is longer than the limit of %d",
+                        length, maxDigits);
+            }
+            return NOT_DECIMAL;
+        }
+        if (digits > maxDigits) {
+            return ctxt.reportInputMismatch(type, "Number has %d significant digits, more than the limit of %d",
+                    digits, maxDigits);
+        }
+        if (limitExponent && Math.abs(exponent - fractionDigits) > maxExponent) {
+            return ctxt.reportInputMismatch(type, "Number exponent %d is outside the limit of +/-%d",
+                    exponent - fractionDigits, maxExponent);
+        }
+        return integer ? INTEGER : DECIMAL;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,75 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.folley.model.Product;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link Product}s straight from a {@link JsonParser}, the counterpart
+ * of {@link ProductJsonWriter} for bulk input.
+ */
+public final class ProductJsonReader {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private ProductJsonReader() {
+    }
+
+    public static JsonParser createParser(byte[] data, int offset, int length) throws IOException {
+        return FACTORY.createParser(data, offset, length);
+    }
+
+    /**
+     * Reads one product object starting at the parser's next token. Unknown
+     * properties are skipped, and {@code version} is ignored because versions
+     * are assigned by the repository.
+     *
+     * @throws JsonParseException if the input is not a product object
+     */
+    public static Product read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object");
+        }
+        Product product = new Product();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> product.setId(value == JsonToken.VALUE_NULL ? null : readLong(parser, value));
+                case "name" -> product.setName(readString(parser, value));
+                case "price" -> product.setPrice(value == JsonToken.VALUE_NULL ? null : readDouble(parser, value));
+                case "description" -> product.setDescription(readString(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        return product;
+    }
+
+    private static long readLong(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+            throw new JsonParseException(parser, "Expected an integer for \"" + parser.currentName() + "\"");
+        }
+        return parser.getLongValue();
+    }
+
+    private static double readDouble(JsonParser parser, JsonToken token) throws IOException {
+        if (!token.isNumeric()) {
+            throw new JsonParseException(parser, "Expected a number for \"" + parser.currentName() + "\"");
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(parser, "Expected a string for \"" + parser.currentName() + "\"");
+        }
+        return parser.getText();
+    }
+}
@@ -0,0 +1,98 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.folley.model.Product;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes {@link Product}s straight to a {@link JsonGenerator}, bypassing
+ * databind so large exports need no intermediate object graph.
+ */
+public final class ProductJsonWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactoryBuilder()
+            .rootValueSeparator((String) null)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private ProductJsonWriter() {
+    }
+
+    /**
+     * Creates a UTF-8 generator that leaves {@code out} open when closed.
+     */
+    public static JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return FACTORY.createGenerator(out);
+    }
+
+    /**
+     * Writes one product as a JSON object with the same property names and
+     * order as Jackson's bean serializer.
+     */
+    public static void write(JsonGenerator generator, Product product) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("id");
+        if (product.getId() != null) {
+            generator.writeNumber(product.getId());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeStringField("name", product.getName());
+        generator.writeFieldName("price");
+        if (product.getPrice() != null) {
+            generator.writeNumber(product.getPrice());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeStringField("description", product.getDescription());
+        generator.writeFieldName("version");
+        if (product.getVersion() != null) {
+            generator.writeNumber(product.getVersion());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a multi-get result as {@code {"products":[...],"missing":[...]}}
+     * with a single generator.
+     */
+    public static void writeLookup(OutputStream out, List<Product> products, long[] missing) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("products");
+            for (Product product : products) {
+                write(generator, product);
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("missing");
+            generator.writeArray(missing, 0, missing.length);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes each product as one line of newline-delimited JSON, reusing a
+     * single generator so memory stays constant regardless of catalog size.
+     *
+     * @return the number of products written
+     */
+    public static long writeNdjson(OutputStream out, Iterable<Product> products) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = createGenerator(out)) {
+            for (Product product : products) {
+                write(generator, product);
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
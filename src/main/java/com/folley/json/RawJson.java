@@ -0,0 +1,151 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A slice of UTF-8 encoded JSON to be written verbatim. Wrapped in a
+ * {@link RawValue} it can be placed anywhere in a response and is copied
+ * byte for byte into the generator's buffer, without being decoded to a
+ * {@code String} and encoded again. The bytes are not copied or validated
+ * and must not change while the value is in use.
+ */
+public final class RawJson implements SerializableString {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private String text;
+
+    public RawJson(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Wraps the JSON document in {@code body} as a raw value, or returns null
+     * if the body is not UTF-8 and so cannot be copied into a UTF-8 response
+     * as is. A leading byte order mark is skipped.
+     */
+    public static RawValue utf8Value(byte[] body) {
+        if (body.length >= 2 && (body[0] == 0 || body[1] == 0 || (body[0] & 0xFE) == 0xFE)) {
+            return null;
+        }
+        int start = body.length >= 3 && (body[0] & 0xFF) == 0xEF && (body[1] & 0xFF) == 0xBB
+                && (body[2] & 0xFF) == 0xBF ? 3 : 0;
+        return new RawValue(new RawJson(body, start, body.length - start));
+    }
+
+    @Override
+    public String getValue() {
+        if (text == null) {
+            text = new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return JsonStringEncoder.getInstance().quoteAsString(getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        byte[] copy = new byte[length];
+        System.arraycopy(bytes, offset, copy, 0, length);
+        return copy;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        byte[] quoted = asQuotedUTF8();
+        return append(quoted, 0, quoted.length, buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        char[] quoted = asQuotedChars();
+        if (offset + quoted.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+        return quoted.length;
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        return append(bytes, this.offset, length, buffer, offset);
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        String value = getValue();
+        if (offset + value.length() > buffer.length) {
+            return -1;
+        }
+        value.getChars(0, value.length(), buffer, offset);
+        return value.length();
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        byte[] quoted = asQuotedUTF8();
+        out.write(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(bytes, offset, length);
+        return length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        byte[] quoted = asQuotedUTF8();
+        if (quoted.length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        if (length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(bytes, offset, length);
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private static int append(byte[] source, int from, int count, byte[] buffer, int offset) {
+        if (offset + count > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(source, from, buffer, offset, count);
+        return count;
+    }
+}
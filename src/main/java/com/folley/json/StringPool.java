@@ -0,0 +1,112 @@
+package com.folley.json;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A bounded, lock-free pool of canonical strings for values drawn from a
+ * small vocabulary, such as city or country names.
+ *
+ * The pool is a hash table of four-way buckets. A lookup hashes the
+ * characters in place, so a value already in the pool is returned without
+ * allocating a {@code String}. On a miss the new string replaces an empty
+ * or random slot of its bucket, so memory stays bounded and values that
+ * stop recurring are eventually evicted. Concurrent misses may race and
+ * briefly produce two copies of a value; that costs a duplicate, never a
+ * wrong result. Values longer than {@link #MAX_LENGTH} are not pooled.
+ */
+public final class StringPool {
+
+    static final int MAX_LENGTH = 64;
+
+    private static final int WAYS = 4;
+
+    // Plain array: strings are immutable, so a racy read sees either null or a complete value.
+    private final String[] slots;
+    private final int bucketMask;
+
+    /**
+     * @param capacity maximum number of pooled strings, rounded up to a power of two
+     */
+    public StringPool(int capacity) {
+        int size = Integer.highestOneBit(Math.max(WAYS, capacity - 1) << 1);
+        this.slots = new String[size];
+        this.bucketMask = size / WAYS - 1;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * The pooled string equal to {@code length} characters of {@code chars}
+     * starting at {@code offset}, adding one if there is none.
+     */
+    public String intern(char[] chars, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int bucket = bucket(hash);
+        for (int i = bucket; i < bucket + WAYS; i++) {
+            String candidate = slots[i];
+            if (candidate != null && matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+        }
+        return add(bucket, new String(chars, offset, length));
+    }
+
+    /**
+     * The pooled string equal to {@code value}, adding {@code value} if there
+     * is none.
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int bucket = bucket(value.hashCode());
+        for (int i = bucket; i < bucket + WAYS; i++) {
+            String candidate = slots[i];
+            if (value.equals(candidate)) {
+                return candidate;
+            }
+        }
+        return add(bucket, value);
+    }
+
+    private String add(int bucket, String value) {
+        int victim = bucket;
+        while (victim < bucket + WAYS && slots[victim] != null) {
+            victim++;
+        }
+        if (victim == bucket + WAYS) {
+            victim = bucket + ThreadLocalRandom.current().nextInt(WAYS);
+        }
+        slots[victim] = value;
+        return value;
+    }
+
+    /**
+     * The first slot of the bucket for a value's {@code String.hashCode},
+     * which {@link #intern(char[], int, int)} computes from the characters.
+     */
+    private int bucket(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return ((spread ^ (spread >>> 16)) & bucketMask) * WAYS;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.folley.json;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+/**
+ * A bounded, lock-free cache of resolved {@link ZoneId}s, looked up by the
+ * characters of their id.
+ *
+ * {@code ZoneId.of} validates the id, consults the zone rules provider and
+ * allocates a new region on every call, which dominates parsing of a
+ * {@code ZonedDateTime} such as {@code ...-05:00[America/Chicago]}. A region
+ * carries its {@code ZoneRules}, so a hit here skips all of that and
+ * allocates nothing. The table is direct-mapped: a new id replaces whatever
+ * shared its slot, so memory stays bounded whatever ids are sent. Ids that
+ * do not resolve, or resolve to a zone with a different id, are not cached.
+ */
+public final class ZoneIdCache {
+
+    // Plain array: ZoneIds are immutable, so a racy read sees either null or a complete value.
+    private final ZoneId[] slots;
+    private final int mask;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public ZoneIdCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1) << 1);
+        this.slots = new ZoneId[size];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * The zone whose id is {@code length} characters of {@code chars} from
+     * {@code offset}, or null if there is no such zone.
+     */
+    public ZoneId get(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int spread = hash * 0x9E3779B9;
+        int slot = (spread ^ (spread >>> 16)) & mask;
+        ZoneId cached = slots[slot];
+        if (cached != null && matches(cached.getId(), chars, offset, length)) {
+            return cached;
+        }
+        String id = new String(chars, offset, length);
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(id);
+        } catch (DateTimeException e) {
+            return null;
+        }
+        if (!zone.getId().equals(id)) {
+            return null;
+        }
+        slots[slot] = zone;
+        return zone;
+    }
+
+    private static boolean matches(String id, char[] chars, int offset, int length) {
+        if (id.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (id.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
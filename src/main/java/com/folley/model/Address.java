@@ -1,5 +1,8 @@
 package com.folley.model;
 
+import com.folley.codegen.JsonCodec;
+
+@JsonCodec
 public class Address {
     private String street;
     private String city;
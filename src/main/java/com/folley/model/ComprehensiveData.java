@@ -1,5 +1,10 @@
 package com.folley.model;
 
+import com.folley.codegen.JsonCodec;
+import com.folley.collections.IntHashSet;
+import com.folley.collections.IntList;
+import com.folley.json.LazyJsonObject;
+
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
@@ -8,10 +13,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
+@JsonCodec
 public class ComprehensiveData {
 
     // Primitive wrapper types
@@ -50,12 +54,12 @@ public class ComprehensiveData {
     // Arrays
     private String[] stringArray;
     private int[] intArray;
-    private Integer[] integerArray;
+    private IntList integerArray;
 
     // Collections
     private List<String> stringList;
-    private Set<Integer> integerSet;
-    private Map<String, Object> metadata;
+    private IntHashSet integerSet;
+    private LazyJsonObject metadata;
     private List<Address> addresses;
 
     // Null value representation
@@ -234,11 +238,11 @@ public class ComprehensiveData {
         this.intArray = intArray;
     }
 
-    public Integer[] getIntegerArray() {
+    public IntList getIntegerArray() {
         return integerArray;
     }
 
-    public void setIntegerArray(Integer[] integerArray) {
+    public void setIntegerArray(IntList integerArray) {
         this.integerArray = integerArray;
     }
 
@@ -250,19 +254,19 @@ public class ComprehensiveData {
         this.stringList = stringList;
     }
 
-    public Set<Integer> getIntegerSet() {
+    public IntHashSet getIntegerSet() {
         return integerSet;
     }
 
-    public void setIntegerSet(Set<Integer> integerSet) {
+    public void setIntegerSet(IntHashSet integerSet) {
         this.integerSet = integerSet;
     }
 
-    public Map<String, Object> getMetadata() {
+    public LazyJsonObject getMetadata() {
         return metadata;
     }
 
-    public void setMetadata(Map<String, Object> metadata) {
+    public void setMetadata(LazyJsonObject metadata) {
         this.metadata = metadata;
     }
 
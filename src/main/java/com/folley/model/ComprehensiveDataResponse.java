@@ -0,0 +1,20 @@
+package com.folley.model;
+
+/**
+ * Response to {@code POST /api/data/comprehensive}.
+ *
+ * @param received always true
+ * @param message  human-readable status
+ * @param summary  values echoed back from the parsed request
+ * @param fullData the request document, either the parsed {@link ComprehensiveData}
+ *                 or the raw request body
+ */
+public record ComprehensiveDataResponse(boolean received, String message,
+                                        ComprehensiveDataSummary summary, Object fullData) {
+
+    public static final String MESSAGE = "Successfully processed comprehensive data with all datatypes";
+
+    public static ComprehensiveDataResponse of(ComprehensiveData data, Object fullData) {
+        return new ComprehensiveDataResponse(true, MESSAGE, ComprehensiveDataSummary.of(data), fullData);
+    }
+}
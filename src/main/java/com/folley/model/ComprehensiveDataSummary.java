@@ -0,0 +1,76 @@
+package com.folley.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * The scalar values of a {@link ComprehensiveData} echoed back to confirm
+ * deserialization, with arrays and collections reduced to their sizes (0 when
+ * absent). Serialized in component order.
+ */
+public record ComprehensiveDataSummary(
+        Byte byteValue,
+        Short shortValue,
+        Integer integerValue,
+        Long longValue,
+        Float floatValue,
+        Double doubleValue,
+        Boolean booleanValue,
+        Character characterValue,
+        String stringValue,
+        BigDecimal bigDecimalValue,
+        BigInteger bigIntegerValue,
+        UUID uuidValue,
+        LocalDate localDate,
+        LocalTime localTime,
+        LocalDateTime localDateTime,
+        ZonedDateTime zonedDateTime,
+        Instant instant,
+        Status status,
+        Address address,
+        int stringArrayLength,
+        int intArrayLength,
+        int integerArrayLength,
+        int stringListSize,
+        int integerSetSize,
+        int metadataSize,
+        int addressesSize,
+        String nullableField) {
+
+    public static ComprehensiveDataSummary of(ComprehensiveData data) {
+        return new ComprehensiveDataSummary(
+                data.getByteValue(),
+                data.getShortValue(),
+                data.getIntegerValue(),
+                data.getLongValue(),
+                data.getFloatValue(),
+                data.getDoubleValue(),
+                data.getBooleanValue(),
+                data.getCharacterValue(),
+                data.getStringValue(),
+                data.getBigDecimalValue(),
+                data.getBigIntegerValue(),
+                data.getUuidValue(),
+                data.getLocalDate(),
+                data.getLocalTime(),
+                data.getLocalDateTime(),
+                data.getZonedDateTime(),
+                data.getInstant(),
+                data.getStatus(),
+                data.getAddress(),
+                data.getStringArray() != null ? data.getStringArray().length : 0,
+                data.getIntArray() != null ? data.getIntArray().length : 0,
+                data.getIntegerArray() != null ? data.getIntegerArray().size() : 0,
+                data.getStringList() != null ? data.getStringList().size() : 0,
+                data.getIntegerSet() != null ? data.getIntegerSet().size() : 0,
+                data.getMetadata() != null ? data.getMetadata().size() : 0,
+                data.getAddresses() != null ? data.getAddresses().size() : 0,
+                data.getNullableField());
+    }
+}
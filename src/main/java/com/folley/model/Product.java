@@ -1,10 +1,14 @@
 package com.folley.model;
 
+import com.folley.codegen.JsonCodec;
+
+@JsonCodec
 public class Product {
     private Long id;
     private String name;
     private Double price;
     private String description;
+    private Long version;
 
     public Product() {
     }
@@ -47,4 +51,16 @@ public class Product {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    /**
+     * Catalog version at which this product was last written. Assigned by the
+     * repository; any value sent by clients is ignored.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
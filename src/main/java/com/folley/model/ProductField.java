@@ -0,0 +1,75 @@
+package com.folley.model;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Serializable properties of {@link Product}, used to project responses down to
+ * the fields a client asked for.
+ */
+public enum ProductField {
+    ID("id", Product::getId),
+    NAME("name", Product::getName),
+    PRICE("price", Product::getPrice),
+    DESCRIPTION("description", Product::getDescription),
+    VERSION("version", Product::getVersion);
+
+    private final String jsonName;
+    private final Function<Product, Object> accessor;
+
+    ProductField(String jsonName, Function<Product, Object> accessor) {
+        this.jsonName = jsonName;
+        this.accessor = accessor;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public Object valueOf(Product product) {
+        return accessor.apply(product);
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code "id,price"}.
+     *
+     * @throws IllegalArgumentException if a name does not match any field
+     */
+    public static Set<ProductField> parse(String fields) {
+        EnumSet<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(trimmed));
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected");
+        }
+        return selected;
+    }
+
+    public static ProductField fromJsonName(String name) {
+        for (ProductField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + name);
+    }
+
+    /**
+     * Copies the selected fields of {@code product}, in declaration order.
+     */
+    public static Map<String, Object> project(Product product, Set<ProductField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>(fields.size() * 2);
+        for (ProductField field : fields) {
+            projected.put(field.jsonName, field.valueOf(product));
+        }
+        return projected;
+    }
+}
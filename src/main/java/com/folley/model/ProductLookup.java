@@ -0,0 +1,12 @@
+package com.folley.model;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get.
+ *
+ * @param products the products found, in request order
+ * @param missing  the requested ids that have no product
+ */
+public record ProductLookup(List<Product> products, long[] missing) {
+}
@@ -0,0 +1,77 @@
+package com.folley.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A single create, update or delete in a product batch request.
+ */
+public class ProductOperation {
+
+    public enum Type {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+
+    /**
+     * What happened to an operation when its batch was applied.
+     */
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        INVALID,
+        /** A create whose id is already taken. */
+        CONFLICT,
+        /** Valid on its own, but skipped because another operation in an atomic batch failed. */
+        ABORTED
+    }
+
+    private Type op;
+    private Long id;
+    private Product product;
+
+    public ProductOperation() {
+    }
+
+    public ProductOperation(Type op, Long id, Product product) {
+        this.op = op;
+        this.id = id;
+        this.product = product;
+    }
+
+    public Type getOp() {
+        return op;
+    }
+
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    /**
+     * The id this operation targets: the product's own id for creates, and the
+     * explicit {@code id} (falling back to the product's id) for updates and
+     * deletes.
+     */
+    public Long targetId() {
+        if (op != Type.CREATE && id != null) {
+            return id;
+        }
+        return product != null ? product.getId() : null;
+    }
+}
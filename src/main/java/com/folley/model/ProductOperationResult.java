@@ -0,0 +1,12 @@
+package com.folley.model;
+
+/**
+ * Per-operation result of a product batch request.
+ *
+ * @param index  position of the operation in the request
+ * @param op     the operation type, or null if the request omitted it
+ * @param id     the product id the operation targeted, if any
+ * @param status HTTP status the operation would have produced as a single request
+ */
+public record ProductOperationResult(int index, ProductOperation.Type op, Long id, int status) {
+}
@@ -0,0 +1,12 @@
+package com.folley.model;
+
+import java.util.List;
+
+/**
+ * One page of products from a keyset-paginated listing.
+ *
+ * @param items      the products on this page, possibly projected to a subset of fields
+ * @param nextCursor opaque cursor for the following page, or null on the last page
+ */
+public record ProductPage(List<?> items, String nextCursor) {
+}
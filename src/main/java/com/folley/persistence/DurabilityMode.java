@@ -0,0 +1,19 @@
+package com.folley.persistence;
+
+/**
+ * When a product write is considered durable relative to the response.
+ */
+public enum DurabilityMode {
+    /** Every write is fsynced on its own before it returns. */
+    PER_WRITE,
+    /**
+     * Writers wait for a group commit: one fsync covers every record appended
+     * while the previous fsync was in progress.
+     */
+    BATCHED,
+    /**
+     * Writers return once the record reaches the OS; the log is fsynced on a
+     * fixed interval, so a machine crash can lose that interval's writes.
+     */
+    ASYNC
+}
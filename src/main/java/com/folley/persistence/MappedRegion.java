@@ -0,0 +1,62 @@
+package com.folley.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Sequential read access to a file of any size through memory-mapped
+ * windows, so no single mapping has to cover the whole file or fit the
+ * {@code int} positions of a buffer. Windows are remapped only when a read
+ * leaves the current one.
+ */
+final class MappedRegion {
+
+    static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private final int window;
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+
+    /**
+     * @param end    the file position reads must stay below
+     * @param window the usual size of a mapping; larger ones are made for reads that need them
+     */
+    MappedRegion(FileChannel channel, long end, int window) {
+        this.channel = channel;
+        this.end = end;
+        this.window = window;
+    }
+
+    /**
+     * A buffer whose position corresponds to file position {@code position},
+     * with at least {@code bytes} remaining, or everything up to the end of
+     * the region if that is less.
+     */
+    ByteBuffer map(long position, int bytes) throws IOException {
+        long available = end - position;
+        long needed = Math.min(bytes, available);
+        if (mapped == null || position < mappedStart || position + needed > mappedStart + mapped.limit()) {
+            long length = Math.min(available, Math.max(window, bytes));
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            mappedStart = position;
+        }
+        mapped.position((int) (position - mappedStart));
+        return mapped;
+    }
+
+    /**
+     * The file position of {@code buffer}, which must be the last one
+     * returned by {@link #map(long, int)}.
+     */
+    long positionOf(ByteBuffer buffer) {
+        return mappedStart + buffer.position();
+    }
+
+    long end() {
+        return end;
+    }
+}
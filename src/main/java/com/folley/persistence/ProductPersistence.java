@@ -0,0 +1,164 @@
+package com.folley.persistence;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductJournal;
+import com.folley.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes the product catalog survive restarts.
+ *
+ * On startup the newest snapshot is memory-mapped and loaded, then the
+ * write-ahead log tail after it is replayed. From then on every repository
+ * change is appended to the log, and made durable as the
+ * {@link DurabilityMode} requires, before it is applied to the store; once
+ * the log has failed, writes are refused and the store stays as it was. A
+ * compacted snapshot is taken on a fixed interval, after which the log
+ * segments and snapshots it supersedes are deleted.
+ *
+ * Snapshots are fuzzy: the log is rolled first and the store is then scanned
+ * while writes continue. The roll waits for writes that are journaled but
+ * not yet applied, so every record up to the roll point is in the store
+ * before the scan starts and the segments holding them can be deleted. Log
+ * records are full after-images, so replaying everything after the roll
+ * point restores the exact state regardless of which later writes the scan
+ * happened to see.
+ *
+ * Persistence is disabled when no directory is configured.
+ */
+@Component
+public class ProductPersistence implements ProductJournal, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPersistence.class);
+
+    static final long DEFAULT_SEGMENT_BYTES = 256L * 1024 * 1024;
+
+    private final ProductRepository repository;
+    private final Path directory;
+    private final WriteAheadLog log;
+    private final ScheduledExecutorService snapshotScheduler;
+    private long snapshotLsn;
+
+    public ProductPersistence(ProductRepository repository,
+                              @Value("${folley.products.wal.directory:}") String directory,
+                              @Value("${folley.products.wal.durability:batched}") String durability,
+                              @Value("${folley.products.wal.flush-interval-ms:10}") long flushIntervalMillis,
+                              @Value("${folley.products.wal.segment-bytes:268435456}") long segmentBytes,
+                              @Value("${folley.products.snapshot.interval-seconds:300}") long snapshotIntervalSeconds)
+            throws IOException {
+        this(repository, directory.isBlank() ? null : Path.of(directory),
+                DurabilityMode.valueOf(durability.trim().toUpperCase(Locale.ROOT).replace('-', '_')),
+                flushIntervalMillis, segmentBytes, snapshotIntervalSeconds);
+    }
+
+    ProductPersistence(ProductRepository repository, Path directory, DurabilityMode durability,
+                       long flushIntervalMillis, long snapshotIntervalSeconds) throws IOException {
+        this(repository, directory, durability, flushIntervalMillis, DEFAULT_SEGMENT_BYTES, snapshotIntervalSeconds);
+    }
+
+    ProductPersistence(ProductRepository repository, Path directory, DurabilityMode durability,
+                       long flushIntervalMillis, long segmentBytes, long snapshotIntervalSeconds) throws IOException {
+        this.repository = repository;
+        this.directory = directory;
+        if (directory == null) {
+            this.log = null;
+            this.snapshotScheduler = null;
+            return;
+        }
+
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        ProductSnapshots.Header snapshot = ProductSnapshots.loadLatest(directory, repository::restore);
+        repository.advanceVersionTo(snapshot.catalogVersion());
+        this.snapshotLsn = snapshot.lsn();
+        long lastLsn = WriteAheadLog.replay(directory, snapshotLsn, new WriteAheadLog.RecordHandler() {
+            @Override
+            public void put(Product product) {
+                repository.restore(product);
+            }
+
+            @Override
+            public void delete(long id, long version) {
+                repository.restoreDeletion(id, version);
+            }
+        });
+        logger.info("Recovered {} products from {} (snapshot at {}, log through {}) in {} ms",
+                repository.count(), directory, snapshotLsn, lastLsn,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        this.log = new WriteAheadLog(directory, durability, flushIntervalMillis, segmentBytes, lastLsn);
+        repository.setJournal(this);
+
+        if (snapshotIntervalSeconds > 0) {
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "product-snapshots");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.snapshotScheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return log != null;
+    }
+
+    @Override
+    public void record(long id, Product current, long version) {
+        long lsn = current != null ? log.appendPut(current) : log.appendDelete(id, version);
+        log.awaitDurable(lsn);
+    }
+
+    /**
+     * Writes a snapshot of the current catalog, unless nothing has changed
+     * since the last one, and drops the log segments and older snapshots it
+     * makes redundant.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (log == null || log.lastLsn() == snapshotLsn) {
+            return;
+        }
+        // A write is journaled before it is applied; rolling while writes are
+        // paused keeps a record at or below lsn from missing the scan.
+        long lsn = repository.whileWritesPaused(log::roll);
+        ProductSnapshots.write(directory, lsn, repository.scanAll(), repository::catalogVersion);
+        log.truncateThrough(lsn);
+        ProductSnapshots.deleteOlderThan(directory, lsn);
+        snapshotLsn = lsn;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        if (log != null) {
+            synchronized (this) {
+                log.close();
+            }
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Keep the schedule alive; the log still holds everything since the last snapshot.
+            logger.error("Product snapshot failed", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.folley.persistence;
+
+import com.folley.model.Product;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of products shared by the write-ahead log and snapshots.
+ *
+ * Layout: {@code long id, long version, byte flags, [double price],
+ * [int length, UTF-8 name], [int length, UTF-8 description]}, where bracketed parts are present only
+ * when the matching flag is set.
+ */
+final class ProductRecords {
+
+    private static final byte HAS_PRICE = 1;
+    private static final byte HAS_NAME = 1 << 1;
+    private static final byte HAS_DESCRIPTION = 1 << 2;
+
+    private ProductRecords() {
+    }
+
+    static int encodedSize(Product product, byte[] name, byte[] description) {
+        return 2 * Long.BYTES + 1
+                + (product.getPrice() != null ? Double.BYTES : 0)
+                + (name != null ? Integer.BYTES + name.length : 0)
+                + (description != null ? Integer.BYTES + description.length : 0);
+    }
+
+    static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Writes a product whose text has already been encoded with {@link #utf8(String)}.
+     */
+    static void write(ByteBuffer buffer, Product product, byte[] name, byte[] description) {
+        byte flags = 0;
+        if (product.getPrice() != null) {
+            flags |= HAS_PRICE;
+        }
+        if (name != null) {
+            flags |= HAS_NAME;
+        }
+        if (description != null) {
+            flags |= HAS_DESCRIPTION;
+        }
+        buffer.putLong(product.getId());
+        buffer.putLong(product.getVersion() != null ? product.getVersion() : 0);
+        buffer.put(flags);
+        if (product.getPrice() != null) {
+            buffer.putDouble(product.getPrice());
+        }
+        if (name != null) {
+            buffer.putInt(name.length).put(name);
+        }
+        if (description != null) {
+            buffer.putInt(description.length).put(description);
+        }
+    }
+
+    /**
+     * @throws BufferUnderflowException if the buffer ends mid-record
+     */
+    static Product read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        byte flags = buffer.get();
+        Double price = (flags & HAS_PRICE) != 0 ? buffer.getDouble() : null;
+        String name = (flags & HAS_NAME) != 0 ? readString(buffer) : null;
+        String description = (flags & HAS_DESCRIPTION) != 0 ? readString(buffer) : null;
+        Product product = new Product(id, name, price, description);
+        product.setVersion(version);
+        return product;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
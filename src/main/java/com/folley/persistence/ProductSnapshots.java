@@ -0,0 +1,215 @@
+package com.folley.persistence;
+
+import com.folley.model.Product;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Compacted point-in-time images of the catalog, named by the last log
+ * sequence number they cover.
+ *
+ * Layout: {@code long magic, int version, long lsn, long catalogVersion,
+ * long count}, then
+ * {@code count} product records, then an {@code int} CRC32C of the records.
+ * Snapshots are written to a temporary file, fsynced and atomically renamed,
+ * so a crash mid-write never leaves a partial snapshot behind.
+ */
+final class ProductSnapshots {
+
+    private static final long MAGIC = 0x464F4C4C534E4150L; // "FOLLSNAP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES + 3 * Long.BYTES;
+    private static final int CATALOG_VERSION_OFFSET = Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int COUNT_OFFSET = CATALOG_VERSION_OFFSET + Long.BYTES;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private ProductSnapshots() {
+    }
+
+    /**
+     * Position a snapshot covers: the last log sequence number and the catalog
+     * version recorded once all of its products had been written.
+     */
+    record Header(long lsn, long catalogVersion) {
+    }
+
+    /**
+     * Writes every product in {@code products} as the snapshot for {@code lsn}.
+     * {@code catalogVersion} is read after the scan, so it is at least the
+     * version of every change the snapshot saw, deletes included.
+     */
+    static Path write(Path directory, long lsn, Iterable<Product> products, LongSupplier catalogVersion)
+            throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+            buffer.putLong(MAGIC).putInt(VERSION).putLong(lsn).putLong(0).putLong(0);
+            int recordsStart = buffer.position();
+            for (Product product : products) {
+                byte[] name = ProductRecords.utf8(product.getName());
+                byte[] description = ProductRecords.utf8(product.getDescription());
+                int size = ProductRecords.encodedSize(product, name, description);
+                if (buffer.remaining() < size) {
+                    recordsStart = drain(channel, buffer, recordsStart, crc);
+                    if (buffer.capacity() < size) {
+                        buffer = ByteBuffer.allocate(size);
+                    }
+                }
+                ProductRecords.write(buffer, product, name, description);
+                count++;
+            }
+            drain(channel, buffer, recordsStart, crc);
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, (int) crc.getValue()));
+            channel.write(ByteBuffer.allocate(2 * Long.BYTES).putLong(0, catalogVersion.getAsLong()).putLong(8, count),
+                    CATALOG_VERSION_OFFSET);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+        return target;
+    }
+
+    /**
+     * Memory-maps the newest snapshot in {@code directory}, a window at a
+     * time, and hands each of its products to {@code sink}. The checksum is
+     * verified before any product is handed over.
+     *
+     * @return the position the snapshot covers, or zeros if there is none
+     * @throws IOException if the newest snapshot is corrupt
+     */
+    static Header loadLatest(Path directory, Consumer<Product> sink) throws IOException {
+        return loadLatest(directory, sink, MappedRegion.DEFAULT_WINDOW);
+    }
+
+    static Header loadLatest(Path directory, Consumer<Product> sink, int window) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        if (snapshots.isEmpty()) {
+            return new Header(0, 0);
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(latest, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES) {
+                throw new IOException("Snapshot has an unsupported size: " + latest);
+            }
+            long recordsEnd = size - Integer.BYTES;
+            ByteBuffer header = new MappedRegion(channel, size, HEADER_BYTES).map(0, HEADER_BYTES);
+            if (header.getLong() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a product snapshot: " + latest);
+            }
+            long lsn = header.getLong();
+            long catalogVersion = header.getLong();
+            long count = header.getLong();
+
+            MappedRegion records = new MappedRegion(channel, recordsEnd, window);
+            CRC32C crc = new CRC32C();
+            for (long position = HEADER_BYTES; position < recordsEnd; ) {
+                ByteBuffer chunk = records.map(position, 1);
+                position += chunk.remaining();
+                crc.update(chunk);
+            }
+            int expectedCrc = new MappedRegion(channel, size, Integer.BYTES).map(recordsEnd, Integer.BYTES).getInt();
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Snapshot checksum mismatch: " + latest);
+            }
+
+            long position = HEADER_BYTES;
+            int wanted = 1;
+            for (long i = 0; i < count; ) {
+                ByteBuffer data = records.map(position, wanted);
+                int start = data.position();
+                Product product;
+                try {
+                    product = ProductRecords.read(data);
+                } catch (BufferUnderflowException e) {
+                    // The record runs past this window: map a larger one from its start.
+                    long mapped = data.limit() - start;
+                    if (mapped >= recordsEnd - position || mapped >= Integer.MAX_VALUE) {
+                        throw new IOException("Snapshot ends mid-record: " + latest);
+                    }
+                    wanted = (int) Math.min(Integer.MAX_VALUE, mapped * 2);
+                    continue;
+                }
+                position = records.positionOf(data);
+                wanted = 1;
+                sink.accept(product);
+                i++;
+            }
+            return new Header(lsn, catalogVersion);
+        }
+    }
+
+    /**
+     * Deletes snapshots older than the one for {@code lsn}, plus any temporary
+     * files left by an interrupted write.
+     */
+    static void deleteOlderThan(Path directory, long lsn) throws IOException {
+        for (Path snapshot : snapshots(directory)) {
+            if (lsnOf(snapshot) < lsn) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path temp : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX + ".tmp")).toList()) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(lsnOf(a), lsnOf(b)))
+                    .toList();
+        }
+    }
+
+    private static long lsnOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Writes out buffered records, folding them into the checksum.
+     *
+     * @return the position records start at in the emptied buffer
+     */
+    private static int drain(FileChannel channel, ByteBuffer buffer, int recordsStart, CRC32C crc) throws IOException {
+        crc.update(buffer.array(), recordsStart, buffer.position() - recordsStart);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return 0;
+    }
+
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can fsync a directory; the rename is still atomic.
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.folley.persistence;
+
+import com.folley.model.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary log of product mutations, split into segments named by
+ * the sequence number (LSN) of their first record. A new segment is started
+ * at every snapshot and whenever the current one would outgrow its size
+ * limit, so segments stay small enough to map and replay however long the
+ * time between snapshots.
+ *
+ * Each record is framed as {@code int bodyLength, int crc32c(body), body}
+ * where the body is {@code long lsn, byte type, ...}: a full product for puts,
+ * or the id and catalog version for deletes. Appends are serialized and written straight to the
+ * segment's channel; how they are made durable depends on the
+ * {@link DurabilityMode}. A background flusher performs group commits for
+ * {@code BATCHED} mode and interval fsyncs for {@code ASYNC} mode.
+ *
+ * Any I/O failure poisons the log: the store only applies a change once its
+ * record is appended, so the failed write and every later one are refused
+ * until a restart recovers the last durable state.
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final DurabilityMode mode;
+    private final long flushIntervalNanos;
+    private final long segmentBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    private FileChannel segment;
+    private long segmentSize;
+    private long lastLsn;
+    private long durableLsn;
+    private IOException failure;
+    private boolean closed;
+    private final Thread flusher;
+
+    /**
+     * Opens a new segment after {@code lastLsn}, the highest sequence number
+     * already present in {@code directory}.
+     *
+     * @param segmentBytes size a segment may reach; a record that would take it past that starts a new one
+     */
+    WriteAheadLog(Path directory, DurabilityMode mode, long flushIntervalMillis, long segmentBytes, long lastLsn)
+            throws IOException {
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("segmentBytes must be positive: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.mode = mode;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.segmentBytes = segmentBytes;
+        this.lastLsn = lastLsn;
+        this.durableLsn = lastLsn;
+        this.segment = openSegment(lastLsn + 1);
+        if (mode == DurabilityMode.PER_WRITE) {
+            this.flusher = null;
+        } else {
+            this.flusher = new Thread(this::flushLoop, "product-wal-flusher");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        }
+    }
+
+    long appendPut(Product product) {
+        byte[] name = ProductRecords.utf8(product.getName());
+        byte[] description = ProductRecords.utf8(product.getDescription());
+        int bodyLength = Long.BYTES + 1 + ProductRecords.encodedSize(product, name, description);
+        lock.lock();
+        try {
+            ByteBuffer body = startRecord(PUT, bodyLength);
+            ProductRecords.write(body, product, name, description);
+            return finishRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long appendDelete(long id, long version) {
+        lock.lock();
+        try {
+            ByteBuffer body = startRecord(DELETE, Long.BYTES + 1 + 2 * Long.BYTES);
+            body.putLong(id).putLong(version);
+            return finishRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record with sequence number {@code lsn} is on disk.
+     * Returns immediately in {@code PER_WRITE} mode, where appends are already
+     * durable, and in {@code ASYNC} mode, where writers never wait.
+     */
+    void awaitDurable(long lsn) {
+        if (mode != DurabilityMode.BATCHED) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                checkUsable();
+                flushNeeded.signal();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastLsn() {
+        lock.lock();
+        try {
+            return lastLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes everything appended so far durable and starts a new segment.
+     *
+     * @return the last sequence number in the closed segments
+     */
+    long roll() throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            startSegment();
+            return lastLsn;
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes closed segments whose records all have a sequence number at or
+     * below {@code lsn}.
+     */
+    void truncateThrough(long lsn) throws IOException {
+        List<Path> segments = segments(directory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstLsn(segments.get(i + 1)) <= lsn + 1) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signalAll();
+            if (failure == null) {
+                segment.force(false);
+                durableLsn = lastLsn;
+            }
+            segment.close();
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    /**
+     * Replays every intact record with a sequence number above {@code afterLsn},
+     * in order. A torn or corrupt record ends its segment: the tail is cut off
+     * so new appends never follow garbage.
+     *
+     * @return the highest sequence number found in the log, or {@code afterLsn}
+     */
+    static long replay(Path directory, long afterLsn, RecordHandler handler) throws IOException {
+        return replay(directory, afterLsn, handler, MappedRegion.DEFAULT_WINDOW);
+    }
+
+    static long replay(Path directory, long afterLsn, RecordHandler handler, int window) throws IOException {
+        long lastLsn = afterLsn;
+        for (Path path : segments(directory)) {
+            long validBytes = 0;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedRegion data = new MappedRegion(channel, channel.size(), window);
+                CRC32C checksum = new CRC32C();
+                while (data.end() - validBytes >= HEADER_BYTES) {
+                    ByteBuffer header = data.map(validBytes, HEADER_BYTES);
+                    int bodyLength = header.getInt();
+                    int expectedCrc = header.getInt();
+                    long bodyStart = validBytes + HEADER_BYTES;
+                    if (bodyLength < Long.BYTES + 1 || bodyLength > data.end() - bodyStart) {
+                        break;
+                    }
+                    ByteBuffer framed = data.map(bodyStart, bodyLength);
+                    ByteBuffer body = framed.slice(framed.position(), bodyLength);
+                    checksum.reset();
+                    checksum.update(body.duplicate());
+                    if ((int) checksum.getValue() != expectedCrc) {
+                        break;
+                    }
+                    long lsn = body.getLong();
+                    byte type = body.get();
+                    try {
+                        if (lsn > afterLsn) {
+                            if (type == PUT) {
+                                handler.put(ProductRecords.read(body));
+                            } else if (type == DELETE) {
+                                handler.delete(body.getLong(), body.getLong());
+                            }
+                        }
+                    } catch (BufferUnderflowException e) {
+                        break;
+                    }
+                    lastLsn = Math.max(lastLsn, lsn);
+                    validBytes = bodyStart + bodyLength;
+                }
+                if (validBytes < channel.size()) {
+                    channel.truncate(validBytes);
+                }
+            }
+        }
+        return lastLsn;
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .toList());
+            segments.sort((a, b) -> Long.compare(firstLsn(a), firstLsn(b)));
+            return segments;
+        }
+    }
+
+    private static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Forces and closes the current segment and opens the next. Callers hold
+     * the lock.
+     */
+    private void startSegment() throws IOException {
+        segment.force(false);
+        segment.close();
+        durableLsn = lastLsn;
+        flushed.signalAll();
+        segment = openSegment(lastLsn + 1);
+        segmentSize = 0;
+    }
+
+    private FileChannel openSegment(long firstLsn) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private ByteBuffer startRecord(byte type, int bodyLength) {
+        checkUsable();
+        int recordLength = HEADER_BYTES + bodyLength;
+        if (buffer.capacity() < recordLength) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(recordLength) << 1);
+        }
+        buffer.clear().limit(recordLength);
+        buffer.putInt(bodyLength).putInt(0);
+        buffer.putLong(lastLsn + 1).put(type);
+        return buffer;
+    }
+
+    private long finishRecord() {
+        crc.reset();
+        crc.update(buffer.array(), HEADER_BYTES, buffer.limit() - HEADER_BYTES);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        buffer.flip();
+        try {
+            if (segmentSize > 0 && segmentSize + buffer.remaining() > segmentBytes) {
+                startSegment();
+            }
+            segmentSize += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            lastLsn++;
+            if (mode == DurabilityMode.PER_WRITE) {
+                segment.force(false);
+                durableLsn = lastLsn;
+            } else {
+                flushNeeded.signal();
+            }
+            return lastLsn;
+        } catch (IOException e) {
+            failure = e;
+            flushed.signalAll();
+            throw new UncheckedIOException("Write-ahead log append failed", e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            FileChannel channel;
+            long target;
+            lock.lock();
+            try {
+                if (mode == DurabilityMode.ASYNC) {
+                    // Space fsyncs at least one interval apart; only close cuts the wait short.
+                    long remaining = flushIntervalNanos;
+                    while (!closed && remaining > 0) {
+                        remaining = flushNeeded.awaitNanos(remaining);
+                    }
+                }
+                while (!closed && failure == null && durableLsn == lastLsn) {
+                    flushNeeded.await();
+                }
+                if (closed || failure != null) {
+                    return;
+                }
+                channel = segment;
+                target = lastLsn;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // fsync outside the lock so appends keep flowing into the next group.
+            IOException error = null;
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Rolled or closed meanwhile; both force the segment themselves.
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableLsn = Math.max(durableLsn, target);
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log is unusable after an I/O failure", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+
+    /**
+     * Callback for {@link #replay(Path, long, RecordHandler)}.
+     */
+    interface RecordHandler {
+        void put(Product product);
+
+        void delete(long id, long version);
+    }
+}
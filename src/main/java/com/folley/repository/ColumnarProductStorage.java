@@ -0,0 +1,584 @@
+package com.folley.repository;
+
+import com.folley.collections.LongIntHashMap;
+import com.folley.model.Product;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores products column by column in primitive arrays instead of one object
+ * per product: ids and versions in {@code long[]}s, prices in a {@code double[]}, and names
+ * and descriptions as UTF-8 bytes packed into one shared buffer that can live
+ * on or off the Java heap. Ids map to slots through a primitive open-addressing
+ * index, and a sorted {@code long[]} of ids serves ordered scans.
+ *
+ * {@link Product} objects are created only when read, so callers receive a
+ * fresh copy on every lookup. Access is guarded by a read-write lock; text
+ * left behind by updates and deletes is compacted once it makes up half of the
+ * buffer, or sooner if that makes room for a write at the size limit.
+ *
+ * Text offsets are {@code int}s, so live text is limited to just under 2 GiB;
+ * writes that would pass the limit are refused with an
+ * {@link IllegalStateException} and leave the store unchanged. New ids are
+ * appended to the id order unsorted and sorted in once an ordered read needs
+ * them, so loading ids out of order does not shift the array on every insert.
+ * Removed ids likewise stay in the order, skipped by readers, until they
+ * outnumber the live ones and are dropped in one pass.
+ */
+final class ColumnarProductStorage implements ProductStorage {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_TEXT_BYTES = 64 * 1024;
+    /** Largest array, and so text buffer, the JVM reliably allocates. */
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final byte HAS_PRICE = 1;
+    private static final byte HAS_NAME = 1 << 1;
+    private static final byte HAS_DESCRIPTION = 1 << 2;
+    private static final byte HAS_VERSION = 1 << 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean offHeap;
+    private final int maxTextBytes;
+
+    // Per-slot columns
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // Packed UTF-8 text for every live name and description
+    private ByteBuffer text;
+    private int textGarbage;
+
+    // Id lookup and ordering: sortedIds[0, idCount) holds every live id plus
+    // removed ones not yet dropped; [0, sortedCount) is sorted without
+    // duplicates, the rest awaits sorting
+    private final LongIntHashMap slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private long[] sortedIds = new long[INITIAL_CAPACITY];
+    private int idCount;
+    private int sortedCount;
+    private int size;
+
+    ColumnarProductStorage(boolean offHeap) {
+        this(offHeap, MAX_ARRAY_LENGTH);
+    }
+
+    /**
+     * @param maxTextBytes limit on packed text, at most {@link #MAX_ARRAY_LENGTH}
+     */
+    ColumnarProductStorage(boolean offHeap, int maxTextBytes) {
+        this.offHeap = offHeap;
+        this.maxTextBytes = Math.min(maxTextBytes, MAX_ARRAY_LENGTH);
+        this.text = allocateText(Math.min(INITIAL_TEXT_BYTES, this.maxTextBytes));
+    }
+
+    @Override
+    public Product get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot != LongIntHashMap.MISSING ? materialize(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return slotsById.get(id) != LongIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Product put(Product product) {
+        long id = product.getId();
+        byte[] name = product.getName() != null ? product.getName().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] description = product.getDescription() != null
+                ? product.getDescription().getBytes(StandardCharsets.UTF_8)
+                : null;
+        long textBytes = length(name) + length(description);
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            checkRoom(slot, textBytes);
+            Product previous = null;
+            if (slot != LongIntHashMap.MISSING) {
+                previous = materialize(slot);
+                textGarbage += nameLengths[slot] + descriptionLengths[slot];
+                nameLengths[slot] = 0;
+                descriptionLengths[slot] = 0;
+            } else {
+                slot = allocateSlot();
+                slotsById.put(id, slot);
+                insertSorted(id);
+            }
+            reserveText(textBytes);
+            write(slot, product, name, description);
+            compactIfWasteful();
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void checkRoomFor(Product product) {
+        long textBytes = utf8Length(product.getName()) + utf8Length(product.getDescription());
+        lock.readLock().lock();
+        try {
+            checkRoom(slotsById.get(product.getId()), textBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Product remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.remove(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return null;
+            }
+            Product previous = materialize(slot);
+            textGarbage += nameLengths[slot] + descriptionLengths[slot];
+            flags[slot] = 0;
+            nameLengths[slot] = 0;
+            descriptionLengths[slot] = 0;
+            releaseSlot(slot);
+            removeSorted();
+            compactIfWasteful();
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Product> values() {
+        return new OrderedView(Long.MIN_VALUE, true);
+    }
+
+    @Override
+    public Collection<Product> valuesAfter(long id) {
+        return new OrderedView(id, false);
+    }
+
+    @Override
+    public boolean hasIdAfter(long id) {
+        lockSortedForRead();
+        try {
+            return higherIndex(id, false) < idCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the columns, id index and text buffer, whether on or off heap.
+     */
+    long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) ids.length * (2 * Long.BYTES + Double.BYTES + 1 + 4 * Integer.BYTES);
+            long index = (long) sortedIds.length * Long.BYTES + (long) freeSlots.length * Integer.BYTES
+                    + (long) slotsById.capacity() * (Long.BYTES + Integer.BYTES);
+            return columns + index + text.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes of packed text held outside the Java heap, or 0 when text is on heap.
+     */
+    long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return text.isDirect() ? text.capacity() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the first product after {@code from} (or at it, if inclusive) in
+     * id order, located and materialized under one read lock.
+     */
+    private Product firstFrom(long from, boolean inclusive) {
+        lockSortedForRead();
+        try {
+            int index = higherIndex(from, inclusive);
+            return index < idCount ? materialize(slotsById.get(sortedIds[index])) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Takes the read lock with every id in sorted order, sorting pending ids
+     * in under the write lock first if there are any.
+     */
+    private void lockSortedForRead() {
+        lock.readLock().lock();
+        if (sortedCount == idCount) {
+            return;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            sortPending();
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorts the ids appended since the last ordered read and merges them into
+     * the sorted prefix. Removed ids among them are dropped, as are repeats of
+     * an id removed and stored again. Callers must hold the write lock.
+     */
+    private void sortPending() {
+        if (sortedCount == idCount) {
+            return;
+        }
+        Arrays.sort(sortedIds, sortedCount, idCount);
+        int pending = keepLive(sortedCount, idCount);
+        if (sortedCount > 0 && pending > sortedCount && sortedIds[sortedCount - 1] >= sortedIds[sortedCount]) {
+            long[] merged = new long[sortedIds.length];
+            int count = 0;
+            int left = 0;
+            int right = sortedCount;
+            while (left < sortedCount || right < pending) {
+                long id = right == pending || (left < sortedCount && sortedIds[left] < sortedIds[right])
+                        ? sortedIds[left++]
+                        : sortedIds[right++];
+                if ((count == 0 || merged[count - 1] != id) && slotsById.get(id) != LongIntHashMap.MISSING) {
+                    merged[count++] = id;
+                }
+            }
+            sortedIds = merged;
+            pending = count;
+        }
+        idCount = pending;
+        sortedCount = pending;
+    }
+
+    /**
+     * Packs the live ids of the sorted range {@code sortedIds[from, to)} to
+     * its front, once each, and returns where they end.
+     */
+    private int keepLive(int from, int to) {
+        int end = from;
+        for (int i = from; i < to; i++) {
+            long id = sortedIds[i];
+            if ((end == from || sortedIds[end - 1] != id) && slotsById.get(id) != LongIntHashMap.MISSING) {
+                sortedIds[end++] = id;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Index of the first live id after {@code id}, or at it if inclusive, in
+     * the fully sorted order; {@code idCount} if there is none.
+     */
+    private int higherIndex(long id, boolean inclusive) {
+        int index = Arrays.binarySearch(sortedIds, 0, idCount, id);
+        if (index < 0) {
+            index = -index - 1;
+        } else if (!inclusive) {
+            index++;
+        }
+        while (index < idCount && slotsById.get(sortedIds[index]) == LongIntHashMap.MISSING) {
+            index++;
+        }
+        return index;
+    }
+
+    private Product materialize(int slot) {
+        byte slotFlags = flags[slot];
+        Product product = new Product(
+                ids[slot],
+                (slotFlags & HAS_NAME) != 0 ? readText(nameOffsets[slot], nameLengths[slot]) : null,
+                (slotFlags & HAS_PRICE) != 0 ? prices[slot] : null,
+                (slotFlags & HAS_DESCRIPTION) != 0
+                        ? readText(descriptionOffsets[slot], descriptionLengths[slot])
+                        : null);
+        if ((slotFlags & HAS_VERSION) != 0) {
+            product.setVersion(versions[slot]);
+        }
+        return product;
+    }
+
+    private void write(int slot, Product product, byte[] name, byte[] description) {
+        byte slotFlags = 0;
+        ids[slot] = product.getId();
+        if (product.getPrice() != null) {
+            prices[slot] = product.getPrice();
+            slotFlags |= HAS_PRICE;
+        }
+        if (product.getVersion() != null) {
+            versions[slot] = product.getVersion();
+            slotFlags |= HAS_VERSION;
+        }
+        nameLengths[slot] = 0;
+        descriptionLengths[slot] = 0;
+        if (name != null) {
+            nameOffsets[slot] = appendText(name);
+            nameLengths[slot] = name.length;
+            slotFlags |= HAS_NAME;
+        }
+        if (description != null) {
+            descriptionOffsets[slot] = appendText(description);
+            descriptionLengths[slot] = description.length;
+            slotFlags |= HAS_DESCRIPTION;
+        }
+        flags[slot] = slotFlags;
+    }
+
+    private String readText(int offset, int length) {
+        byte[] bytes = new byte[length];
+        text.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Refuses a write of {@code textBytes} of text to {@code slot} (or a new
+     * slot, if MISSING) if its text would not fit even after compaction.
+     */
+    private void checkRoom(int slot, long textBytes) {
+        long replaced = slot != LongIntHashMap.MISSING ? nameLengths[slot] + descriptionLengths[slot] : 0;
+        long live = text.position() - textGarbage - replaced;
+        if (live + textBytes > maxTextBytes) {
+            throw new IllegalStateException("Columnar product storage is full: " + live + " bytes of text stored, "
+                    + textBytes + " more do not fit in the limit of " + maxTextBytes);
+        }
+    }
+
+    /**
+     * Makes room to append {@code bytes} of text: grows the buffer
+     * geometrically up to the limit, or compacts it once growing no longer
+     * suffices. {@link #checkRoom} must have passed.
+     */
+    private void reserveText(long bytes) {
+        long required = text.position() + bytes;
+        if (required <= text.capacity()) {
+            return;
+        }
+        if (required <= maxTextBytes) {
+            ByteBuffer grown = allocateText((int) Math.min(maxTextBytes, Math.max(required, text.capacity() * 2L)));
+            grown.put(text.flip());
+            text = grown;
+        } else {
+            compact(text.position() - textGarbage + bytes);
+        }
+    }
+
+    private int appendText(byte[] bytes) {
+        int offset = text.position();
+        text.put(bytes);
+        return offset;
+    }
+
+    private void compactIfWasteful() {
+        if (textGarbage < INITIAL_TEXT_BYTES || textGarbage * 2L < text.position()) {
+            return;
+        }
+        compact(text.position() - textGarbage);
+    }
+
+    /**
+     * Copies live text into a new buffer with room for at least {@code bytes},
+     * and headroom to grow into when the limit allows.
+     */
+    private void compact(long bytes) {
+        ByteBuffer compacted = allocateText((int) Math.min(maxTextBytes, Math.max(INITIAL_TEXT_BYTES, bytes * 2)));
+        // Free slots have no text left, so every slot can be moved as it is.
+        for (int slot = 0; slot < slotCount; slot++) {
+            nameOffsets[slot] = move(compacted, nameOffsets[slot], nameLengths[slot]);
+            descriptionOffsets[slot] = move(compacted, descriptionOffsets[slot], descriptionLengths[slot]);
+        }
+        text = compacted;
+        textGarbage = 0;
+    }
+
+    private int move(ByteBuffer target, int offset, int length) {
+        int newOffset = target.position();
+        target.put(text.slice(offset, length));
+        return newOffset;
+    }
+
+    private static long length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    /**
+     * Length of {@code value} in UTF-8, matching {@code String.getBytes}, which
+     * writes an unpaired surrogate as a single {@code '?'}.
+     */
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private ByteBuffer allocateText(int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = grow(ids.length);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+            descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void releaseSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, grow(freeSlots.length));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Appends {@code id} to the id order. Ascending ids, the common case for
+     * bulk loads, extend the sorted prefix; any other id waits for the next
+     * ordered read to sort it in.
+     */
+    private void insertSorted(long id) {
+        if (idCount == sortedIds.length) {
+            sortedIds = Arrays.copyOf(sortedIds, grow(sortedIds.length));
+        }
+        sortedIds[idCount++] = id;
+        size++;
+        if (sortedCount == idCount - 1 && (sortedCount == 0 || sortedIds[sortedCount - 1] < id)) {
+            sortedCount = idCount;
+        }
+    }
+
+    /**
+     * Takes a removed id out of the count but leaves it in the id order,
+     * where readers skip it. Once removed ids outnumber live ones they are
+     * all dropped in one pass, so removal costs amortized constant time.
+     */
+    private void removeSorted() {
+        size--;
+        if (idCount - size > Math.max(size, INITIAL_CAPACITY)) {
+            sortPending();
+            idCount = keepLive(0, idCount);
+            sortedCount = idCount;
+        }
+    }
+
+    /**
+     * Doubles an array length, stopping at the largest array the JVM allocates.
+     */
+    private static int grow(int length) {
+        if (length >= MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Columnar product storage is full");
+        }
+        return (int) Math.min(MAX_ARRAY_LENGTH, length * 2L);
+    }
+
+    /**
+     * Id-ordered view that re-seeks by id on every step, so it stays valid
+     * while the arrays underneath are modified or reallocated.
+     */
+    private final class OrderedView extends AbstractCollection<Product> {
+
+        private final long from;
+        private final boolean inclusive;
+
+        OrderedView(long from, boolean inclusive) {
+            this.from = from;
+            this.inclusive = inclusive;
+        }
+
+        @Override
+        public Iterator<Product> iterator() {
+            return new Iterator<>() {
+                private Product next = firstFrom(from, inclusive);
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Product next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Product current = next;
+                    next = firstFrom(current.getId(), false);
+                    return current;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ColumnarProductStorage.this.size();
+        }
+    }
+}
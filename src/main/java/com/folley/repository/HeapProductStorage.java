@@ -0,0 +1,64 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Stores product objects as given, in a hash index for lock-free point reads
+ * plus an id-ordered skip list for range scans.
+ */
+final class HeapProductStorage implements ProductStorage {
+
+    private final ConcurrentHashMap<Long, Product> products = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Product> productsById = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Product get(long id) {
+        return products.get(id);
+    }
+
+    @Override
+    public boolean contains(long id) {
+        return products.containsKey(id);
+    }
+
+    @Override
+    public Product put(Product product) {
+        Product previous = products.put(product.getId(), product);
+        productsById.put(product.getId(), product);
+        return previous;
+    }
+
+    @Override
+    public Product remove(long id) {
+        Product previous = products.remove(id);
+        if (previous != null) {
+            productsById.remove(id);
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return products.size();
+    }
+
+    @Override
+    public Collection<Product> values() {
+        return Collections.unmodifiableCollection(productsById.values());
+    }
+
+    @Override
+    public Collection<Product> valuesAfter(long id) {
+        return Collections.unmodifiableCollection(productsById.tailMap(id, false).values());
+    }
+
+    @Override
+    public boolean hasIdAfter(long id) {
+        return productsById.higherKey(id) != null;
+    }
+}
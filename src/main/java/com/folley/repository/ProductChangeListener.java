@@ -0,0 +1,35 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+
+/**
+ * Receives every change applied to a {@link ProductRepository}, typically to
+ * keep a derived index in sync with the store.
+ *
+ * Callbacks run on the writing thread while the id's write lock is held, so
+ * changes to one id arrive in order. They must be fast and must not call back
+ * into the repository's write methods. The change is already stored when
+ * they run; an exception is logged and does not stop the other listeners.
+ *
+ * Every catalog version handed out reaches listeners exactly once: through
+ * {@link #onChange} if the write was applied, or through {@link #onSkipped}
+ * if it failed after taking its version.
+ */
+@FunctionalInterface
+public interface ProductChangeListener {
+
+    /**
+     * @param previous the product stored before the change, or null for an insert
+     * @param current  the product stored after the change, or null for a delete
+     * @param version  the catalog version assigned to the change
+     */
+    void onChange(Product previous, Product current, long version);
+
+    /**
+     * Called instead of {@link #onChange} when a write took {@code version}
+     * but failed before changing the store, for instance because the journal
+     * refused it. Nothing changed at that version.
+     */
+    default void onSkipped(long version) {
+    }
+}
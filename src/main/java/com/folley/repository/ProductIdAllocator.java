@@ -0,0 +1,54 @@
+package com.folley.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out product ids without contention. Each thread reserves a block of
+ * consecutive ids with a single atomic add and then allocates from it with no
+ * shared state at all, so concurrent loaders never touch the same cache line
+ * per id. Ids are unique but only increase within a thread; blocks held by
+ * threads that finish are simply skipped.
+ *
+ * Ids stored by other means (client-supplied or recovered) are reported
+ * through {@link #reserve(long)} so future blocks start above them. A block
+ * reserved earlier may still overlap such an id, so callers must check the
+ * store before using an allocated id.
+ */
+final class ProductIdAllocator {
+
+    static final int BLOCK_SIZE = 1024;
+    // Highest block start whose end still fits in a long.
+    private static final long LAST_BLOCK = Long.MAX_VALUE - BLOCK_SIZE;
+
+    private final AtomicLong nextBlock = new AtomicLong(1);
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * A fresh id.
+     *
+     * @throws IllegalStateException if every id up to {@link Long#MAX_VALUE}
+     *                               has been allocated or reserved
+     */
+    long next() {
+        long[] block = blocks.get();
+        if (block[0] == block[1]) {
+            long start = nextBlock.getAndUpdate(next -> next > LAST_BLOCK ? next : next + BLOCK_SIZE);
+            if (start > LAST_BLOCK) {
+                throw new IllegalStateException("Product ids are exhausted");
+            }
+            block[0] = start;
+            block[1] = start + BLOCK_SIZE;
+        }
+        return block[0]++;
+    }
+
+    /**
+     * Keeps future blocks above {@code id}. Reserving {@link Long#MAX_VALUE}
+     * leaves no ids to allocate, and {@link #next()} fails from then on.
+     */
+    void reserve(long id) {
+        if (id >= nextBlock.get()) {
+            nextBlock.accumulateAndGet(id == Long.MAX_VALUE ? id : id + 1, Math::max);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+
+/**
+ * Durably records each change to a {@link ProductRepository} before it is
+ * applied to the store.
+ *
+ * Called on the writing thread while the id's write lock is held, after the
+ * change has its catalog version and before any reader or
+ * {@link ProductChangeListener} can see it. Throwing refuses the write: the
+ * store and its listeners are left as they were.
+ */
+@FunctionalInterface
+public interface ProductJournal {
+
+    /**
+     * @param id      the id of the changed product
+     * @param current the product to be stored, or null for a delete
+     * @param version the catalog version assigned to the change
+     */
+    void record(long id, Product current, long version);
+}
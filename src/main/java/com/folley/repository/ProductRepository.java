@@ -0,0 +1,664 @@
+package com.folley.repository;
+
+import com.folley.collections.LongIntHashMap;
+import com.folley.model.Product;
+import com.folley.model.ProductOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Thread-safe in-memory product store indexed by product id.
+ *
+ * Writes take one of a fixed set of striped locks chosen by id, so writes to
+ * different ids rarely contend while atomic batches can lock every id they
+ * touch. Products are kept in one of two {@link StorageMode}s: as the objects
+ * themselves, with lock-free reads, or packed into primitive columns.
+ *
+ * Every successful write advances a catalog-wide version counter, and each
+ * stored product carries the catalog version of its last write. Versions are
+ * unique and increase monotonically, so they double as entity tags.
+ *
+ * Products inserted without an id are assigned one by a {@link ProductIdAllocator}.
+ *
+ * A {@link ProductJournal}, if set, records each change before the store is
+ * touched and can refuse it; {@link ProductChangeListener}s are told about
+ * it afterwards, every one of them even if another fails. A refused write
+ * still used up its version, and listeners are told that it was skipped.
+ */
+@Repository
+public class ProductRepository {
+
+    /**
+     * How products are laid out in memory.
+     */
+    public enum StorageMode {
+        /** One object per product, lock-free reads. */
+        HEAP,
+        /** Primitive columns with packed UTF-8 text; products are copied out on read. */
+        COLUMNAR
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductRepository.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ProductStorage storage;
+    private final ReentrantLock[] stripes;
+    private final List<ProductChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile ProductJournal journal;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong completedWrites = new AtomicLong();
+    private volatile long recoveredVersion;
+    private final ProductIdAllocator idAllocator = new ProductIdAllocator();
+
+    public ProductRepository() {
+        this(StorageMode.HEAP, false);
+    }
+
+    /**
+     * @param offHeap for {@link StorageMode#COLUMNAR}, keep packed text in a
+     *                direct buffer outside the Java heap
+     */
+    public ProductRepository(StorageMode mode, boolean offHeap) {
+        this(mode, offHeap, LOCK_STRIPES);
+    }
+
+    /**
+     * @param lockStripes number of write locks ids are spread over, a power of
+     *                    two; 1 serializes all writes behind a single lock
+     */
+    ProductRepository(StorageMode mode, boolean offHeap, int lockStripes) {
+        if (lockStripes < 1 || Integer.bitCount(lockStripes) != 1) {
+            throw new IllegalArgumentException("lockStripes must be a power of two: " + lockStripes);
+        }
+        this.storage = mode == StorageMode.COLUMNAR ? new ColumnarProductStorage(offHeap) : new HeapProductStorage();
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Autowired
+    public ProductRepository(@Value("${folley.products.storage:heap}") String mode,
+                             @Value("${folley.products.storage.off-heap:false}") boolean offHeap) {
+        this(StorageMode.valueOf(mode.trim().toUpperCase(Locale.ROOT)), offHeap);
+    }
+
+    /**
+     * Registers a listener for all subsequent changes. Listeners that need the
+     * existing contents should register before writes begin and then seed
+     * themselves from {@link #scanAll()}.
+     */
+    public void addListener(ProductChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sets the journal that must record every subsequent change before it is
+     * applied. Restores are not journaled.
+     */
+    public void setJournal(ProductJournal journal) {
+        this.journal = journal;
+    }
+
+    public Optional<Product> findById(long id) {
+        return Optional.ofNullable(storage.get(id));
+    }
+
+    /**
+     * Resolves many ids in one pass over the index. Products are returned in
+     * the order their ids first appear, with repeated ids collapsed; each id
+     * without a product is passed to {@code missing} once, in the same order.
+     */
+    public List<Product> findAllById(long[] ids, LongConsumer missing) {
+        List<Product> found = new ArrayList<>(ids.length);
+        LongIntHashMap seen = new LongIntHashMap(ids.length);
+        for (long id : ids) {
+            if (seen.put(id, 0) != LongIntHashMap.MISSING) {
+                continue;
+            }
+            Product product = storage.get(id);
+            if (product != null) {
+                found.add(product);
+            } else {
+                missing.accept(id);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns a copy of the store ordered by id, safe to iterate and serialize
+     * while other threads keep writing.
+     */
+    public List<Product> findAll() {
+        return List.copyOf(storage.values());
+    }
+
+    /**
+     * Runs {@code work} with every write lock held. Writes are journaled and
+     * applied under their lock, so while {@code work} runs every write the
+     * journal has recorded is also in the store, and no other write starts.
+     */
+    public <T, E extends Exception> T whileWritesPaused(PausedWork<T, E> work) throws E {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            return work.run();
+        } finally {
+            for (ReentrantLock stripe : stripes) {
+                stripe.unlock();
+            }
+        }
+    }
+
+    /**
+     * Work run by {@link #whileWritesPaused(PausedWork)}.
+     */
+    @FunctionalInterface
+    public interface PausedWork<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * Returns a read-only, id-ordered live view of the store for single-pass
+     * scans. Iteration never blocks writers and never fails on concurrent
+     * modification; each id is visited at most once, and the view reflects the
+     * store as of the moment iteration reaches that id.
+     */
+    public Collection<Product> scanAll() {
+        return storage.values();
+    }
+
+    /**
+     * Returns up to {@code limit} products with an id strictly greater than
+     * {@code afterId}, in id order. A null {@code afterId} starts at the
+     * beginning of the catalog.
+     */
+    public List<Product> findPage(Long afterId, int limit) {
+        Collection<Product> tail = afterId == null ? storage.values() : storage.valuesAfter(afterId);
+        List<Product> page = new ArrayList<>(Math.min(limit, storage.size()));
+        for (Product product : tail) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(product);
+        }
+        return page;
+    }
+
+    public boolean hasProductsAfter(long id) {
+        return storage.hasIdAfter(id);
+    }
+
+    public boolean existsById(long id) {
+        return storage.contains(id);
+    }
+
+    public int count() {
+        return storage.size();
+    }
+
+    /**
+     * Returns the version of the most recent write, whether or not it has
+     * finished.
+     */
+    public long catalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Returns the catalog version reached by rebuilding the catalog from
+     * durable storage. Changes at or below it happened before this process
+     * started and were not observed as they were made.
+     */
+    public long recoveredCatalogVersion() {
+        return recoveredVersion;
+    }
+
+    /**
+     * Returns a catalog version whose writes, and every earlier one, are all
+     * in the store. If writes are in flight it waits for them to finish,
+     * pausing new writes only for that long.
+     */
+    public long appliedCatalogVersion() {
+        OptionalLong stable = stableCatalogVersion();
+        return stable.isPresent() ? stable.getAsLong() : whileWritesPaused(catalogVersion::get);
+    }
+
+    /**
+     * Returns the catalog version if no write is in progress, so that every
+     * change up to and including it is visible to reads that start afterwards.
+     * Empty while writes are in flight; callers that tag whole-catalog
+     * responses with a version must not tag them then.
+     */
+    public OptionalLong stableCatalogVersion() {
+        long completed = completedWrites.get();
+        long started = catalogVersion.get();
+        return completed == started ? OptionalLong.of(started) : OptionalLong.empty();
+    }
+
+    /**
+     * Inserts a new product. A product without an id is assigned a fresh one;
+     * a product whose id is already taken is rejected.
+     *
+     * @return the stored product, or empty if a product with its id exists
+     */
+    public Optional<Product> insert(Product product) {
+        if (product.getId() != null) {
+            return insertIfAbsent(product.getId(), product) ? Optional.of(product) : Optional.empty();
+        }
+        while (!insertIfAbsent(idAllocator.next(), product)) {
+            // The allocated id was stored by a client before the allocator moved past it.
+        }
+        return Optional.of(product);
+    }
+
+    /**
+     * Inserts or replaces the product stored under its id.
+     */
+    public Product save(Product product) {
+        ReentrantLock lock = stripeFor(product.getId());
+        lock.lock();
+        try {
+            doSave(product);
+        } finally {
+            lock.unlock();
+        }
+        return product;
+    }
+
+    private boolean insertIfAbsent(long id, Product product) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            if (storage.contains(id)) {
+                return false;
+            }
+            product.setId(id);
+            doSave(product);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the product stored under {@code id}, if there is one.
+     *
+     * @return the stored product, or empty if no product has that id
+     */
+    public Optional<Product> update(long id, Product product) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            return Optional.ofNullable(doUpdate(id, product));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the product stored under {@code id} only if its current version
+     * is {@code expectedVersion}.
+     *
+     * @return the stored product, or empty if no product has that id
+     * @throws ProductVersionConflictException if the product has another version
+     */
+    public Optional<Product> update(long id, Product product, long expectedVersion) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            if (!checkVersion(id, expectedVersion)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(doUpdate(id, product));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean deleteById(long id) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            return doDelete(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the product stored under {@code id} only if its current version
+     * is {@code expectedVersion}.
+     *
+     * @return false if no product has that id
+     * @throws ProductVersionConflictException if the product has another version
+     */
+    public boolean deleteById(long id, long expectedVersion) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            return checkVersion(id, expectedVersion) && doDelete(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a product exactly as given, keeping its version. Only for
+     * rebuilding the catalog from durable storage before it serves requests.
+     */
+    public void restore(Product product) {
+        ReentrantLock lock = stripeFor(product.getId());
+        lock.lock();
+        try {
+            Product previous = storage.put(product);
+            idAllocator.reserve(product.getId());
+            advanceVersionTo(product.getVersion());
+            notifyListeners(previous, product, product.getVersion());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replays a delete that was made at {@code version}. Only for rebuilding
+     * the catalog from durable storage before it serves requests.
+     */
+    public void restoreDeletion(long id, long version) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            Product previous = storage.remove(id);
+            advanceVersionTo(version);
+            if (previous != null) {
+                notifyListeners(previous, null, version);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Raises the catalog version to at least {@code version}, so versions
+     * handed out after a restart never repeat earlier ones. Only for use while
+     * no writes are running.
+     */
+    public void advanceVersionTo(long version) {
+        long current = catalogVersion.accumulateAndGet(version, Math::max);
+        completedWrites.set(current);
+        recoveredVersion = current;
+    }
+
+    /**
+     * Applies a batch of operations in request order.
+     *
+     * When {@code atomic} is false each operation is applied independently and
+     * failures do not affect the others. When it is true the lock stripes of
+     * every targeted id are held for the whole batch, all operations are
+     * validated against the store plus the effects of earlier operations in the
+     * batch, and either all of them are applied or none are; in the latter case
+     * the valid operations are reported as {@link ProductOperation.Outcome#ABORTED}.
+     *
+     * Creates follow {@link #insert(Product)}: products without an id are
+     * assigned one, which is written back into the operation's product.
+     *
+     * The journal records the operations of an atomic batch one by one as
+     * they are applied. If it refuses one, that operation and the rest are
+     * not applied and the failure is thrown; the earlier ones stay applied,
+     * in the store and in the journal alike.
+     *
+     * @return one outcome per operation, in request order
+     */
+    public List<ProductOperation.Outcome> applyBatch(List<ProductOperation> operations, boolean atomic) {
+        if (!atomic) {
+            List<ProductOperation.Outcome> outcomes = new ArrayList<>(operations.size());
+            for (ProductOperation operation : operations) {
+                outcomes.add(applyOne(operation));
+            }
+            return outcomes;
+        }
+
+        assignIds(operations);
+        List<ReentrantLock> locks = stripesFor(operations);
+        locks.forEach(ReentrantLock::lock);
+        try {
+            List<ProductOperation.Outcome> outcomes = validate(operations);
+            if (outcomes.stream().anyMatch(outcome -> outcome != ProductOperation.Outcome.APPLIED)) {
+                outcomes.replaceAll(outcome -> outcome == ProductOperation.Outcome.APPLIED
+                        ? ProductOperation.Outcome.ABORTED
+                        : outcome);
+                return outcomes;
+            }
+            for (ProductOperation operation : operations) {
+                long id = operation.targetId();
+                switch (operation.getOp()) {
+                    case CREATE -> doSave(operation.getProduct());
+                    case UPDATE -> doUpdate(id, operation.getProduct());
+                    case DELETE -> doDelete(id);
+                }
+            }
+            return outcomes;
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    private ProductOperation.Outcome applyOne(ProductOperation operation) {
+        if (!isWellFormed(operation)) {
+            return ProductOperation.Outcome.INVALID;
+        }
+        boolean applied = switch (operation.getOp()) {
+            case CREATE -> insert(operation.getProduct()).isPresent();
+            case UPDATE -> update(operation.targetId(), operation.getProduct()).isPresent();
+            case DELETE -> deleteById(operation.targetId());
+        };
+        if (applied) {
+            return ProductOperation.Outcome.APPLIED;
+        }
+        return operation.getOp() == ProductOperation.Type.CREATE
+                ? ProductOperation.Outcome.CONFLICT
+                : ProductOperation.Outcome.NOT_FOUND;
+    }
+
+    /**
+     * Gives every create without an id a fresh one up front, so an atomic batch
+     * knows all the ids it has to lock.
+     */
+    private void assignIds(List<ProductOperation> operations) {
+        for (ProductOperation operation : operations) {
+            if (operation != null && operation.getOp() == ProductOperation.Type.CREATE
+                    && operation.getProduct() != null && operation.getProduct().getId() == null) {
+                long id;
+                do {
+                    id = idAllocator.next();
+                } while (storage.contains(id));
+                operation.getProduct().setId(id);
+            }
+        }
+    }
+
+    /**
+     * Dry-runs a batch against the current store. Callers must hold the
+     * stripes of every id in the batch.
+     */
+    private List<ProductOperation.Outcome> validate(List<ProductOperation> operations) {
+        Map<Long, Boolean> pending = new HashMap<>();
+        List<ProductOperation.Outcome> outcomes = new ArrayList<>(operations.size());
+        for (ProductOperation operation : operations) {
+            if (!isWellFormed(operation)) {
+                outcomes.add(ProductOperation.Outcome.INVALID);
+                continue;
+            }
+            long id = operation.targetId();
+            boolean exists = pending.getOrDefault(id, storage.contains(id));
+            if (operation.getOp() == ProductOperation.Type.CREATE) {
+                outcomes.add(exists ? ProductOperation.Outcome.CONFLICT : ProductOperation.Outcome.APPLIED);
+                pending.put(id, true);
+                continue;
+            }
+            if (operation.getOp() == ProductOperation.Type.DELETE) {
+                pending.put(id, false);
+            }
+            outcomes.add(exists ? ProductOperation.Outcome.APPLIED : ProductOperation.Outcome.NOT_FOUND);
+        }
+        return outcomes;
+    }
+
+    private static boolean isWellFormed(ProductOperation operation) {
+        if (operation == null || operation.getOp() == null) {
+            return false;
+        }
+        if (operation.getOp() == ProductOperation.Type.CREATE) {
+            return operation.getProduct() != null;
+        }
+        return operation.targetId() != null
+                && (operation.getOp() == ProductOperation.Type.DELETE || operation.getProduct() != null);
+    }
+
+    /**
+     * Returns false if there is no product under {@code id}. Callers must hold
+     * its stripe.
+     */
+    private boolean checkVersion(long id, long expectedVersion) {
+        Product current = storage.get(id);
+        if (current == null) {
+            return false;
+        }
+        if (current.getVersion() != expectedVersion) {
+            throw new ProductVersionConflictException(id, current.getVersion());
+        }
+        return true;
+    }
+
+    private void doSave(Product product) {
+        idAllocator.reserve(product.getId());
+        long version = catalogVersion.incrementAndGet();
+        boolean applied = false;
+        try {
+            product.setVersion(version);
+            storage.checkRoomFor(product);
+            record(product.getId(), product, version);
+            Product previous = storage.put(product);
+            applied = true;
+            notifyListeners(previous, product, version);
+        } finally {
+            if (!applied) {
+                notifySkipped(version);
+            }
+            completedWrites.incrementAndGet();
+        }
+    }
+
+    private Product doUpdate(long id, Product product) {
+        if (!storage.contains(id)) {
+            return null;
+        }
+        product.setId(id);
+        doSave(product);
+        return product;
+    }
+
+    private boolean doDelete(long id) {
+        if (!storage.contains(id)) {
+            return false;
+        }
+        long version = catalogVersion.incrementAndGet();
+        boolean applied = false;
+        try {
+            record(id, null, version);
+            Product previous = storage.remove(id);
+            applied = true;
+            notifyListeners(previous, null, version);
+        } finally {
+            if (!applied) {
+                notifySkipped(version);
+            }
+            completedWrites.incrementAndGet();
+        }
+        return true;
+    }
+
+    private void record(long id, Product current, long version) {
+        ProductJournal journal = this.journal;
+        if (journal != null) {
+            journal.record(id, current, version);
+        }
+    }
+
+    /**
+     * Tells every listener about an applied change. The change is already in
+     * the store, so a failing listener is logged rather than allowed to keep
+     * the others from seeing it or to fail the write.
+     */
+    private void notifyListeners(Product previous, Product current, long version) {
+        for (ProductChangeListener listener : listeners) {
+            try {
+                listener.onChange(previous, current, version);
+            } catch (RuntimeException e) {
+                logger.error("Product change listener {} failed at version {}", listener, version, e);
+            }
+        }
+    }
+
+    /**
+     * Tells every listener that a write which took {@code version} failed
+     * without changing the store, so none of them waits for that version.
+     */
+    private void notifySkipped(long version) {
+        for (ProductChangeListener listener : listeners) {
+            try {
+                listener.onSkipped(version);
+            } catch (RuntimeException e) {
+                logger.error("Product change listener {} failed on skipped version {}", listener, version, e);
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(long id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    /**
+     * Returns the distinct stripes covering every id in the batch, in stripe
+     * order so concurrent batches always lock in the same order.
+     */
+    private List<ReentrantLock> stripesFor(List<ProductOperation> operations) {
+        boolean[] needed = new boolean[stripes.length];
+        for (ProductOperation operation : operations) {
+            if (operation != null && operation.targetId() != null) {
+                needed[stripeIndex(operation.targetId())] = true;
+            }
+        }
+        List<ReentrantLock> locks = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            if (needed[i]) {
+                locks.add(stripes[i]);
+            }
+        }
+        return locks;
+    }
+
+    private int stripeIndex(long id) {
+        int hash = Long.hashCode(id);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+
+import java.util.Collection;
+
+/**
+ * Primary storage behind {@link ProductRepository}. Implementations must be
+ * safe for concurrent readers and writers; the repository serializes writes to
+ * the same id but not writes to different ids.
+ */
+interface ProductStorage {
+
+    Product get(long id);
+
+    boolean contains(long id);
+
+    /**
+     * Stores {@code product} under its id.
+     *
+     * @return the product previously stored under that id, or null
+     */
+    Product put(Product product);
+
+    /**
+     * Checks, without storing anything, that {@code product} would fit, so a
+     * write can be refused before it is journaled.
+     *
+     * @throws IllegalStateException if the store has no room for it
+     */
+    default void checkRoomFor(Product product) {
+    }
+
+    /**
+     * @return the removed product, or null if none was stored under {@code id}
+     */
+    Product remove(long id);
+
+    int size();
+
+    /**
+     * Read-only, id-ordered, weakly consistent view of every product.
+     */
+    Collection<Product> values();
+
+    /**
+     * Read-only, id-ordered, weakly consistent view of the products with an id
+     * strictly greater than {@code id}.
+     */
+    Collection<Product> valuesAfter(long id);
+
+    boolean hasIdAfter(long id);
+}
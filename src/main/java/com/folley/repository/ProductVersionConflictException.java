@@ -0,0 +1,25 @@
+package com.folley.repository;
+
+/**
+ * Thrown by conditional writes when the stored product no longer has the
+ * version the caller based its change on.
+ */
+public class ProductVersionConflictException extends RuntimeException {
+
+    private final long id;
+    private final long currentVersion;
+
+    public ProductVersionConflictException(long id, long currentVersion) {
+        super("Product " + id + " is at version " + currentVersion);
+        this.id = id;
+        this.currentVersion = currentVersion;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,68 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+
+import java.util.Locale;
+
+/**
+ * Conjunctive filter over products plus the ordering and size of the result.
+ * Null bounds and blank name filters are treated as absent; name filters are
+ * case-insensitive. A range whose minimum exceeds its maximum matches nothing,
+ * and a NaN price is never within a range.
+ *
+ * @param minPrice     inclusive lower price bound
+ * @param maxPrice     inclusive upper price bound
+ * @param namePrefix   name must start with this, served by the name index
+ * @param nameContains name must contain this anywhere; never indexed
+ * @param sort         result ordering
+ * @param limit        maximum number of results
+ */
+public record ProductQuery(Double minPrice, Double maxPrice, String namePrefix, String nameContains,
+                           ProductSort sort, int limit) {
+
+    public ProductQuery {
+        namePrefix = normalize(namePrefix);
+        nameContains = normalize(nameContains);
+        if (sort == null) {
+            sort = ProductSort.ID;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if ((minPrice != null && minPrice.isNaN()) || (maxPrice != null && maxPrice.isNaN())) {
+            throw new IllegalArgumentException("price bounds must be numbers");
+        }
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasNamePrefix() {
+        return namePrefix != null;
+    }
+
+    public boolean matches(Product product) {
+        if (hasPriceRange()) {
+            Double price = product.getPrice();
+            if (price == null || price.isNaN()
+                    || (minPrice != null && price < minPrice)
+                    || (maxPrice != null && price > maxPrice)) {
+                return false;
+            }
+        }
+        if (namePrefix != null || nameContains != null) {
+            String name = ProductSort.nameKey(product);
+            if (name == null
+                    || (namePrefix != null && !name.startsWith(namePrefix))
+                    || (nameContains != null && !name.contains(nameContains))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String filter) {
+        return filter == null || filter.isBlank() ? null : filter.toLowerCase(Locale.ROOT);
+    }
+}
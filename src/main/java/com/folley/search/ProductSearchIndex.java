@@ -0,0 +1,197 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductChangeListener;
+import com.folley.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes over the product store and a small planner that answers
+ * {@link ProductQuery}s from them.
+ *
+ * Two indexes are maintained from repository change events: a navigable price
+ * index and a case-insensitive name index whose sorted order turns a prefix
+ * lookup into a range scan. For each query the planner probes the candidate
+ * ranges and scans the narrower one, filtering the remaining predicates as it
+ * goes. When the scanned index already yields the requested order, the scan
+ * stops after {@code limit} matches; otherwise a bounded heap selects the top
+ * results. Queries with no indexable predicate fall back to a parallel scan of
+ * the whole store on the common fork-join pool.
+ */
+@Component
+public class ProductSearchIndex implements ProductChangeListener {
+
+    /** Index ranges are counted up to this many entries when comparing selectivity. */
+    static final int SELECTIVITY_PROBE = 1024;
+
+    private static final Comparator<PriceEntry> PRICE_ORDER =
+            Comparator.comparingDouble(PriceEntry::price).thenComparingLong(PriceEntry::id);
+    private static final Comparator<NameEntry> NAME_ORDER =
+            Comparator.comparing(NameEntry::name).thenComparingLong(NameEntry::id);
+
+    private final ProductRepository repository;
+    private final ConcurrentSkipListSet<PriceEntry> byPrice = new ConcurrentSkipListSet<>(PRICE_ORDER);
+    private final ConcurrentSkipListSet<NameEntry> byName = new ConcurrentSkipListSet<>(NAME_ORDER);
+
+    public ProductSearchIndex(ProductRepository repository) {
+        this.repository = repository;
+        repository.addListener(this);
+        for (Product product : repository.scanAll()) {
+            index(product);
+        }
+    }
+
+    @Override
+    public void onChange(Product previous, Product current, long version) {
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (current != null) {
+            index(current);
+        }
+    }
+
+    public ProductSearchResult search(ProductQuery query) {
+        QueryPlan plan = plan(query);
+        Comparator<Product> order = query.sort().comparator();
+        List<Product> items = switch (plan) {
+            case PRICE_INDEX -> {
+                NavigableSet<PriceEntry> range = priceRange(query);
+                LongStream ids = query.sort() == ProductSort.PRICE_DESC
+                        ? descendingByPrice(range)
+                        : range.stream().mapToLong(PriceEntry::id);
+                boolean ordered = query.sort() == ProductSort.PRICE || query.sort() == ProductSort.PRICE_DESC;
+                yield select(ids, query, ordered, order);
+            }
+            case NAME_INDEX -> {
+                boolean ordered = query.sort() == ProductSort.NAME;
+                yield select(nameRange(query).stream().mapToLong(NameEntry::id), query, ordered, order);
+            }
+            case PARALLEL_SCAN -> repository.scanAll().parallelStream()
+                    .filter(query::matches)
+                    .collect(TopK.collector(query.limit(), order));
+        };
+        return new ProductSearchResult(items, plan);
+    }
+
+    QueryPlan plan(ProductQuery query) {
+        if (query.hasPriceRange() && query.hasNamePrefix()) {
+            int priceCandidates = probe(priceRange(query));
+            int nameCandidates = probe(nameRange(query));
+            if (priceCandidates != nameCandidates) {
+                return priceCandidates < nameCandidates ? QueryPlan.PRICE_INDEX : QueryPlan.NAME_INDEX;
+            }
+            return query.sort() == ProductSort.NAME ? QueryPlan.NAME_INDEX : QueryPlan.PRICE_INDEX;
+        }
+        if (query.hasPriceRange()) {
+            return QueryPlan.PRICE_INDEX;
+        }
+        if (query.hasNamePrefix()) {
+            return QueryPlan.NAME_INDEX;
+        }
+        return QueryPlan.PARALLEL_SCAN;
+    }
+
+    /**
+     * Resolves and filters index candidates. Predicates are re-checked against
+     * the stored product, which also drops entries made stale by a concurrent
+     * write. Candidates that already arrive in result order are cut off at the
+     * limit; anything else goes through a bounded heap.
+     */
+    private List<Product> select(LongStream candidateIds, ProductQuery query, boolean ordered,
+                                 Comparator<Product> order) {
+        Stream<Product> matches = candidateIds
+                .mapToObj(id -> repository.findById(id).orElse(null))
+                .filter(product -> product != null && query.matches(product));
+        if (ordered) {
+            return matches.limit(query.limit()).toList();
+        }
+        return matches.collect(TopK.collector(query.limit(), order));
+    }
+
+    private NavigableSet<PriceEntry> priceRange(ProductQuery query) {
+        double min = query.minPrice() != null ? query.minPrice() : Double.NEGATIVE_INFINITY;
+        double max = query.maxPrice() != null ? query.maxPrice() : Double.POSITIVE_INFINITY;
+        if (min > max) {
+            return Collections.emptyNavigableSet();
+        }
+        return byPrice.subSet(new PriceEntry(min, Long.MIN_VALUE), true,
+                new PriceEntry(max, Long.MAX_VALUE), true);
+    }
+
+    /**
+     * Walks a price range from the highest price down, as {@link ProductSort#PRICE_DESC}
+     * orders it: products sharing a price keep ascending id order, which a
+     * plain descending view of the index would reverse. Each price is looked
+     * up as it is reached, so a limited scan still stops early.
+     */
+    private static LongStream descendingByPrice(NavigableSet<PriceEntry> range) {
+        Iterator<PriceEntry> highest = range.descendingIterator();
+        PriceEntry first = highest.hasNext() ? highest.next() : null;
+        return Stream.iterate(first, Objects::nonNull, entry -> range.lower(new PriceEntry(entry.price(), Long.MIN_VALUE)))
+                .flatMapToLong(entry -> range.subSet(new PriceEntry(entry.price(), Long.MIN_VALUE), true,
+                                new PriceEntry(entry.price(), Long.MAX_VALUE), true)
+                        .stream()
+                        .mapToLong(PriceEntry::id));
+    }
+
+    private NavigableSet<NameEntry> nameRange(ProductQuery query) {
+        String prefix = query.namePrefix();
+        return byName.subSet(new NameEntry(prefix, Long.MIN_VALUE), true,
+                new NameEntry(prefix + Character.MAX_VALUE, Long.MIN_VALUE), false);
+    }
+
+    private static int probe(Iterable<?> range) {
+        int count = 0;
+        for (Object ignored : range) {
+            if (++count == SELECTIVITY_PROBE) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private void index(Product product) {
+        if (isRangeable(product.getPrice())) {
+            byPrice.add(new PriceEntry(product.getPrice(), product.getId()));
+        }
+        String name = ProductSort.nameKey(product);
+        if (name != null) {
+            byName.add(new NameEntry(name, product.getId()));
+        }
+    }
+
+    private void unindex(Product product) {
+        if (isRangeable(product.getPrice())) {
+            byPrice.remove(new PriceEntry(product.getPrice(), product.getId()));
+        }
+        String name = ProductSort.nameKey(product);
+        if (name != null) {
+            byName.remove(new NameEntry(name, product.getId()));
+        }
+    }
+
+    /**
+     * NaN prices are left out of the price index: no range matches them, and
+     * they would otherwise sort above every other price.
+     */
+    private static boolean isRangeable(Double price) {
+        return price != null && !price.isNaN();
+    }
+
+    private record PriceEntry(double price, long id) {
+    }
+
+    private record NameEntry(String name, long id) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+
+import java.util.List;
+
+/**
+ * @param items matching products in the requested order
+ * @param plan  access path the planner used to find them
+ */
+public record ProductSearchResult(List<Product> items, QueryPlan plan) {
+}
@@ -0,0 +1,51 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Result orderings supported by product search. Ties are broken by id so
+ * results are deterministic.
+ */
+public enum ProductSort {
+    ID("id", Comparator.comparing(Product::getId)),
+    PRICE("price", Comparator.comparing(Product::getPrice, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Product::getId)),
+    PRICE_DESC("-price", Comparator.comparing(Product::getPrice, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+            .thenComparing(Product::getId)),
+    NAME("name", Comparator.comparing(ProductSort::nameKey, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Product::getId));
+
+    private final String parameter;
+    private final Comparator<Product> comparator;
+
+    ProductSort(String parameter, Comparator<Product> comparator) {
+        this.parameter = parameter;
+        this.comparator = comparator;
+    }
+
+    public Comparator<Product> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code parameter} is not a supported sort
+     */
+    public static ProductSort fromParameter(String parameter) {
+        for (ProductSort sort : values()) {
+            if (sort.parameter.equals(parameter)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + parameter);
+    }
+
+    /**
+     * Case-insensitive key used both by the name index and by name ordering.
+     */
+    static String nameKey(Product product) {
+        return product.getName() != null ? product.getName().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,345 @@
+package com.folley.search;
+
+import com.folley.collections.LongIntHashMap;
+import com.folley.model.Product;
+import com.folley.repository.ProductChangeListener;
+import com.folley.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inverted index over product names and descriptions with BM25 ranking.
+ *
+ * Text is split into lower-cased runs of letters and digits. Each term maps
+ * to a posting list of product ids with their weighted term frequency, where
+ * a term in the name counts {@link #NAME_WEIGHT} times as much as one in the
+ * description, and the product's document length. Posting lists and the
+ * per-query score table are primitive arrays, so neither indexing nor a
+ * query boxes an id or a score. The index is kept current from repository
+ * change events, so queries never scan the store.
+ */
+@Component
+public class ProductTextIndex implements ProductChangeListener {
+
+    static final int NAME_WEIGHT = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ProductRepository repository;
+    private final ConcurrentHashMap<String, Postings> postings = new ConcurrentHashMap<>();
+    private final AtomicLong documents = new AtomicLong();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    public ProductTextIndex(ProductRepository repository) {
+        this.repository = repository;
+        repository.addListener(this);
+        for (Product product : repository.scanAll()) {
+            index(product);
+        }
+    }
+
+    @Override
+    public void onChange(Product previous, Product current, long version) {
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (current != null) {
+            index(current);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} products matching any query term, best first.
+     */
+    public List<ProductTextMatch> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        long documents = this.documents.get();
+        if (terms.isEmpty() || documents <= 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength.get() / documents);
+
+        List<Postings> matched = new ArrayList<>(terms.size());
+        long candidates = 0;
+        for (String term : terms) {
+            Postings docs = postings.get(term);
+            if (docs != null) {
+                matched.add(docs);
+                candidates += docs.size();
+            }
+        }
+        Scores scores = new Scores((int) Math.min(candidates, documents));
+        for (Postings docs : matched) {
+            docs.score(documents, averageLength, scores);
+        }
+
+        int[] best = scores.best(limit);
+        List<ProductTextMatch> matches = new ArrayList<>(best.length);
+        for (int slot : best) {
+            double score = scores.score(slot);
+            repository.findById(scores.id(slot))
+                    .ifPresent(product -> matches.add(new ProductTextMatch(product, score)));
+        }
+        return matches;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void index(Product product) {
+        long id = product.getId();
+        Map<String, Integer> frequencies = termFrequencies(product);
+        int length = documentLength(frequencies);
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            int tf = entry.getValue();
+            postings.compute(entry.getKey(), (term, docs) -> {
+                Postings updated = docs != null ? docs : new Postings();
+                updated.put(id, tf, length);
+                return updated;
+            });
+        }
+        documents.incrementAndGet();
+        totalLength.addAndGet(length);
+    }
+
+    /**
+     * Removes a product as it was indexed; its terms and length are derived
+     * from the same fields again.
+     */
+    private void unindex(Product product) {
+        long id = product.getId();
+        Map<String, Integer> frequencies = termFrequencies(product);
+        for (String term : frequencies.keySet()) {
+            postings.computeIfPresent(term, (key, docs) -> docs.remove(id) ? null : docs);
+        }
+        documents.decrementAndGet();
+        totalLength.addAndGet(-documentLength(frequencies));
+    }
+
+    private static Map<String, Integer> termFrequencies(Product product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(product.getName())) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(product.getDescription())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static int documentLength(Map<String, Integer> frequencies) {
+        int length = 0;
+        for (int tf : frequencies.values()) {
+            length += tf;
+        }
+        return length;
+    }
+
+    /**
+     * The products containing one term, as parallel arrays of ids, weighted
+     * term frequencies and document lengths, plus a {@link LongIntHashMap} to
+     * find an id's position. Removal moves the last entry into the gap, so
+     * the arrays stay dense and a query scans them without skipping.
+     * Guarded by its own monitor.
+     */
+    static final class Postings {
+
+        private final LongIntHashMap positions = new LongIntHashMap(4);
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+
+        synchronized void put(long id, int frequency, int length) {
+            int index = positions.get(id);
+            if (index == LongIntHashMap.MISSING) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    frequencies = Arrays.copyOf(frequencies, size * 2);
+                    lengths = Arrays.copyOf(lengths, size * 2);
+                }
+                index = size++;
+                ids[index] = id;
+                positions.put(id, index);
+            }
+            frequencies[index] = frequency;
+            lengths[index] = length;
+        }
+
+        /**
+         * @return true if no product contains the term any more
+         */
+        synchronized boolean remove(long id) {
+            int index = positions.remove(id);
+            if (index != LongIntHashMap.MISSING) {
+                int last = --size;
+                if (index != last) {
+                    positions.put(ids[last], index);
+                    ids[index] = ids[last];
+                    frequencies[index] = frequencies[last];
+                    lengths[index] = lengths[last];
+                }
+            }
+            return size == 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Adds this term's BM25 contribution for every product containing it.
+         */
+        synchronized void score(long documents, double averageLength, Scores scores) {
+            if (size == 0) {
+                return;
+            }
+            double idf = Math.log(1.0 + (documents - size + 0.5) / (size + 0.5));
+            for (int i = 0; i < size; i++) {
+                int tf = frequencies[i];
+                double norm = tf + K1 * (1 - B + B * lengths[i] / averageLength);
+                scores.add(ids[i], idf * tf * (K1 + 1) / norm);
+            }
+        }
+    }
+
+    /**
+     * Per-query score accumulator: parallel arrays of product ids and running
+     * scores, found by id through a {@link LongIntHashMap}.
+     */
+    static final class Scores {
+
+        private final LongIntHashMap positions;
+        private long[] ids;
+        private double[] scores;
+        private int size;
+
+        /**
+         * @param expected number of products likely to be scored, so the
+         *                 arrays are sized once instead of grown
+         */
+        Scores(int expected) {
+            int capacity = Math.max(16, expected);
+            this.positions = new LongIntHashMap(capacity);
+            this.ids = new long[capacity];
+            this.scores = new double[capacity];
+        }
+
+        void add(long id, double score) {
+            int slot = positions.get(id);
+            if (slot != LongIntHashMap.MISSING) {
+                scores[slot] += score;
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ids[size] = id;
+            scores[size] = score;
+            positions.put(id, size);
+            size++;
+        }
+
+        long id(int slot) {
+            return ids[slot];
+        }
+
+        double score(int slot) {
+            return scores[slot];
+        }
+
+        /**
+         * Returns the slots of the {@code limit} best scores, best first, ties
+         * broken by ascending id. Selection runs on a bounded heap of slots
+         * whose root is the worst of the best seen so far.
+         */
+        int[] best(int limit) {
+            int k = Math.min(limit, size);
+            int[] heap = new int[k];
+            int count = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (count < k) {
+                    heap[count] = slot;
+                    siftUp(heap, count++);
+                } else if (k > 0 && better(slot, heap[0])) {
+                    heap[0] = slot;
+                    siftDown(heap, 0, k);
+                }
+            }
+            for (int end = k - 1; end > 0; end--) {
+                int worst = heap[0];
+                heap[0] = heap[end];
+                heap[end] = worst;
+                siftDown(heap, 0, end);
+            }
+            return heap;
+        }
+
+        private boolean better(int slot, int other) {
+            int order = Double.compare(scores[slot], scores[other]);
+            return order > 0 || (order == 0 && ids[slot] < ids[other]);
+        }
+
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int index, int end) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                if (left < end && better(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (left + 1 < end && better(heap[worst], heap[left + 1])) {
+                    worst = left + 1;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(heap, index, worst);
+                index = worst;
+            }
+        }
+
+        private static void swap(int[] heap, int i, int j) {
+            int t = heap[i];
+            heap[i] = heap[j];
+            heap[j] = t;
+        }
+    }
+}
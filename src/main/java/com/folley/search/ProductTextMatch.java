@@ -0,0 +1,10 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+
+/**
+ * @param product the matching product
+ * @param score   BM25 relevance of the product to the query; higher is better
+ */
+public record ProductTextMatch(Product product, double score) {
+}
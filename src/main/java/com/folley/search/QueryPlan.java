@@ -0,0 +1,13 @@
+package com.folley.search;
+
+/**
+ * Access path chosen for a product search.
+ */
+public enum QueryPlan {
+    /** Range scan of the price index, filtering the remaining predicates. */
+    PRICE_INDEX,
+    /** Prefix scan of the name index, filtering the remaining predicates. */
+    NAME_INDEX,
+    /** Parallel scan of the whole store for queries no index can narrow. */
+    PARALLEL_SCAN
+}
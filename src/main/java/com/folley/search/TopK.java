@@ -0,0 +1,51 @@
+package com.folley.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the {@code k} smallest elements seen under a comparator in a bounded
+ * max-heap, so selecting the first k of n candidates costs O(n log k) time and
+ * O(k) memory instead of a full sort.
+ */
+final class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    TopK(int k, Comparator<? super T> order) {
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, order.reversed());
+    }
+
+    void add(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (order.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    TopK<T> merge(TopK<T> other) {
+        for (T element : other.heap) {
+            add(element);
+        }
+        return this;
+    }
+
+    List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    static <T> Collector<T, TopK<T>, List<T>> collector(int k, Comparator<? super T> order) {
+        return Collector.of(() -> new TopK<>(k, order), TopK::add, TopK::merge, TopK::toSortedList);
+    }
+}
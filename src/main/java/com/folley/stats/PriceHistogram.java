@@ -0,0 +1,84 @@
+package com.folley.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of prices that supports removal.
+ *
+ * Each power of two between 2^-10 and 2^40 is split into 128 equal buckets
+ * taken straight from the top mantissa bits, so a bucket's width is under 1%
+ * of the values it holds. Values below the range (including zero and
+ * negative prices) share the first bucket and values above it the last.
+ * Quantiles are found by a walk over the fixed number of buckets, so their
+ * cost does not depend on catalog size.
+ */
+final class PriceHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -10;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = 2 + (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS;
+    private static final double LOWEST = Math.scalb(1.0, MIN_EXPONENT);
+    private static final double HIGHEST = Math.scalb(1.0, MAX_EXPONENT);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void add(double price) {
+        counts.incrementAndGet(bucket(price));
+    }
+
+    void remove(double price) {
+        counts.decrementAndGet(bucket(price));
+    }
+
+    /**
+     * Returns a representative value for the {@code quantile} (0 to 1) of the
+     * recorded prices, or NaN if there are none.
+     */
+    double quantile(double quantile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = Math.max(0, counts.get(i));
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(BUCKETS - 1);
+    }
+
+    static int bucket(double price) {
+        if (!(price >= LOWEST)) {
+            return 0;
+        }
+        if (price >= HIGHEST) {
+            return BUCKETS - 1;
+        }
+        long bits = Double.doubleToRawLongBits(price);
+        int exponent = Math.getExponent(price);
+        int subBucket = (int) (bits >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static double midpoint(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        if (bucket == BUCKETS - 1) {
+            return HIGHEST;
+        }
+        int exponent = MIN_EXPONENT + (bucket - 1) / SUB_BUCKETS;
+        int subBucket = (bucket - 1) % SUB_BUCKETS;
+        return Math.scalb((SUB_BUCKETS + subBucket + 0.5) / SUB_BUCKETS, exponent);
+    }
+}
@@ -0,0 +1,121 @@
+package com.folley.stats;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductChangeListener;
+import com.folley.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catalog aggregates maintained incrementally from repository change events,
+ * so reading them never touches the products themselves.
+ *
+ * Count and price sum live in striped adders, which writers on different
+ * threads update without contending. Exact minimum and maximum come from a
+ * sorted multiset of prices and percentiles from a {@link PriceHistogram};
+ * both support removal, so updates and deletes are applied as a removal of
+ * the old price plus an addition of the new one. Products whose price is
+ * infinite or NaN count towards the total but not towards the price figures.
+ *
+ * The figures are not read atomically as a group: while writes are running,
+ * a report may reflect a write in one figure and not yet in another. The sum
+ * is accumulated in floating point and can drift from the exact total by
+ * rounding error over many updates.
+ */
+@Component
+public class ProductStatistics implements ProductChangeListener {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder pricedCount = new LongAdder();
+    private final DoubleAdder priceSum = new DoubleAdder();
+    private final ConcurrentSkipListMap<Double, Long> prices = new ConcurrentSkipListMap<>();
+    private final PriceHistogram histogram = new PriceHistogram();
+
+    public ProductStatistics(ProductRepository repository) {
+        repository.addListener(this);
+        for (Product product : repository.scanAll()) {
+            add(product);
+        }
+    }
+
+    @Override
+    public void onChange(Product previous, Product current, long version) {
+        if (previous != null) {
+            remove(previous);
+        }
+        if (current != null) {
+            add(current);
+        }
+    }
+
+    public ProductStats stats() {
+        long total = count.sum();
+        long priced = pricedCount.sum();
+        if (priced <= 0) {
+            return new ProductStats(total, 0, null, null, null, null, null, null, null);
+        }
+        double sum = priceSum.sum();
+        Double min = firstKey();
+        Double max = lastKey();
+        return new ProductStats(total, priced, sum, sum / priced, min, max,
+                clamp(histogram.quantile(0.50), min, max),
+                clamp(histogram.quantile(0.90), min, max),
+                clamp(histogram.quantile(0.99), min, max));
+    }
+
+    private void add(Product product) {
+        count.increment();
+        Double price = priceOf(product);
+        if (price != null) {
+            pricedCount.increment();
+            priceSum.add(price);
+            prices.merge(price, 1L, Long::sum);
+            histogram.add(price);
+        }
+    }
+
+    private void remove(Product product) {
+        count.decrement();
+        Double price = priceOf(product);
+        if (price != null) {
+            pricedCount.decrement();
+            priceSum.add(-price);
+            prices.merge(price, -1L, (current, delta) -> current + delta == 0 ? null : current + delta);
+            histogram.remove(price);
+        }
+    }
+
+    /**
+     * The price if it is finite. An infinite or NaN price would turn the sum
+     * into NaN for good, since adding its negation back does not undo it, so
+     * such products are counted as unpriced.
+     */
+    private static Double priceOf(Product product) {
+        Double price = product.getPrice();
+        return price != null && Double.isFinite(price) ? price : null;
+    }
+
+    private Double firstKey() {
+        Map.Entry<Double, Long> entry = prices.firstEntry();
+        return entry != null ? entry.getKey() : null;
+    }
+
+    private Double lastKey() {
+        Map.Entry<Double, Long> entry = prices.lastEntry();
+        return entry != null ? entry.getKey() : null;
+    }
+
+    /**
+     * Keeps bucket midpoints inside the exact observed range.
+     */
+    private static Double clamp(double value, Double min, Double max) {
+        if (Double.isNaN(value) || min == null || max == null) {
+            return null;
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+}
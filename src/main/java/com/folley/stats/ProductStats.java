@@ -0,0 +1,9 @@
+package com.folley.stats;
+
+/**
+ * Catalog-wide aggregates. Price figures cover products that have a price and
+ * are null when none do. Percentiles are within 1% of the exact value.
+ */
+public record ProductStats(long count, long pricedCount, Double sum, Double average,
+                           Double min, Double max, Double p50, Double p90, Double p99) {
+}
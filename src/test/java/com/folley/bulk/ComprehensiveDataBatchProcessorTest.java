@@ -0,0 +1,181 @@
+package com.folley.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.controller.DataController;
+import com.folley.model.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComprehensiveDataBatchProcessorTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private ComprehensiveDataBatchProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new ComprehensiveDataBatchProcessor(OBJECT_MAPPER, 3, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.destroy();
+    }
+
+    @Test
+    void testProcessNdjson_ShouldProcessValidLinesAndReportBadOnes() throws IOException {
+        String body = """
+                {"status":"ACTIVE","stringValue":"a"}
+                {"integerValue":"many"}
+
+                {"status":"ACTIVE"}
+                {"status":
+                null
+                {"status":"ARCHIVED"} {}
+                {"status":"ARCHIVED"}
+                """;
+
+        ComprehensiveDataBatchResult result = processor.process(stream(body), BatchFormat.NDJSON);
+
+        assertEquals(7, result.records());
+        assertEquals(3, result.processed());
+        assertEquals(4, result.failed());
+        assertTrue(result.complete());
+        assertEquals(Map.of(Status.ACTIVE, 2L, Status.ARCHIVED, 1L), result.statusCounts());
+        assertEquals(List.of(1L, 3L, 4L, 5L), result.errors().stream().map(BatchRecordError::index).toList());
+    }
+
+    @Test
+    void testProcessArray_ShouldIsolateRecordsThatFailToBind() throws IOException {
+        String body = "[" + DataController.EXAMPLE_JSON
+                + ", {\"address\": {\"street\": [1, {\"x\": 2}]}, \"status\": \"ACTIVE\"}"
+                + ", {\"status\": \"PENDING\", \"bigDecimalValue\": 1.10}, null]";
+
+        ComprehensiveDataBatchResult result = processor.process(stream(body), BatchFormat.JSON_ARRAY);
+
+        assertEquals(4, result.records());
+        assertEquals(2, result.processed());
+        assertEquals(List.of(1L, 3L), result.errors().stream().map(BatchRecordError::index).toList());
+        assertEquals(Map.of(Status.ACTIVE, 1L, Status.PENDING, 1L), result.statusCounts());
+        assertTrue(result.complete());
+    }
+
+    @Test
+    void testProcess_ShouldRejectRecordsWhoseBindingThrowsUncheckedExceptions() throws IOException {
+        ObjectMapper mapper = OBJECT_MAPPER.copy()
+                .disable(DeserializationFeature.WRAP_EXCEPTIONS)
+                .registerModule(new SimpleModule().addDeserializer(Status.class, new JsonDeserializer<>() {
+                    @Override
+                    public Status deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+                        String value = parser.getValueAsString();
+                        if (value.equals("BOOM")) {
+                            throw new IllegalStateException("status service down");
+                        }
+                        return Status.valueOf(value);
+                    }
+                }));
+        ComprehensiveDataBatchProcessor throwing = new ComprehensiveDataBatchProcessor(mapper, 2, 2, false);
+        try {
+            String body = """
+                    {"status":"ACTIVE"}
+                    {"status":"BOOM"}
+                    {"status":"PENDING"}
+                    """;
+
+            ComprehensiveDataBatchResult result = throwing.process(stream(body), BatchFormat.NDJSON);
+
+            assertEquals(3, result.records());
+            assertEquals(2, result.processed());
+            assertEquals(1, result.failed());
+            assertEquals(List.of(new BatchRecordError(1, "status service down")), result.errors());
+        } finally {
+            throwing.destroy();
+        }
+    }
+
+    @Test
+    void testConstructor_ShouldRejectNonPositiveMaxInFlight() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ComprehensiveDataBatchProcessor(OBJECT_MAPPER, 1, 0, false));
+    }
+
+    @Test
+    void testProcessCborArray_ShouldBindRecordsLikeJson() throws IOException {
+        ObjectMapper cbor = OBJECT_MAPPER.copyWith(new CBORFactory());
+        Object example = OBJECT_MAPPER.readValue(DataController.EXAMPLE_JSON, Object.class);
+        byte[] body = cbor.writeValueAsBytes(List.of(example, Map.of("status", "PENDING"), Map.of("intArray", "x")));
+
+        ComprehensiveDataBatchResult result = processor.process(new ByteArrayInputStream(body), BatchFormat.CBOR_ARRAY);
+
+        assertEquals(3, result.records());
+        assertEquals(2, result.processed());
+        assertEquals(Map.of(Status.ACTIVE, 1L, Status.PENDING, 1L), result.statusCounts());
+        assertEquals(2L, result.errors().get(0).index());
+    }
+
+    @Test
+    void testProcessArray_ShouldStopAtSyntaxErrors() throws IOException {
+        ComprehensiveDataBatchResult truncated = processor.process(
+                stream("[{\"status\": \"ACTIVE\"}, {\"status\": \"ACTIVE\"}, {\"status\""), BatchFormat.JSON_ARRAY);
+
+        assertFalse(truncated.complete());
+        assertEquals(2, truncated.records());
+        assertEquals(2, truncated.processed());
+        assertEquals(0, truncated.failed());
+        assertEquals(2L, truncated.errors().get(0).index());
+
+        ComprehensiveDataBatchResult notArray = processor.process(
+                stream("{\"status\": \"ACTIVE\"}"), BatchFormat.JSON_ARRAY);
+
+        assertFalse(notArray.complete());
+        assertEquals(0, notArray.records());
+        assertEquals(1, notArray.errors().size());
+
+        ComprehensiveDataBatchResult trailing = processor.process(stream("[{}] {}"), BatchFormat.JSON_ARRAY);
+
+        assertFalse(trailing.complete());
+        assertEquals(1, trailing.processed());
+    }
+
+    @Test
+    void testProcess_ShouldReportLowestIndexesWhenErrorsExceedCap() throws IOException {
+        int records = ComprehensiveDataBatchProcessor.MAX_REPORTED_ERRORS * 2;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            body.append(i % 4 == 0 ? "{\"status\":\"INACTIVE\"}" : "{\"longValue\":[]}").append('\n');
+        }
+
+        ComprehensiveDataBatchResult result = processor.process(stream(body.toString()), BatchFormat.NDJSON);
+
+        assertEquals(records, result.records());
+        assertEquals(records / 4, result.processed());
+        assertEquals(records - records / 4, result.failed());
+        assertEquals(ComprehensiveDataBatchProcessor.MAX_REPORTED_ERRORS, result.errors().size());
+        assertEquals(1L, result.errors().get(0).index());
+        assertEquals(1333L, result.errors().get(result.errors().size() - 1).index());
+        assertEquals(Long.valueOf(records / 4), result.statusCounts().get(Status.INACTIVE));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
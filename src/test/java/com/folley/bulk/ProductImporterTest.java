@@ -0,0 +1,137 @@
+package com.folley.bulk;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductImporterTest {
+
+    private ProductRepository repository;
+    private ProductImporter importer;
+    private List<ImportError> errors;
+    private ImportListener listener;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+        importer = new ProductImporter(repository, 4, 3, 2);
+        errors = new CopyOnWriteArrayList<>();
+        listener = new ImportListener() {
+            @Override
+            public void onError(ImportError error) {
+                errors.add(error);
+            }
+
+            @Override
+            public void onProgress(ImportProgress progress) {
+            }
+        };
+    }
+
+    @Test
+    void testImportNdjson_ShouldStoreValidLinesAndReportBadOnes() throws IOException {
+        String body = """
+                {"id":1,"name":"Laptop","price":999.99,"description":"Laptop desc","version":7}
+                {"id":2,"name":"Mouse","price":"cheap"}
+
+                {"id":3,"name":"Keyboard","price":49.99}
+                {"id":4,"name":
+                [1,2,3]
+                """;
+
+        ImportProgress progress = importer.importProducts(stream(body), ImportFormat.NDJSON, listener);
+
+        assertEquals(2, progress.imported());
+        assertEquals(3, progress.failed());
+        assertEquals(List.of(2L, 5L, 6L), errors.stream().map(ImportError::line).sorted().toList());
+        assertEquals("Laptop desc", repository.findById(1L).orElseThrow().getDescription());
+        assertEquals(1L, repository.findById(1L).orElseThrow().getVersion());
+        assertTrue(repository.findById(2L).isEmpty());
+        assertTrue(repository.findById(3L).isPresent());
+    }
+
+    @Test
+    void testImportCsv_ShouldHandleQuotesAndRejectDuplicates() throws IOException {
+        repository.save(new Product(5L, "Existing", 1.0, null));
+        String body = """
+                price,id,name,description
+                19.5,1,"Cable, USB-C","The ""fast"" one"
+                2.0,5,Duplicate,
+                3.0,,Unnumbered,no id
+                """;
+
+        ImportProgress progress = importer.importProducts(stream(body), ImportFormat.CSV, listener);
+
+        assertEquals(2, progress.imported());
+        assertEquals(1, progress.failed());
+        assertEquals(3L, errors.get(0).line());
+        assertTrue(errors.get(0).message().contains("5"));
+        Product cable = repository.findById(1L).orElseThrow();
+        assertEquals("Cable, USB-C", cable.getName());
+        assertEquals("The \"fast\" one", cable.getDescription());
+        assertEquals(19.5, cable.getPrice());
+        assertEquals("Existing", repository.findById(5L).orElseThrow().getName());
+        assertEquals(1, repository.scanAll().stream().filter(p -> "Unnumbered".equals(p.getName())).count());
+    }
+
+    @Test
+    void testImportCsv_ShouldStopOnUnknownHeader() throws IOException {
+        ImportProgress progress = importer.importProducts(stream("sku,colour\n1,red\n"), ImportFormat.CSV, listener);
+
+        assertEquals(0, progress.imported());
+        assertEquals(1, errors.size());
+        assertEquals(1L, errors.get(0).line());
+    }
+
+    @Test
+    void testImportNdjson_ShouldImportManyBatchesConcurrently() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            body.append("{\"name\":\"Product ").append(i).append("\",\"price\":").append(i).append("}\n");
+        }
+
+        ImportProgress progress = importer.importProducts(stream(body.toString()), ImportFormat.NDJSON, listener);
+
+        assertEquals(5_000, progress.lines());
+        assertEquals(5_000, progress.imported());
+        assertEquals(5_000, repository.count());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void testImportNdjson_ShouldRejectLinesTheStoreFailsOn() throws IOException {
+        repository.setJournal((id, current, version) -> {
+            if (id == 2L) {
+                throw new IllegalStateException("journal down");
+            }
+        });
+        String body = """
+                {"id":1,"name":"Laptop","price":999.99}
+                {"id":2,"name":"Mouse","price":29.99}
+                {"id":3,"name":"Keyboard","price":49.99}
+                """;
+
+        ImportProgress progress = importer.importProducts(stream(body), ImportFormat.NDJSON, listener);
+
+        assertEquals(2, progress.imported());
+        assertEquals(1, progress.failed());
+        assertEquals(2L, errors.get(0).line());
+        assertEquals("Rejected by the store: journal down", errors.get(0).message());
+        assertTrue(repository.existsById(1L));
+        assertFalse(repository.existsById(2L));
+        assertTrue(repository.existsById(3L));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.folley.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductResponseCacheTest {
+
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+    }
+
+    @Test
+    void testProduct_ShouldInvalidateOnWrite() {
+        ProductResponseCache cache = new ProductResponseCache(repository, new ObjectMapper(), 1 << 20, false);
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        CachedResponse first = cache.product(repository.findById(1L).get());
+        assertSame(first, cache.product(repository.findById(1L).get()));
+        repository.update(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"));
+
+        assertEquals(0, cache.stats().entries());
+        CachedResponse updated = cache.product(repository.findById(1L).get());
+        assertNotSame(first, updated);
+        assertTrue(new String(updated.json()).contains("Gaming Laptop"));
+    }
+
+    @Test
+    void testCatalog_ShouldOnlyServeMatchingVersion() {
+        ProductResponseCache cache = new ProductResponseCache(repository, new ObjectMapper(), 1 << 20, false);
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        CachedResponse first = cache.catalog(repository.catalogVersion(), repository::findAll);
+        assertSame(first, cache.catalog(repository.catalogVersion(), () -> {
+            throw new AssertionError("should be cached");
+        }));
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+
+        CachedResponse second = cache.catalog(repository.catalogVersion(), repository::findAll);
+        assertTrue(new String(second.json()).contains("Mouse"));
+    }
+
+    @Test
+    void testAdmission_ShouldStayWithinBoundAndKeepPopularEntries() {
+        ProductResponseCache cache = new ProductResponseCache(repository, new ObjectMapper(), 4096, false);
+        for (long id = 1; id <= 200; id++) {
+            repository.save(new Product(id, "Product " + id, (double) id, "desc"));
+        }
+        Product popular = repository.findById(1L).get();
+        for (int i = 0; i < 10; i++) {
+            cache.product(popular);
+        }
+        for (long id = 2; id <= 200; id++) {
+            cache.product(repository.findById(id).get());
+        }
+
+        ProductCacheStats stats = cache.stats();
+        assertTrue(stats.bytes() <= 4096, "bytes=" + stats.bytes());
+        assertTrue(stats.rejections() > 0);
+        long hits = stats.hits();
+        cache.product(popular);
+        assertEquals(hits + 1, cache.stats().hits());
+    }
+
+    @Test
+    void testGzip_ShouldCompressLargeBodies() throws Exception {
+        ProductResponseCache cache = new ProductResponseCache(repository, new ObjectMapper(), 1 << 20, true);
+        repository.save(new Product(1L, "Laptop", 999.99, "x".repeat(4096)));
+        repository.save(new Product(2L, "Mouse", 29.99, "small"));
+
+        CachedResponse large = cache.product(repository.findById(1L).get());
+        CachedResponse small = cache.product(repository.findById(2L).get());
+
+        assertNull(small.gzip());
+        assertTrue(large.gzip().length < large.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.json(), in.readAllBytes());
+        }
+    }
+}
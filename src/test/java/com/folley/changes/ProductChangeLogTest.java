@@ -0,0 +1,137 @@
+package com.folley.changes;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangeLogTest {
+
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+    }
+
+    @Test
+    void testSince_ShouldPageThroughChanges() {
+        ProductChangeLog log = new ProductChangeLog(repository, 1024);
+        for (long id = 1; id <= 10; id++) {
+            repository.save(new Product(id, "Product " + id, 1.0, "desc"));
+        }
+
+        ProductChanges first = log.since(0, 4);
+        ProductChanges second = log.since(first.version(), 100);
+
+        assertEquals(4, first.changes().size());
+        assertTrue(first.hasMore());
+        assertEquals(6, second.changes().size());
+        assertFalse(second.hasMore());
+        assertEquals(10, second.version());
+    }
+
+    @Test
+    void testSince_ShouldRequireResyncOnceVersionFallsOutOfLog() {
+        ProductChangeLog log = new ProductChangeLog(repository, 8);
+        for (long id = 1; id <= 20; id++) {
+            repository.save(new Product(id, "Product " + id, 1.0, "desc"));
+        }
+
+        ProductChanges stale = log.since(5, 100);
+        ProductChanges recent = log.since(15, 100);
+
+        assertTrue(stale.resyncRequired());
+        assertEquals(20, stale.version());
+        assertFalse(recent.resyncRequired());
+        assertEquals(5, recent.changes().size());
+    }
+
+    @Test
+    void testSince_ShouldRequireResyncBeforeLogStarted() {
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        ProductChangeLog log = new ProductChangeLog(repository, 1024);
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+
+        assertTrue(log.since(0, 100).resyncRequired());
+        assertEquals(1, log.since(1, 100).changes().size());
+        assertTrue(log.since(99, 100).resyncRequired());
+    }
+
+    @Test
+    void testSince_ShouldMovePastWritesTheJournalRefused() {
+        ProductChangeLog log = new ProductChangeLog(repository, 1024);
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.setJournal((id, current, version) -> {
+            if (id == 2L) {
+                throw new IllegalStateException("journal down");
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> repository.save(new Product(2L, "Mouse", 29.99, "desc")));
+        repository.save(new Product(3L, "Keyboard", 79.99, "desc"));
+
+        ProductChanges changes = log.since(0, 100);
+
+        assertFalse(changes.resyncRequired());
+        assertEquals(3, changes.version());
+        assertEquals(List.of(1L, 3L), changes.changes().stream().map(ProductChange::id).toList());
+        assertTrue(log.since(3, 100).changes().isEmpty());
+    }
+
+    @Test
+    void testConcurrentWriters_ShouldNeverSkipChanges() throws Exception {
+        ProductChangeLog log = new ProductChangeLog(repository, 1 << 16);
+        int threads = 4;
+        int writesPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = t * 1_000_000L;
+                writers.add(executor.submit(() -> {
+                    for (long i = 0; i < writesPerThread; i++) {
+                        repository.save(new Product(base + i % 100, "Product", (double) i, "desc"));
+                    }
+                }));
+            }
+
+            // Poll while writing; applying every delta must reproduce the store.
+            Map<Long, Double> replica = new HashMap<>();
+            long since = 0;
+            boolean writing = true;
+            while (writing) {
+                writing = writers.stream().anyMatch(future -> !future.isDone());
+                ProductChanges changes = log.since(since, 1000);
+                assertFalse(changes.resyncRequired());
+                for (ProductChange change : changes.changes()) {
+                    replica.put(change.id(), change.product().getPrice());
+                }
+                since = changes.version();
+                if (!writing && changes.hasMore()) {
+                    writing = true;
+                }
+            }
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(repository.count(), replica.size());
+            for (Product product : repository.findAll()) {
+                assertEquals(product.getPrice(), replica.get(product.getId()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.folley.collections;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashSetTest {
+
+    private static final TypeReference<Set<Integer>> INTEGER_SET = new TypeReference<>() {
+    };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testRandomOperations_ShouldMatchHashSet() {
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        int[] sorted = set.toIntArray();
+        Arrays.sort(sorted);
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), sorted);
+        assertEquals(expected, set);
+        assertEquals(expected.hashCode(), set.hashCode());
+        for (int value = -1_000; value < 1_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void testRemove_ShouldMoveLastElementIntoTheFreedPosition() {
+        IntHashSet set = IntHashSet.of(1, 2, 3, 4);
+
+        assertTrue(set.remove(2));
+        assertTrue(set.remove(4));
+
+        assertArrayEquals(new int[]{1, 3}, set.toIntArray());
+        assertTrue(set.add(2));
+        assertArrayEquals(new int[]{1, 3, 2}, set.toIntArray());
+        assertFalse(set.contains(4));
+    }
+
+    @Test
+    void testIteratorRemove_ShouldRemoveCurrentElement() {
+        IntHashSet set = IntHashSet.of(1, 2, 3, 4);
+        set.add((Integer) null);
+
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            Integer value = iterator.next();
+            if (value == null || value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(List.of(1, 3), List.copyOf(set));
+        assertFalse(set.contains((Object) null));
+    }
+
+    @Test
+    void testJson_ShouldReadLikeIntegerSetAndKeepInputOrder() throws Exception {
+        for (String json : List.of("[]", "[300,100,200]", "[1,1,2,null,null]", "[\"4\",5.0,-2147483648]")) {
+            Set<Integer> expected = mapper.readValue(json, INTEGER_SET);
+
+            IntHashSet set = mapper.readValue(json, IntHashSet.class);
+
+            assertEquals(expected, set, json);
+            assertEquals(new HashSet<>(Arrays.asList(mapper.readValue(mapper.writeValueAsString(set), Integer[].class))),
+                    expected, json);
+        }
+        assertEquals("[300,100,200]", mapper.writeValueAsString(mapper.readValue("[300,100,200]", IntHashSet.class)));
+        assertEquals("[null,1,2]", mapper.writeValueAsString(mapper.readValue("[1,null,2,1]", IntHashSet.class)));
+    }
+
+    @Test
+    void testJson_ShouldRejectWhatIntegerSetRejects() {
+        for (String json : List.of("[\"x\"]", "[2147483648]", "[[1]]", "{}", "5")) {
+            assertThrows(JsonProcessingException.class, () -> mapper.readValue(json, INTEGER_SET), json);
+            assertThrows(JsonProcessingException.class, () -> mapper.readValue(json, IntHashSet.class), json);
+        }
+    }
+}
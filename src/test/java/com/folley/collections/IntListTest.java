@@ -0,0 +1,76 @@
+package com.folley.collections;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntListTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testJson_ShouldReadAndWriteLikeIntegerArray() throws Exception {
+        for (String json : List.of("[]", "[1,-2,2147483647,-2147483648]", "[1,null,3]", "[\"4\",5.0,null]")) {
+            Integer[] expected = mapper.readValue(json, Integer[].class);
+
+            IntList list = mapper.readValue(json, IntList.class);
+
+            assertEquals(Arrays.asList(expected), list, json);
+            assertEquals(mapper.writeValueAsString(expected), mapper.writeValueAsString(list), json);
+        }
+    }
+
+    @Test
+    void testJson_ShouldRejectWhatIntegerArrayRejects() {
+        for (String json : List.of("[\"x\"]", "[2147483648]", "[[1]]", "{}", "5")) {
+            assertThrows(JsonProcessingException.class, () -> mapper.readValue(json, Integer[].class), json);
+            assertThrows(JsonProcessingException.class, () -> mapper.readValue(json, IntList.class), json);
+        }
+    }
+
+    @Test
+    void testJson_ShouldAcceptSingleValueWhenEnabled() throws Exception {
+        ObjectMapper lenient = mapper.copy().enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+        assertEquals(List.of(7), lenient.readValue("7", IntList.class));
+        assertNull(mapper.readValue("null", new TypeReference<IntList>() {
+        }));
+    }
+
+    @Test
+    void testAdd_ShouldGrowAndKeepValuesUnboxed() {
+        IntList list = new IntList();
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i * 3);
+        }
+
+        assertEquals(1_000, list.size());
+        assertEquals(2_997, list.getInt(999));
+        assertFalse(list.hasNulls());
+        assertEquals(3, list.toIntArray()[1]);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(1_000));
+    }
+
+    @Test
+    void testSet_ShouldTrackNulls() {
+        IntList list = IntList.of(1, 2, 3);
+
+        assertEquals(Integer.valueOf(2), list.set(1, null));
+        assertNull(list.get(1));
+        assertThrows(NullPointerException.class, () -> list.getInt(1));
+        assertEquals(Arrays.asList(1, null, 3), list);
+        assertEquals(Arrays.asList(1, null, 3).hashCode(), list.hashCode());
+
+        list.set(1, 5);
+        assertFalse(list.hasNulls());
+        assertEquals(List.of(1, 5, 3).hashCode(), list.hashCode());
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, 9));
+    }
+}
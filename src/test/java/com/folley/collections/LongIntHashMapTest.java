@@ -0,0 +1,42 @@
+package com.folley.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void testRandomOperations_ShouldMatchHashMap() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 2_500L;
+            int value = random.nextInt(Integer.MAX_VALUE);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed != null ? removed : LongIntHashMap.MISSING, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, value);
+                assertEquals(previous != null ? previous : LongIntHashMap.MISSING, map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -2_500; key < 2_500; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value != null ? value : LongIntHashMap.MISSING, map.get(key));
+        }
+    }
+
+    @Test
+    void testPut_ShouldRejectNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntHashMap(4).put(1L, -1));
+    }
+}
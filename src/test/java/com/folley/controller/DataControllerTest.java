@@ -1,15 +1,31 @@
 package com.folley.controller;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.bulk.ComprehensiveDataBatchProcessor;
+import com.folley.collections.IntHashSet;
+import com.folley.collections.IntList;
+import com.folley.json.LazyJsonObject;
 import com.folley.model.Address;
 import com.folley.model.ComprehensiveData;
+import com.folley.model.ComprehensiveDataResponse;
+import com.folley.model.ComprehensiveDataSummary;
 import com.folley.model.Status;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,11 +37,23 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class DataControllerTest {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private ComprehensiveDataBatchProcessor batchProcessor;
     private DataController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new DataController();
+        batchProcessor = new ComprehensiveDataBatchProcessor(OBJECT_MAPPER, 2, 4, false);
+        controller = new DataController(OBJECT_MAPPER, true, batchProcessor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchProcessor.destroy();
     }
 
     @Test
@@ -43,13 +71,13 @@ class DataControllerTest {
     void testProcessComprehensiveData_ShouldReturnSuccessWithCompleteData() {
         ComprehensiveData data = createFullComprehensiveData();
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue((Boolean) response.getBody().get("received"));
+        assertTrue(response.getBody().received());
         assertEquals("Successfully processed comprehensive data with all datatypes",
-                     response.getBody().get("message"));
+                     response.getBody().message());
     }
 
     @Test
@@ -64,19 +92,19 @@ class DataControllerTest {
         data.setBooleanValue(true);
         data.setCharacterValue('A');
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
-
-        assertEquals(127, ((Number) summary.get("byteValue")).byteValue());
-        assertEquals(32767, ((Number) summary.get("shortValue")).shortValue());
-        assertEquals(2147483647, summary.get("integerValue"));
-        assertEquals(9223372036854775807L, summary.get("longValue"));
-        assertEquals(3.14159f, ((Number) summary.get("floatValue")).floatValue(), 0.00001);
-        assertEquals(2.718281828459045, summary.get("doubleValue"));
-        assertEquals(true, summary.get("booleanValue"));
-        assertEquals('A', summary.get("characterValue"));
+        ComprehensiveDataSummary summary = response.getBody().summary();
+
+        assertEquals(Byte.valueOf((byte) 127), summary.byteValue());
+        assertEquals(Short.valueOf((short) 32767), summary.shortValue());
+        assertEquals(Integer.valueOf(2147483647), summary.integerValue());
+        assertEquals(9223372036854775807L, summary.longValue());
+        assertEquals(3.14159f, summary.floatValue(), 0.00001);
+        assertEquals(2.718281828459045, summary.doubleValue());
+        assertEquals(true, summary.booleanValue());
+        assertEquals(Character.valueOf('A'), summary.characterValue());
     }
 
     @Test
@@ -86,13 +114,13 @@ class DataControllerTest {
         data.setBigDecimalValue(new BigDecimal("12345678901234567890.123456789"));
         data.setBigIntegerValue(new BigInteger("999999999999999999999999999999"));
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals("Hello, World!", summary.get("stringValue"));
-        assertEquals(new BigDecimal("12345678901234567890.123456789"), summary.get("bigDecimalValue"));
-        assertEquals(new BigInteger("999999999999999999999999999999"), summary.get("bigIntegerValue"));
+        assertEquals("Hello, World!", summary.stringValue());
+        assertEquals(new BigDecimal("12345678901234567890.123456789"), summary.bigDecimalValue());
+        assertEquals(new BigInteger("999999999999999999999999999999"), summary.bigIntegerValue());
     }
 
     @Test
@@ -112,16 +140,16 @@ class DataControllerTest {
         data.setZonedDateTime(zonedDateTime);
         data.setInstant(instant);
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals(uuid, summary.get("uuidValue"));
-        assertEquals(localDate, summary.get("localDate"));
-        assertEquals(localTime, summary.get("localTime"));
-        assertEquals(localDateTime, summary.get("localDateTime"));
-        assertEquals(zonedDateTime, summary.get("zonedDateTime"));
-        assertEquals(instant, summary.get("instant"));
+        assertEquals(uuid, summary.uuidValue());
+        assertEquals(localDate, summary.localDate());
+        assertEquals(localTime, summary.localTime());
+        assertEquals(localDateTime, summary.localDateTime());
+        assertEquals(zonedDateTime, summary.zonedDateTime());
+        assertEquals(instant, summary.instant());
     }
 
     @Test
@@ -131,12 +159,12 @@ class DataControllerTest {
         Address address = new Address("123 Main St", "Springfield", "IL", "62701", "USA");
         data.setAddress(address);
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals(Status.ACTIVE, summary.get("status"));
-        assertEquals(address, summary.get("address"));
+        assertEquals(Status.ACTIVE, summary.status());
+        assertEquals(address, summary.address());
     }
 
     @Test
@@ -144,15 +172,15 @@ class DataControllerTest {
         ComprehensiveData data = new ComprehensiveData();
         data.setStringArray(new String[]{"one", "two", "three"});
         data.setIntArray(new int[]{1, 2, 3, 4, 5});
-        data.setIntegerArray(new Integer[]{10, 20, 30});
+        data.setIntegerArray(IntList.of(10, 20, 30));
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals(3, summary.get("stringArrayLength"));
-        assertEquals(5, summary.get("intArrayLength"));
-        assertEquals(3, summary.get("integerArrayLength"));
+        assertEquals(3, summary.stringArrayLength());
+        assertEquals(5, summary.intArrayLength());
+        assertEquals(3, summary.integerArrayLength());
     }
 
     @Test
@@ -162,26 +190,26 @@ class DataControllerTest {
         data.setIntArray(null);
         data.setIntegerArray(null);
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals(0, summary.get("stringArrayLength"));
-        assertEquals(0, summary.get("intArrayLength"));
-        assertEquals(0, summary.get("integerArrayLength"));
+        assertEquals(0, summary.stringArrayLength());
+        assertEquals(0, summary.intArrayLength());
+        assertEquals(0, summary.integerArrayLength());
     }
 
     @Test
     void testProcessComprehensiveData_ShouldHandleCollectionsCorrectly() {
         ComprehensiveData data = new ComprehensiveData();
         data.setStringList(Arrays.asList("alpha", "beta", "gamma"));
-        data.setIntegerSet(new HashSet<>(Arrays.asList(100, 200, 300)));
+        data.setIntegerSet(IntHashSet.of(100, 200, 300));
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("key1", "value1");
         metadata.put("key2", 42);
         metadata.put("key3", true);
-        data.setMetadata(metadata);
+        data.setMetadata(new LazyJsonObject(metadata));
 
         List<Address> addresses = Arrays.asList(
             new Address("456 Oak Ave", "Portland", "OR", "97201", "USA"),
@@ -189,14 +217,14 @@ class DataControllerTest {
         );
         data.setAddresses(addresses);
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals(3, summary.get("stringListSize"));
-        assertEquals(3, summary.get("integerSetSize"));
-        assertEquals(3, summary.get("metadataSize"));
-        assertEquals(2, summary.get("addressesSize"));
+        assertEquals(3, summary.stringListSize());
+        assertEquals(3, summary.integerSetSize());
+        assertEquals(3, summary.metadataSize());
+        assertEquals(2, summary.addressesSize());
     }
 
     @Test
@@ -207,14 +235,14 @@ class DataControllerTest {
         data.setMetadata(null);
         data.setAddresses(null);
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertEquals(0, summary.get("stringListSize"));
-        assertEquals(0, summary.get("integerSetSize"));
-        assertEquals(0, summary.get("metadataSize"));
-        assertEquals(0, summary.get("addressesSize"));
+        assertEquals(0, summary.stringListSize());
+        assertEquals(0, summary.integerSetSize());
+        assertEquals(0, summary.metadataSize());
+        assertEquals(0, summary.addressesSize());
     }
 
     @Test
@@ -222,54 +250,133 @@ class DataControllerTest {
         ComprehensiveData data = new ComprehensiveData();
         data.setNullableField(null);
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
-        Map<String, Object> summary = (Map<String, Object>) response.getBody().get("summary");
+        ComprehensiveDataSummary summary = response.getBody().summary();
 
-        assertNull(summary.get("nullableField"));
+        assertNull(summary.nullableField());
     }
 
     @Test
     void testProcessComprehensiveData_ShouldIncludeFullDataInResponse() {
         ComprehensiveData data = createFullComprehensiveData();
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
+
+        assertNotNull(response.getBody().fullData());
+        assertEquals(data, response.getBody().fullData());
+    }
+
+    @Test
+    void testProcessComprehensiveData_ShouldEchoRequestBytesVerbatim() throws IOException {
+        String body = "{\"floatValue\": 3.14159000, \"stringValue\": \"caf\u00e9\", \"extra\": [1]}";
+
+        ResponseEntity<byte[]> response = controller.processComprehensiveData(body.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String json = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"fullData\":" + body));
+        JsonNode summary = OBJECT_MAPPER.readTree(json).get("summary");
+        assertEquals(3.14159f, summary.get("floatValue").floatValue());
+        assertEquals("caf\u00e9", summary.get("stringValue").textValue());
+    }
+
+    @Test
+    void testProcessComprehensiveData_ShouldRejectBodiesThatCannotBeEchoed() throws IOException {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.processComprehensiveData(
+                "{\"stringValue\": \"a\"} {}".getBytes(StandardCharsets.UTF_8)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.processComprehensiveData(
+                "{\"stringValue\": ".getBytes(StandardCharsets.UTF_8)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.processComprehensiveData(
+                "null".getBytes(StandardCharsets.UTF_8)).getStatusCode());
+    }
+
+    @Test
+    void testProcessComprehensiveData_ShouldReserializeWhenEchoIsOffOrBodyIsNotUtf8() throws IOException {
+        byte[] utf16 = "{\"stringValue\": \"a\"}".getBytes(StandardCharsets.UTF_16BE);
+        JsonNode converted = OBJECT_MAPPER.readTree(controller.processComprehensiveData(utf16).getBody());
+        assertEquals("a", converted.get("fullData").get("stringValue").textValue());
+        assertTrue(converted.get("fullData").has("byteValue"));
+
+        DataController reserializing = new DataController(OBJECT_MAPPER, false, batchProcessor);
+        ResponseEntity<byte[]> response =
+                reserializing.processComprehensiveData("{\"stringValue\": \"a\"}".getBytes(StandardCharsets.UTF_8));
+        JsonNode fullData = OBJECT_MAPPER.readTree(response.getBody()).get("fullData");
+        assertEquals("a", fullData.get("stringValue").textValue());
+        assertTrue(fullData.has("byteValue"));
+    }
+
+    @Test
+    void testProcessComprehensiveDataBinary_ShouldEchoParsedDocument() {
+        ComprehensiveData data = createFullComprehensiveData();
+
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveDataBinary(data);
 
-        assertNotNull(response.getBody().get("fullData"));
-        assertEquals(data, response.getBody().get("fullData"));
+        assertSame(data, response.getBody().fullData());
+        assertEquals("Hello, World!", response.getBody().summary().stringValue());
+    }
+
+    @Test
+    void testProcessComprehensiveDataBatch_ShouldSummarizeNdjsonRecords() throws IOException {
+        String body = "{\"status\": \"ACTIVE\"}\n{\"byteValue\": \"big\"}\n{\"status\": \"PENDING\"}\n";
+
+        ResponseEntity<byte[]> response = controller.processComprehensiveDataBatch(
+                "application/x-ndjson", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode result = OBJECT_MAPPER.readTree(response.getBody());
+        assertEquals(3, result.get("records").intValue());
+        assertEquals(2, result.get("processed").intValue());
+        assertEquals(1, result.get("failed").intValue());
+        assertEquals(1, result.get("statusCounts").get("ACTIVE").intValue());
+        assertEquals(1, result.get("errors").get(0).get("index").intValue());
+    }
+
+    @Test
+    void testProcessComprehensiveDataBatch_ShouldAcceptJsonArray() throws IOException {
+        String body = "[" + DataController.EXAMPLE_JSON + ", " + DataController.EXAMPLE_JSON + "]";
+
+        ResponseEntity<byte[]> response = controller.processComprehensiveDataBatch(
+                "application/json", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        JsonNode result = OBJECT_MAPPER.readTree(response.getBody());
+        assertEquals(2, result.get("processed").intValue());
+        assertTrue(result.get("complete").booleanValue());
+        assertEquals(0, result.get("errors").size());
     }
 
     @Test
     void testProcessComprehensiveData_ShouldHandleEmptyData() {
         ComprehensiveData data = new ComprehensiveData();
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
+        ResponseEntity<ComprehensiveDataResponse> response = controller.processComprehensiveData(data);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue((Boolean) response.getBody().get("received"));
+        assertTrue(response.getBody().received());
     }
 
     @Test
-    void testProcessComprehensiveData_ResponseStructure() {
-        ComprehensiveData data = new ComprehensiveData();
+    void testProcessComprehensiveData_ResponseStructure() throws IOException {
+        ResponseEntity<byte[]> response = controller.processComprehensiveData("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode body = OBJECT_MAPPER.readTree(response.getBody());
+        assertEquals(List.of("received", "message", "summary", "fullData"), fieldNames(body));
+
+        List<String> summary = fieldNames(body.get("summary"));
+        assertEquals(27, summary.size());
+        assertEquals("byteValue", summary.get(0));
+        assertEquals("stringArrayLength", summary.get(19));
+        assertEquals("nullableField", summary.get(26));
+        assertTrue(body.get("summary").get("nullableField").isNull());
+        assertEquals(0, body.get("summary").get("addressesSize").intValue());
+    }
 
-        ResponseEntity<Map<String, Object>> response = controller.processComprehensiveData(data);
-
-        Map<String, Object> body = response.getBody();
-        assertNotNull(body);
-        assertTrue(body.containsKey("received"));
-        assertTrue(body.containsKey("message"));
-        assertTrue(body.containsKey("summary"));
-        assertTrue(body.containsKey("fullData"));
-
-        Map<String, Object> summary = (Map<String, Object>) body.get("summary");
-        assertNotNull(summary);
-        assertTrue(summary.containsKey("byteValue"));
-        assertTrue(summary.containsKey("shortValue"));
-        assertTrue(summary.containsKey("integerValue"));
-        assertTrue(summary.containsKey("stringArrayLength"));
-        assertTrue(summary.containsKey("nullableField"));
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
     }
 
     // Helper method to create comprehensive test data
@@ -297,15 +404,15 @@ class DataControllerTest {
         data.setAddress(new Address("123 Main St", "Springfield", "IL", "62701", "USA"));
         data.setStringArray(new String[]{"one", "two", "three"});
         data.setIntArray(new int[]{1, 2, 3, 4, 5});
-        data.setIntegerArray(new Integer[]{10, 20, 30});
+        data.setIntegerArray(IntList.of(10, 20, 30));
         data.setStringList(Arrays.asList("alpha", "beta", "gamma"));
-        data.setIntegerSet(new HashSet<>(Arrays.asList(100, 200, 300)));
+        data.setIntegerSet(IntHashSet.of(100, 200, 300));
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("key1", "value1");
         metadata.put("key2", 42);
         metadata.put("key3", true);
-        data.setMetadata(metadata);
+        data.setMetadata(new LazyJsonObject(metadata));
 
         List<Address> addresses = Arrays.asList(
             new Address("456 Oak Ave", "Portland", "OR", "97201", "USA"),
@@ -1,49 +1,79 @@
 package com.folley.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folley.bulk.ProductImporter;
+import com.folley.cache.ProductResponseCache;
+import com.folley.changes.ProductChange;
+import com.folley.changes.ProductChangeLog;
+import com.folley.changes.ProductChanges;
 import com.folley.model.Product;
+import com.folley.model.ProductLookup;
+import com.folley.model.ProductOperation;
+import com.folley.model.ProductOperationResult;
+import com.folley.model.ProductPage;
+import com.folley.repository.ProductRepository;
+import com.folley.search.ProductSearchIndex;
+import com.folley.search.ProductTextIndex;
+import com.folley.search.ProductTextMatch;
+import com.folley.stats.ProductStatistics;
+import com.folley.stats.ProductStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProductControllerTest {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private ProductController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new ProductController();
+        ProductRepository repository = new ProductRepository();
+        controller = new ProductController(repository, new ProductSearchIndex(repository),
+                new ProductTextIndex(repository), new ProductResponseCache(repository, OBJECT_MAPPER, 1 << 20, false),
+                new ProductChangeLog(repository, 1024), new ProductStatistics(repository),
+                new ProductImporter(repository, 2, 2, 2));
     }
 
     @Test
-    void testGetAllProducts_ShouldReturnEmptyListInitially() {
-        ResponseEntity<List<Product>> response = controller.getAllProducts();
+    void testGetAllProducts_ShouldReturnEmptyListInitially() throws Exception {
+        ResponseEntity<byte[]> response = controller.getAllProducts(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(readProducts(response).isEmpty());
     }
 
     @Test
-    void testGetAllProducts_ShouldReturnAllProducts() {
+    void testGetAllProducts_ShouldReturnAllProducts() throws Exception {
         Product product1 = new Product(1L, "Laptop", 999.99, "High-performance laptop");
         Product product2 = new Product(2L, "Mouse", 29.99, "Wireless mouse");
         controller.createProduct(product1);
         controller.createProduct(product2);
 
-        ResponseEntity<List<Product>> response = controller.getAllProducts();
+        ResponseEntity<byte[]> response = controller.getAllProducts(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
+        assertEquals(2, readProducts(response).size());
     }
 
     @Test
-    void testCreateProduct_ShouldAddProductToList() {
+    void testCreateProduct_ShouldAddProductToList() throws Exception {
         Product product = new Product(1L, "Laptop", 999.99, "High-performance laptop");
 
         ResponseEntity<Product> response = controller.createProduct(product);
@@ -52,55 +82,74 @@ class ProductControllerTest {
         assertNotNull(response.getBody());
         assertEquals(product.getId(), response.getBody().getId());
         assertEquals(product.getName(), response.getBody().getName());
-        assertEquals(1, controller.getAllProducts().getBody().size());
+        assertEquals(1, readProducts(controller.getAllProducts(null, null)).size());
+    }
+
+    @Test
+    void testCreateProduct_ShouldAssignIdWhenMissing() {
+        ResponseEntity<Product> first = controller.createProduct(new Product(null, "Laptop", 999.99, "Laptop desc"));
+        ResponseEntity<Product> second = controller.createProduct(new Product(null, "Mouse", 29.99, "Mouse desc"));
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNotNull(first.getBody().getId());
+        assertNotEquals(first.getBody().getId(), second.getBody().getId());
     }
 
     @Test
-    void testGetProductById_ShouldReturnProduct() {
+    void testCreateProduct_ShouldRejectDuplicateId() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        ResponseEntity<Product> response = controller.createProduct(new Product(1L, "Mouse", 29.99, "Mouse desc"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void testGetProductById_ShouldReturnProduct() throws Exception {
         Product product = new Product(1L, "Laptop", 999.99, "High-performance laptop");
         controller.createProduct(product);
 
-        ResponseEntity<Product> response = controller.getProductById(1L);
+        ResponseEntity<byte[]> response = controller.getProductById(1L, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1L, response.getBody().getId());
-        assertEquals("Laptop", response.getBody().getName());
+        assertEquals(1L, readProduct(response).getId());
+        assertEquals("Laptop", readProduct(response).getName());
     }
 
     @Test
     void testGetProductById_ShouldReturnNotFoundForNonexistentProduct() {
-        ResponseEntity<Product> response = controller.getProductById(999L);
+        ResponseEntity<byte[]> response = controller.getProductById(999L, null, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
 
     @Test
-    void testDeleteProduct_ShouldRemoveProductFromList() {
+    void testDeleteProduct_ShouldRemoveProductFromList() throws Exception {
         Product product = new Product(1L, "Laptop", 999.99, "High-performance laptop");
         controller.createProduct(product);
 
-        ResponseEntity<Void> response = controller.deleteProduct(1L);
+        ResponseEntity<Void> response = controller.deleteProduct(1L, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        assertTrue(controller.getAllProducts().getBody().isEmpty());
+        assertTrue(readProducts(controller.getAllProducts(null, null)).isEmpty());
     }
 
     @Test
     void testDeleteProduct_ShouldReturnNotFoundForNonexistentProduct() {
-        ResponseEntity<Void> response = controller.deleteProduct(999L);
+        ResponseEntity<Void> response = controller.deleteProduct(999L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
     @Test
-    void testUpdateProduct_ShouldUpdateExistingProduct() {
+    void testUpdateProduct_ShouldUpdateExistingProduct() throws Exception {
         Product originalProduct = new Product(1L, "Laptop", 999.99, "High-performance laptop");
         controller.createProduct(originalProduct);
 
         Product updatedProduct = new Product(null, "Gaming Laptop", 1299.99, "High-end gaming laptop");
-        ResponseEntity<Product> response = controller.updateProduct(1L, updatedProduct);
+        ResponseEntity<Product> response = controller.updateProduct(1L, updatedProduct, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -109,40 +158,465 @@ class ProductControllerTest {
         assertEquals(1299.99, response.getBody().getPrice());
 
         // Verify the product was actually updated in the list
-        ResponseEntity<Product> retrievedProduct = controller.getProductById(1L);
-        assertEquals("Gaming Laptop", retrievedProduct.getBody().getName());
-        assertEquals(1299.99, retrievedProduct.getBody().getPrice());
+        ResponseEntity<byte[]> retrievedProduct = controller.getProductById(1L, null, null);
+        assertEquals("Gaming Laptop", readProduct(retrievedProduct).getName());
+        assertEquals(1299.99, readProduct(retrievedProduct).getPrice());
     }
 
     @Test
     void testUpdateProduct_ShouldReturnNotFoundForNonexistentProduct() {
         Product updatedProduct = new Product(1L, "Gaming Laptop", 1299.99, "High-end gaming laptop");
 
-        ResponseEntity<Product> response = controller.updateProduct(999L, updatedProduct);
+        ResponseEntity<Product> response = controller.updateProduct(999L, updatedProduct, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
 
     @Test
-    void testMultipleOperations() {
+    void testMultipleOperations() throws Exception {
         // Create multiple products
         controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
         controller.createProduct(new Product(2L, "Mouse", 29.99, "Mouse desc"));
         controller.createProduct(new Product(3L, "Keyboard", 79.99, "Keyboard desc"));
 
-        assertEquals(3, controller.getAllProducts().getBody().size());
+        assertEquals(3, readProducts(controller.getAllProducts(null, null)).size());
 
         // Delete one product
-        controller.deleteProduct(2L);
-        assertEquals(2, controller.getAllProducts().getBody().size());
+        controller.deleteProduct(2L, null);
+        assertEquals(2, readProducts(controller.getAllProducts(null, null)).size());
 
         // Update one product
         Product updatedKeyboard = new Product(null, "Mechanical Keyboard", 129.99, "Mechanical keyboard");
-        controller.updateProduct(3L, updatedKeyboard);
+        controller.updateProduct(3L, updatedKeyboard, null);
+
+        ResponseEntity<byte[]> updated = controller.getProductById(3L, null, null);
+        assertEquals("Mechanical Keyboard", readProduct(updated).getName());
+        assertEquals(129.99, readProduct(updated).getPrice());
+    }
+
+    @Test
+    void testGetProductsByIds_ShouldReturnFoundProductsAndMissingIds() throws Exception {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        controller.createProduct(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+
+        ResponseEntity<byte[]> response = controller.getProductsByIds("2, 5,1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode body = OBJECT_MAPPER.readTree(response.getBody());
+        assertEquals("Mouse", body.get("products").get(0).get("name").asText());
+        assertEquals("Laptop", body.get("products").get(1).get("name").asText());
+        assertEquals(2, body.get("products").size());
+        assertEquals("[5]", body.get("missing").toString());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getProductsByIds("1,x").getStatusCode());
+    }
+
+    @Test
+    void testGetProductsByIds_ShouldAcceptIdArrayBody() throws Exception {
+        controller.createProduct(new Product(3L, "Keyboard", 49.99, null));
+
+        ResponseEntity<byte[]> response = controller.getProductsByIds(new long[]{3, 4});
+        JsonNode body = OBJECT_MAPPER.readTree(response.getBody());
+
+        assertEquals(3L, body.get("products").get(0).get("id").asLong());
+        assertEquals("[4]", body.get("missing").toString());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE,
+                controller.getProductsByIds(new long[ProductController.MAX_BATCH_SIZE + 1]).getStatusCode());
+    }
+
+    @Test
+    void testGetProductsByIdsBinary_ShouldReturnLookupForConverters() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        ResponseEntity<ProductLookup> response = controller.getProductsByIdsBinary("7,1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Laptop", response.getBody().products().get(0).getName());
+        assertArrayEquals(new long[]{7}, response.getBody().missing());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getProductsByIdsBinary("1,").getStatusCode());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE,
+                controller.getProductsByIdsBinary(new long[ProductController.MAX_BATCH_SIZE + 1]).getStatusCode());
+    }
+
+    @Test
+    void testGetProductPage_ShouldWalkCatalogWithCursors() {
+        for (long id = 1; id <= 5; id++) {
+            controller.createProduct(new Product(id, "Product " + id, id * 10.0, "desc"));
+        }
+
+        ResponseEntity<ProductPage> first = controller.getProductPage(2, null, null);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(2, first.getBody().items().size());
+        assertNotNull(first.getBody().nextCursor());
+
+        ResponseEntity<ProductPage> second = controller.getProductPage(2, first.getBody().nextCursor(), null);
+        assertEquals(3L, ((Product) second.getBody().items().get(0)).getId());
+
+        ResponseEntity<ProductPage> last = controller.getProductPage(2, second.getBody().nextCursor(), null);
+        assertEquals(1, last.getBody().items().size());
+        assertEquals(5L, ((Product) last.getBody().items().get(0)).getId());
+        assertNull(last.getBody().nextCursor());
+    }
+
+    @Test
+    void testGetProductPage_ShouldNotSkipProductsWhenEarlierOnesAreDeleted() {
+        for (long id = 1; id <= 4; id++) {
+            controller.createProduct(new Product(id, "Product " + id, 10.0, "desc"));
+        }
+
+        ResponseEntity<ProductPage> first = controller.getProductPage(2, null, null);
+        controller.deleteProduct(1L, null);
+        controller.deleteProduct(2L, null);
+
+        ResponseEntity<ProductPage> second = controller.getProductPage(2, first.getBody().nextCursor(), null);
+        assertEquals(2, second.getBody().items().size());
+        assertEquals(3L, ((Product) second.getBody().items().get(0)).getId());
+    }
+
+    @Test
+    void testGetProductPage_ShouldProjectRequestedFields() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+
+        ResponseEntity<ProductPage> response = controller.getProductPage(10, null, "id,price");
+
+        Map<?, ?> item = (Map<?, ?>) response.getBody().items().get(0);
+        assertEquals(2, item.size());
+        assertEquals(1L, item.get("id"));
+        assertEquals(999.99, item.get("price"));
+        assertFalse(item.containsKey("description"));
+    }
+
+    @Test
+    void testGetProductPage_ShouldRejectInvalidParameters() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getProductPage(0, null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getProductPage(10, "not-a-cursor", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getProductPage(10, null, "id,weight").getStatusCode());
+    }
+
+    @Test
+    void testExportProducts_ShouldStreamOneJsonObjectPerLine() throws Exception {
+        controller.createProduct(new Product(2L, "Mouse", 29.99, "Wireless mouse"));
+        controller.createProduct(new Product(1L, "Laptop", 999.99, null));
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportProducts();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("""
+                {"id":1,"name":"Laptop","price":999.99,"description":null,"version":2}
+                {"id":2,"name":"Mouse","price":29.99,"description":"Wireless mouse","version":1}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportProducts_ShouldReportVersionToCatchUpFrom() throws Exception {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, null));
+        controller.createProduct(new Product(2L, "Mouse", 29.99, null));
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportProducts();
+        controller.deleteProduct(1L, null);
+        controller.createProduct(new Product(3L, "Keyboard", 49.99, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        long version = Long.parseLong(response.getHeaders().getFirst("X-Catalog-Version"));
+        assertEquals(2, version);
+        assertEquals("""
+                {"id":2,"name":"Mouse","price":29.99,"description":null,"version":2}
+                {"id":3,"name":"Keyboard","price":49.99,"description":null,"version":4}
+                """, out.toString(StandardCharsets.UTF_8));
+        ProductChanges changes = controller.getChanges(version, 100).getBody();
+        assertEquals(List.of(1L, 3L), changes.changes().stream().map(ProductChange::id).toList());
+    }
+
+    @Test
+    void testImportProducts_ShouldStreamErrorsAndSummary() throws Exception {
+        String csv = """
+                id,name,price
+                1,Laptop,999.99
+                2,Mouse,not-a-price
+                3,Keyboard,49.99
+                """;
+
+        ResponseEntity<StreamingResponseBody> response = controller.importProducts("text/csv; charset=UTF-8",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String[] events = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, events.length);
+        Map<String, Object> error = OBJECT_MAPPER.readValue(events[0], new TypeReference<>() {});
+        assertEquals("error", error.get("event"));
+        assertEquals(3, error.get("line"));
+        Map<String, Object> summary = OBJECT_MAPPER.readValue(events[1], new TypeReference<>() {});
+        assertEquals("summary", summary.get("event"));
+        assertEquals(2, summary.get("imported"));
+        assertEquals(1, summary.get("failed"));
+        assertEquals(HttpStatus.OK, controller.getProductById(3L, null, null).getStatusCode());
+    }
+
+    @Test
+    void testApplyBatch_ShouldReportPerOperationStatus() throws Exception {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        List<ProductOperation> operations = List.of(
+                new ProductOperation(ProductOperation.Type.CREATE, null, new Product(2L, "Mouse", 29.99, "Mouse desc")),
+                new ProductOperation(ProductOperation.Type.UPDATE, 1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming")),
+                new ProductOperation(ProductOperation.Type.DELETE, 42L, null),
+                new ProductOperation(ProductOperation.Type.UPDATE, 3L, null),
+                new ProductOperation(ProductOperation.Type.CREATE, null, new Product(1L, "Laptop", 999.99, "Duplicate")),
+                new ProductOperation(ProductOperation.Type.CREATE, null, new Product(null, "Keyboard", 79.99, "No id")));
+
+        ResponseEntity<List<ProductOperationResult>> response = controller.applyBatch(operations, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<ProductOperationResult> results = response.getBody();
+        assertEquals(201, results.get(0).status());
+        assertEquals(200, results.get(1).status());
+        assertEquals(404, results.get(2).status());
+        assertEquals(400, results.get(3).status());
+        assertEquals(409, results.get(4).status());
+        assertEquals(201, results.get(5).status());
+        assertNotNull(results.get(5).id());
+        assertEquals(3, readProducts(controller.getAllProducts(null, null)).size());
+        assertEquals("Gaming Laptop", readProduct(controller.getProductById(1L, null, null)).getName());
+    }
+
+    @Test
+    void testApplyBatch_AtomicBatchShouldApplyNothingWhenOneOperationFails() throws Exception {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        List<ProductOperation> operations = List.of(
+                new ProductOperation(ProductOperation.Type.CREATE, null, new Product(2L, "Mouse", 29.99, "Mouse desc")),
+                new ProductOperation(ProductOperation.Type.DELETE, 1L, null),
+                new ProductOperation(ProductOperation.Type.UPDATE, 1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming")));
+
+        ResponseEntity<List<ProductOperationResult>> response = controller.applyBatch(operations, true);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(424, response.getBody().get(0).status());
+        assertEquals(424, response.getBody().get(1).status());
+        assertEquals(404, response.getBody().get(2).status());
+        assertEquals(1, readProducts(controller.getAllProducts(null, null)).size());
+        assertEquals("Laptop", readProduct(controller.getProductById(1L, null, null)).getName());
+    }
+
+    @Test
+    void testApplyBatch_AtomicBatchShouldSeeItsOwnEarlierOperations() throws Exception {
+        List<ProductOperation> operations = List.of(
+                new ProductOperation(ProductOperation.Type.CREATE, null, new Product(1L, "Laptop", 999.99, "Laptop desc")),
+                new ProductOperation(ProductOperation.Type.UPDATE, 1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming")));
+
+        ResponseEntity<List<ProductOperationResult>> response = controller.applyBatch(operations, true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Gaming Laptop", readProduct(controller.getProductById(1L, null, null)).getName());
+    }
+
+    @Test
+    void testSearchProducts_ShouldFilterAndSortByPrice() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        controller.createProduct(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        controller.createProduct(new Product(3L, "Keyboard", 79.99, "Keyboard desc"));
+
+        ResponseEntity<List<Product>> response = controller.searchProducts(20.0, 100.0, null, null, "-price", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(3L, 2L), response.getBody().stream().map(Product::getId).toList());
+        assertEquals("PRICE_INDEX", response.getHeaders().getFirst("X-Query-Plan"));
+    }
+
+    @Test
+    void testSearchProducts_ShouldRejectNaNBoundsAndFindNothingInInvertedRange() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchProducts(Double.NaN, null, null, null, "id", 10).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchProducts(null, Double.NaN, "lap", null, "-price", 10).getStatusCode());
+
+        ResponseEntity<List<Product>> inverted = controller.searchProducts(1000.0, 10.0, "lap", null, "-price", 10);
+        assertEquals(HttpStatus.OK, inverted.getStatusCode());
+        assertTrue(inverted.getBody().isEmpty());
+    }
+
+    @Test
+    void testSearchProducts_ShouldRejectUnknownSort() {
+        ResponseEntity<List<Product>> response = controller.searchProducts(null, null, null, null, "weight", 10);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testSearchProductText_ShouldRankNameMatchesFirst() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Comes with a wireless mouse"));
+        controller.createProduct(new Product(2L, "Wireless Mouse", 29.99, "Ergonomic mouse"));
+
+        ResponseEntity<List<ProductTextMatch>> response = controller.searchProductText("wireless mouse", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals(2L, response.getBody().get(0).product().getId());
+    }
+
+    @Test
+    void testSearchProductText_ShouldRejectBlankQuery() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchProductText("  ", 10).getStatusCode());
+    }
+
+    @Test
+    void testGetProductById_ShouldAnswerNotModifiedForMatchingETag() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+        String etag = controller.getProductById(1L, null, null).getHeaders().getETag();
+
+        ResponseEntity<byte[]> response = controller.getProductById(1L, "W/" + etag, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetProductById_ShouldHonourGzipWeightsInAcceptEncoding() {
+        ProductRepository repository = new ProductRepository();
+        ProductController gzipping = new ProductController(repository, new ProductSearchIndex(repository),
+                new ProductTextIndex(repository), new ProductResponseCache(repository, OBJECT_MAPPER, 1 << 20, true),
+                new ProductChangeLog(repository, 1024), new ProductStatistics(repository),
+                new ProductImporter(repository, 2, 2, 2));
+        gzipping.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop ".repeat(100)));
+
+        for (String accepted : List.of("gzip", "br, GZIP;q=0.5", "*", "deflate, *;q=0.1", "x-gzip")) {
+            assertEquals("gzip", gzipping.getProductById(1L, null, accepted).getHeaders().getFirst("Content-Encoding"),
+                    accepted);
+        }
+        for (String refused : List.of("gzip;q=0", "gzip; q=0.000", "*, gzip;q=0", "identity", "gzip;q=x", "br")) {
+            assertNull(gzipping.getProductById(1L, null, refused).getHeaders().getFirst("Content-Encoding"), refused);
+        }
+    }
+
+    @Test
+    void testGetProductByIdBinary_ShouldCarryWeakFormOfJsonETag() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+        String etag = controller.getProductById(1L, null, null).getHeaders().getETag();
+
+        ResponseEntity<Product> response = controller.getProductByIdBinary(1L, null);
+
+        assertEquals("Laptop", response.getBody().getName());
+        assertEquals("W/" + etag, response.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getProductByIdBinary(1L, etag).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getProductByIdBinary(2L, null).getStatusCode());
+    }
+
+    @Test
+    void testGetAllProductsBinary_ShouldListCatalogWithWeakETag() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+        controller.createProduct(new Product(2L, "Mouse", 29.99, null));
+        String etag = controller.getAllProducts(null, null).getHeaders().getETag();
+
+        ResponseEntity<List<Product>> response = controller.getAllProductsBinary(null);
+
+        assertEquals(2, response.getBody().size());
+        assertEquals("W/" + etag, response.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getAllProductsBinary("W/" + etag).getStatusCode());
+    }
+
+    @Test
+    void testGetAllProducts_ShouldChangeETagAfterWrite() throws Exception {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+        String etag = controller.getAllProducts(null, null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getAllProducts(etag, null).getStatusCode());
+
+        controller.deleteProduct(1L, null);
+
+        ResponseEntity<byte[]> response = controller.getAllProducts(etag, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertTrue(readProducts(response).isEmpty());
+    }
+
+    @Test
+    void testUpdateProduct_ShouldRejectStaleIfMatch() throws Exception {
+        String etag = controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"))
+                .getHeaders().getETag();
+
+        ResponseEntity<Product> first = controller.updateProduct(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"), etag);
+        ResponseEntity<Product> second = controller.updateProduct(1L, new Product(null, "Old Laptop", 499.99, "Used"), etag);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotEquals(etag, first.getHeaders().getETag());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, second.getStatusCode());
+        assertEquals("Gaming Laptop", readProduct(controller.getProductById(1L, null, null)).getName());
+    }
+
+    @Test
+    void testDeleteProduct_ShouldHonorIfMatch() {
+        String etag = controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"))
+                .getHeaders().getETag();
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, controller.deleteProduct(1L, "\"12345\"").getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, controller.deleteProduct(1L, "W/" + etag).getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, controller.deleteProduct(1L, etag).getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, controller.deleteProduct(1L, etag).getStatusCode());
+    }
+
+    @Test
+    void testGetProductById_ShouldServeRepeatReadsFromCache() throws Exception {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+
+        byte[] first = controller.getProductById(1L, null, null).getBody();
+        byte[] second = controller.getProductById(1L, null, null).getBody();
+        controller.updateProduct(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"), null);
+        byte[] third = controller.getProductById(1L, null, null).getBody();
+
+        assertSame(first, second);
+        assertEquals("Gaming Laptop", OBJECT_MAPPER.readValue(third, Product.class).getName());
+        assertEquals(1, controller.getCacheStats().getBody().hits());
+        assertEquals(2, controller.getCacheStats().getBody().misses());
+    }
+
+    @Test
+    void testGetChanges_ShouldReturnLatestChangePerProduct() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        long since = controller.getChanges(0, 100).getBody().version();
+        controller.createProduct(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        controller.updateProduct(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"), null);
+        controller.deleteProduct(2L, null);
+
+        ResponseEntity<ProductChanges> response = controller.getChanges(since, 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ProductChanges changes = response.getBody();
+        assertEquals(2, changes.changes().size());
+        assertEquals("Gaming Laptop", changes.changes().get(0).product().getName());
+        assertTrue(changes.changes().get(1).deleted());
+        assertEquals(since + 3, changes.version());
+        assertTrue(controller.getChanges(changes.version(), 100).getBody().changes().isEmpty());
+    }
+
+    @Test
+    void testGetStats_ShouldTrackWrites() {
+        controller.createProduct(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        controller.createProduct(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        controller.createProduct(new Product(3L, "Cable", null, "Cable desc"));
+        controller.updateProduct(2L, new Product(null, "Mouse", 19.99, "Mouse desc"), null);
+        controller.deleteProduct(1L, null);
+
+        ProductStats stats = controller.getStats().getBody();
+
+        assertEquals(2, stats.count());
+        assertEquals(1, stats.pricedCount());
+        assertEquals(19.99, stats.sum(), 1e-9);
+        assertEquals(19.99, stats.min());
+        assertEquals(19.99, stats.max());
+        assertEquals(19.99, stats.p50());
+    }
+
+    private static Product readProduct(ResponseEntity<byte[]> response) throws IOException {
+        return OBJECT_MAPPER.readValue(response.getBody(), Product.class);
+    }
 
-        ResponseEntity<Product> updated = controller.getProductById(3L);
-        assertEquals("Mechanical Keyboard", updated.getBody().getName());
-        assertEquals(129.99, updated.getBody().getPrice());
+    private static List<Product> readProducts(ResponseEntity<byte[]> response) throws IOException {
+        return OBJECT_MAPPER.readValue(response.getBody(), new TypeReference<>() {
+        });
     }
 }
@@ -0,0 +1,76 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.controller.DataController;
+import com.folley.model.Address;
+import com.folley.model.ComprehensiveData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressDeserializerTest {
+
+    private static final String BATCH = """
+            [{"street": "1 Main St", "city": "Portland", "state": "OR", "zipCode": "97201", "country": "USA"},
+             {"street": "2 Main St", "city": "Portland", "state": "OR", "zipCode": "97201", "country": "USA"},
+             {"street": "1 Main St", "city": "Portland", "state": "OR", "zipCode": "97201", "country": "USA"}]
+            """;
+    private static final TypeReference<List<Address>> ADDRESS_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper generated = new ObjectMapper().registerModule(JsonCodecs.module());
+
+    @Test
+    void testDeserialize_ShouldReadSameValuesAsGeneratedCodec() throws Exception {
+        ObjectMapper pooled = mapper(0);
+        String json = "{\"zipCode\": 12345, \"street\": null, \"city\": \"Salem\", \"country\": \"USA\", \"state\": \"OR\"}";
+
+        assertEquals(generated.writeValueAsString(generated.readValue(json, Address.class)),
+                generated.writeValueAsString(pooled.readValue(json, Address.class)));
+        assertThrows(Exception.class, () -> pooled.readValue("{\"unknown\": 1}", Address.class));
+        assertNull(pooled.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue("{\"unknown\": 1}", Address.class).getCity());
+    }
+
+    @Test
+    void testDeserialize_ShouldShareRepeatedStrings() throws Exception {
+        List<Address> addresses = mapper(0).readValue(BATCH, ADDRESS_LIST);
+
+        assertSame(addresses.get(0).getCity(), addresses.get(1).getCity());
+        assertSame(addresses.get(0).getState(), addresses.get(2).getState());
+        assertSame(addresses.get(1).getZipCode(), addresses.get(2).getZipCode());
+        assertSame(addresses.get(0).getCountry(), addresses.get(1).getCountry());
+        assertNotSame(addresses.get(0), addresses.get(2));
+    }
+
+    @Test
+    void testDeserialize_ShouldShareEqualAddressesWhenEnabled() throws Exception {
+        List<Address> addresses = mapper(64).readValue(BATCH, ADDRESS_LIST);
+
+        assertSame(addresses.get(0), addresses.get(2));
+        assertNotSame(addresses.get(0), addresses.get(1));
+    }
+
+    @Test
+    void testDeserialize_ShouldApplyToNestedAddresses() throws Exception {
+        ObjectMapper pooled = mapper(0).registerModule(new JavaTimeModule());
+
+        ComprehensiveData data = pooled.readValue(DataController.EXAMPLE_JSON, ComprehensiveData.class);
+
+        assertEquals("USA", data.getAddress().getCountry());
+        assertSame(data.getAddress().getCountry(), data.getAddresses().get(0).getCountry());
+        assertSame(data.getAddresses().get(0).getCountry(), data.getAddresses().get(1).getCountry());
+    }
+
+    private static ObjectMapper mapper(int sharedCapacity) {
+        SimpleModule module = JsonCodecs.module();
+        module.addDeserializer(Address.class, new AddressDeserializer(new StringPool(256), sharedCapacity));
+        return new ObjectMapper().registerModule(module);
+    }
+}
@@ -0,0 +1,47 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.controller.DataController;
+import com.folley.model.ComprehensiveData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatConfigurationTest {
+
+    private final ObjectMapper json = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(JsonCodecs.module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final BinaryFormatConfiguration configuration = new BinaryFormatConfiguration();
+
+    @Test
+    void testBinaryConverters_ShouldRoundTripExampleLosslessly() throws Exception {
+        ComprehensiveData example = json.readValue(DataController.EXAMPLE_JSON, ComprehensiveData.class);
+        String expected = json.writeValueAsString(example);
+        int jsonSize = expected.getBytes(StandardCharsets.UTF_8).length;
+
+        ObjectMapper cbor = configuration.cborHttpMessageConverter(json).getObjectMapper();
+        byte[] cborBytes = cbor.writeValueAsBytes(example);
+        assertEquals(expected, json.writeValueAsString(cbor.readValue(cborBytes, ComprehensiveData.class)));
+        assertTrue(cborBytes.length < jsonSize);
+
+        ObjectMapper smile = configuration.smileHttpMessageConverter(json).getObjectMapper();
+        byte[] smileBytes = smile.writeValueAsBytes(example);
+        assertEquals(expected, json.writeValueAsString(smile.readValue(smileBytes, ComprehensiveData.class)));
+        assertTrue(smileBytes.length < jsonSize);
+    }
+
+    @Test
+    void testBinaryConverters_ShouldKeepApplicationMapperSettings() {
+        ObjectMapper cbor = configuration.cborHttpMessageConverter(json).getObjectMapper();
+
+        assertNotSame(json, cbor);
+        assertFalse(cbor.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        assertTrue(cbor.getRegisteredModuleIds().containsAll(json.getRegisteredModuleIds()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.folley.controller.DataController;
+import com.folley.model.ComprehensiveData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaTimeDeserializersTest {
+
+    private static final String[] INPUTS = {
+            "2024-10-26", "2024-02-29", "2023-02-29", "2024-13-01", "+2024-10-26", " 2024-10-26",
+            "14:30", "14:30:00", "14:30:00.123456789", "14:30:00.1234567890", "24:00", "23:59:60",
+            "2024-10-26T14:30", "2024-10-26T14:30:00.5", "2024-10-26t14:30:00", "2024-10-26T14:30:00Z",
+            "2024-10-26T14:30:00-05:30", "2024-10-26T14:30:00+18:01", "2024-10-26T14:30:00+0500",
+            "2024-10-26T14:30:00-05:00[America/Chicago]", "2024-03-10T02:30:00-05:00[America/Chicago]",
+            "2024-10-26T14:30:00Z[UTC]", "2024-10-26T14:30:00+01:00[+02:00]", "2024-10-26T14:30:00+01:00[Nowhere/City]",
+            "2024-10-26T14:30:00+01:00[]", "2024-10-26T14:30:00[Europe/Paris]", "1730000000.5", ""};
+
+    private static final Class<?>[] TYPES = {
+            LocalDate.class, LocalTime.class, LocalDateTime.class, Instant.class, ZonedDateTime.class};
+
+    @Test
+    void testFastPaths_ShouldMatchJavaTimeModule() throws Exception {
+        for (boolean adjust : new boolean[]{true, false}) {
+            ObjectMapper standard = mapper()
+                    .configure(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE, adjust)
+                    .setTimeZone(TimeZone.getTimeZone("America/New_York"));
+            ObjectMapper fast = withFastPaths(standard.copy(), new ZoneIdCache(16));
+
+            for (Class<?> type : TYPES) {
+                for (String input : INPUTS) {
+                    String json = "\"" + input + "\"";
+                    assertEquals(read(standard, json, type), read(fast, json, type), type.getSimpleName() + " " + json);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testZonedDateTime_ShouldReuseCachedZones() throws Exception {
+        ZoneIdCache zones = new ZoneIdCache(16);
+        ObjectMapper fast = withFastPaths(mapper(), zones)
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        String json = "\"2024-10-26T14:30:00-05:00[America/Chicago]\"";
+
+        ZonedDateTime first = fast.readValue(json, ZonedDateTime.class);
+        ZonedDateTime second = fast.readValue(json, ZonedDateTime.class);
+
+        assertEquals("America/Chicago", first.getZone().getId());
+        assertSame(first.getZone(), second.getZone());
+        assertSame(first.getZone(), zones.get("America/Chicago".toCharArray(), 0, 15));
+    }
+
+    @Test
+    void testFastPaths_ShouldLeaveFormattedPropertiesToJavaTimeModule() throws Exception {
+        ObjectMapper fast = withFastPaths(mapper(), new ZoneIdCache(16));
+
+        Formatted formatted = fast.readValue("{\"day\": \"26.10.2024\", \"plain\": \"2024-10-26\"}", Formatted.class);
+        assertEquals(LocalDate.of(2024, 10, 26), formatted.day);
+        assertEquals(LocalDate.of(2024, 10, 26), formatted.plain);
+
+        fast.configOverride(LocalTime.class).setFormat(JsonFormat.Value.forPattern("HH.mm"));
+        assertEquals(LocalTime.of(14, 30), fast.readValue("\"14.30\"", LocalTime.class));
+    }
+
+    @Test
+    void testFastPaths_ShouldLeaveCustomFormatterDeserializersAlone() throws Exception {
+        SimpleModule custom = new SimpleModule("day-before-month")
+                .addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ofPattern("yyyy-dd-MM")))
+                .addDeserializer(LocalDateTime.class,
+                        new LocalDateTimeDeserializer(DateTimeFormatter.ofPattern("yyyy-dd-MM'T'HH:mm:ss")));
+        ObjectMapper fast = withFastPaths(mapper().registerModule(custom), new ZoneIdCache(16));
+
+        assertEquals(LocalDate.of(2024, 5, 10), fast.readValue("\"2024-10-05\"", LocalDate.class));
+        assertEquals(LocalDateTime.of(2024, 5, 10, 14, 30), fast.readValue("\"2024-10-05T14:30:00\"", LocalDateTime.class));
+        assertEquals(LocalTime.of(14, 30), fast.readValue("\"14:30\"", LocalTime.class));
+    }
+
+    @Test
+    void testFastPaths_ShouldApplyThroughGeneratedCodecs() throws Exception {
+        ObjectMapper standard = mapper().registerModule(JsonCodecs.module());
+        ObjectMapper configured = mapper().registerModule(new JsonCodecConfiguration().jsonCodecModule(0, false, 256));
+
+        ComprehensiveData expected = standard.readValue(DataController.EXAMPLE_JSON, ComprehensiveData.class);
+        ComprehensiveData actual = configured.readValue(DataController.EXAMPLE_JSON, ComprehensiveData.class);
+
+        assertEquals(standard.writeValueAsString(expected), configured.writeValueAsString(actual));
+        assertEquals(expected.getZonedDateTime(), actual.getZonedDateTime());
+        assertEquals(LocalTime.of(14, 30), actual.getLocalTime());
+    }
+
+    @Test
+    void testFastPaths_ShouldDoNothingWithoutJavaTimeModule() {
+        ObjectMapper fast = withFastPaths(new ObjectMapper(), new ZoneIdCache(16));
+
+        assertThrows(InvalidDefinitionException.class, () -> fast.readValue("\"2024-10-26\"", LocalDate.class));
+    }
+
+    static class Formatted {
+        @JsonFormat(pattern = "dd.MM.yyyy")
+        public LocalDate day;
+        public LocalDate plain;
+    }
+
+    private static ObjectMapper withFastPaths(ObjectMapper mapper, ZoneIdCache zones) {
+        SimpleModule module = new SimpleModule("java-time-fast-paths");
+        JavaTimeDeserializers.addTo(module, zones);
+        return mapper.registerModule(module);
+    }
+
+    private static String read(ObjectMapper mapper, String json, Class<?> type) {
+        try {
+            Object value = mapper.readValue(json, type);
+            return value instanceof ZonedDateTime zoned ? zoned + " " + zoned.getZone().getClass() : String.valueOf(value);
+        } catch (Exception e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+}
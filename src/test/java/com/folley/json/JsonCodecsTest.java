@@ -0,0 +1,93 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.folley.controller.DataController;
+import com.folley.model.Address;
+import com.folley.model.ComprehensiveData;
+import com.folley.model.Product;
+import com.folley.model.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecsTest {
+
+    private static final String EXAMPLE = DataController.EXAMPLE_JSON;
+
+    private final ObjectMapper reflective = mapper();
+    private final ObjectMapper generated = mapper().registerModule(JsonCodecs.module());
+
+    @Test
+    void testGeneratedCodecs_ShouldMatchReflectivePathOnExample() throws Exception {
+        ComprehensiveData expected = reflective.readValue(EXAMPLE, ComprehensiveData.class);
+        ComprehensiveData actual = generated.readValue(EXAMPLE, ComprehensiveData.class);
+
+        assertEquals(reflective.writeValueAsString(expected), generated.writeValueAsString(actual));
+        assertEquals(Status.ACTIVE, actual.getStatus());
+        assertEquals("Austin", actual.getAddresses().get(1).getCity());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, actual.getIntArray());
+    }
+
+    @Test
+    void testGeneratedCodecs_ShouldMatchReflectivePathOnNullsAndEmptyBean() throws Exception {
+        ComprehensiveData empty = new ComprehensiveData();
+        assertEquals(reflective.writeValueAsString(empty), generated.writeValueAsString(empty));
+
+        String json = reflective.writeValueAsString(empty);
+        assertEquals(reflective.writeValueAsString(reflective.readValue(json, ComprehensiveData.class)),
+                generated.writeValueAsString(generated.readValue(json, ComprehensiveData.class)));
+    }
+
+    @Test
+    void testGeneratedDeserializer_ShouldApplyJacksonCoercionsOffTheFastPath() throws Exception {
+        String json = """
+                {"integerValue": "42", "intArray": 7, "stringValue": 12, "byteValue": "",
+                 "status": " PENDING", "unknown": {"nested": [1, 2]}, "characterValue": "B"}
+                """;
+        ObjectMapper lenient = generated.copy().enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+        ComprehensiveData data = lenient.readValue(json, ComprehensiveData.class);
+
+        assertEquals(Integer.valueOf(42), data.getIntegerValue());
+        assertArrayEquals(new int[]{7}, data.getIntArray());
+        assertEquals("12", data.getStringValue());
+        assertNull(data.getByteValue());
+        assertEquals(Character.valueOf('B'), data.getCharacterValue());
+        assertEquals(Status.PENDING, data.getStatus());
+    }
+
+    @Test
+    void testGeneratedDeserializer_ShouldReportErrorsLikeJackson() {
+        assertThrows(InvalidFormatException.class,
+                () -> generated.readValue("{\"status\": \"BOGUS\"}", ComprehensiveData.class));
+        assertThrows(UnrecognizedPropertyException.class,
+                () -> generated.copy().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .readValue("{\"street\": \"Main\", \"planet\": \"Earth\"}", Address.class));
+    }
+
+    @Test
+    void testProductCodec_ShouldRoundTripLists() throws Exception {
+        List<Product> products = List.of(new Product(1L, "Laptop", 999.99, null), new Product(2L, "Mouse", null, "desc"));
+
+        String json = generated.writeValueAsString(products);
+        Product[] read = generated.readValue(json, Product[].class);
+
+        assertEquals(reflective.writeValueAsString(products), json);
+        assertEquals("Mouse", read[1].getName());
+        assertNull(read[1].getPrice());
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
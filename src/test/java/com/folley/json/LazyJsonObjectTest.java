@@ -0,0 +1,113 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.folley.model.ComprehensiveData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyJsonObjectTest {
+
+    private static final String METADATA = "{\"b\": 1.50, \"a\": {\"nested\": [1, 2, {\"deep\": null}]}, \"c\": \"x\"}";
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(JsonCodecs.module());
+    private final ObjectReader reader = mapper.readerFor(ComprehensiveData.class);
+
+    @Test
+    void testSize_ShouldCountTopLevelKeysWithoutMaterializing() throws Exception {
+        byte[] json = document(METADATA);
+
+        LazyJsonObject fromSlice = LazyJsonObject.readingFrom(reader, json).<ComprehensiveData>readValue(json)
+                .getMetadata();
+        LazyJsonObject fromTokens = reader.<ComprehensiveData>readValue(json).getMetadata();
+
+        assertEquals(3, fromSlice.size());
+        assertEquals(3, fromTokens.size());
+        assertFalse(fromSlice.isMaterialized());
+        assertFalse(fromTokens.isMaterialized());
+    }
+
+    @Test
+    void testSize_ShouldCountRepeatedKeysOnce() throws Exception {
+        StringBuilder metadata = new StringBuilder("{\"a\": 1, \"a\": 2");
+        for (int i = 0; i < 40; i++) {
+            metadata.append(", \"k").append(i % 20).append("\": ").append(i);
+        }
+        byte[] json = document(metadata.append('}').toString());
+
+        LazyJsonObject lazy = LazyJsonObject.readingFrom(reader, json).<ComprehensiveData>readValue(json)
+                .getMetadata();
+
+        assertEquals(21, lazy.size());
+        assertEquals(mapper.readValue(metadata.toString(), Map.class), lazy);
+        assertEquals(21, lazy.size());
+    }
+
+    @Test
+    void testGet_ShouldMaterializeSameValuesAsMap() throws Exception {
+        byte[] json = document(METADATA);
+
+        LazyJsonObject lazy = LazyJsonObject.readingFrom(reader, json).<ComprehensiveData>readValue(json)
+                .getMetadata();
+
+        assertEquals(1.5, lazy.get("b"));
+        assertTrue(lazy.isMaterialized());
+        assertEquals(List.of("b", "a", "c"), List.copyOf(lazy.keySet()));
+        assertEquals(mapper.readValue(METADATA, Map.class), lazy);
+    }
+
+    @Test
+    void testSerialize_ShouldWriteOriginalBytesUntilMaterialized() throws Exception {
+        byte[] json = document(METADATA);
+
+        LazyJsonObject lazy = LazyJsonObject.readingFrom(reader, json).<ComprehensiveData>readValue(json)
+                .getMetadata();
+
+        assertEquals(METADATA, mapper.writeValueAsString(lazy));
+        lazy.put("d", true);
+        assertEquals("{\"b\":1.5,\"a\":{\"nested\":[1,2,{\"deep\":null}]},\"c\":\"x\",\"d\":true}",
+                mapper.writeValueAsString(lazy));
+    }
+
+    @Test
+    void testSerialize_ShouldCopyTokensToBinaryFormats() throws Exception {
+        ObjectMapper cbor = mapper.copyWith(new CBORFactory());
+        byte[] json = document(METADATA);
+
+        LazyJsonObject fromSlice = LazyJsonObject.readingFrom(reader, json).<ComprehensiveData>readValue(json)
+                .getMetadata();
+        ComprehensiveData fromCbor = cbor.readValue(cbor.writeValueAsBytes(
+                reader.<ComprehensiveData>readValue(json)), ComprehensiveData.class);
+
+        assertEquals(mapper.readTree(METADATA), cbor.readTree(cbor.writeValueAsBytes(fromSlice)));
+        assertEquals(3, fromCbor.getMetadata().size());
+        assertEquals(mapper.readTree(METADATA), mapper.readTree(mapper.writeValueAsString(fromCbor.getMetadata())));
+    }
+
+    @Test
+    void testDeserialize_ShouldRejectNonObjects() {
+        byte[] json = "{\"metadata\": [1, 2]}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(JsonMappingException.class, () -> LazyJsonObject.readingFrom(reader, json).readValue(json));
+    }
+
+    @Test
+    void testDeserialize_ShouldRejectSourceThatIsNotTheParsedDocument() {
+        byte[] json = document(METADATA);
+        byte[] other = document("{}");
+
+        assertThrows(JsonMappingException.class, () -> LazyJsonObject.readingFrom(reader, other).readValue(json));
+    }
+
+    private static byte[] document(String metadata) {
+        return ("{\"stringValue\": \"s\", \"metadata\": " + metadata + ", \"integerValue\": 1}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,164 @@
+package com.folley.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.CoercionAction;
+import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.folley.model.ComprehensiveData;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberParsingTest {
+
+    private final ObjectMapper jackson = mapper();
+    private final ObjectMapper fast = mapper();
+
+    NumberParsingTest() {
+        new NumberParsing(256, 1000).applyTo(fast);
+    }
+
+    @Test
+    void testFastPath_ShouldReadOrdinaryNumbersLikeJackson() throws Exception {
+        String[] numbers = {"0", "-0.0", "0.1", "3.141592653589793", "1e10", "-1.5E-3", "2.2250738585072014E-308",
+                "1.7976931348623157e308", "1e400", "4.9e-325", "123456789012345678901234567890.5",
+                "0.000000000000000000000000000001", "1E+3", "12345678901234567890123456789"};
+
+        for (String number : numbers) {
+            String json = "{\"floatValue\": " + number + ", \"doubleValue\": " + number
+                    + ", \"bigDecimalValue\": " + number + ", \"bigIntegerValue\": "
+                    + (number.matches("-?\\d+") ? number : "1") + "}";
+            assertSameResult(json);
+            assertSameResult("{\"bigDecimalValue\": \"" + number + "\", \"bigIntegerValue\": \""
+                    + (number.matches("-?\\d+") ? number : "7") + "\"}");
+        }
+    }
+
+    @Test
+    void testFastPath_ShouldKeepScaleAndNulls() throws Exception {
+        ComprehensiveData data = fast.readValue("{\"bigDecimalValue\": 1.500, \"bigIntegerValue\": null, "
+                + "\"doubleValue\": null}", ComprehensiveData.class);
+
+        assertEquals(3, data.getBigDecimalValue().scale());
+        assertNull(data.getBigIntegerValue());
+        assertNull(data.getDoubleValue());
+    }
+
+    @Test
+    void testFastPath_ShouldRejectTooManyDigitsWithoutParsing() {
+        String digits = "9".repeat(100_000);
+
+        long start = System.nanoTime();
+        MismatchedInputException error = assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"bigIntegerValue\": \"" + digits + "\"}", ComprehensiveData.class));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(error.getMessage().contains("100000 significant digits"), error.getMessage());
+        assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + " ms");
+        assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"bigDecimalValue\": \"0." + digits + "\"}", ComprehensiveData.class));
+        assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"doubleValue\": 1." + "1".repeat(300) + "}", ComprehensiveData.class));
+    }
+
+    @Test
+    void testFastPath_ShouldIgnoreLeadingZerosWhenCountingDigits() throws Exception {
+        String json = "{\"bigDecimalValue\": \"0.000" + "0".repeat(300) + "1\"}";
+
+        assertEquals(new BigDecimal("1E-304"), fast.readValue(json, ComprehensiveData.class).getBigDecimalValue());
+    }
+
+    @Test
+    void testFastPath_ShouldRejectHugeExponentsForBigNumbers() throws Exception {
+        assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"bigDecimalValue\": 1e999999999}", ComprehensiveData.class));
+        assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"bigDecimalValue\": \"1e-99999999999999999999\"}", ComprehensiveData.class));
+        assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"bigDecimalValue\": \"0." + "0".repeat(1000) + "1\"}", ComprehensiveData.class));
+
+        // Doubles saturate instead, as they do with Jackson.
+        assertSameResult("{\"doubleValue\": 1e999999999, \"floatValue\": -1e-999999999}");
+        assertEquals(new BigDecimal("1E+1000"),
+                fast.readValue("{\"bigDecimalValue\": 1e1000}", ComprehensiveData.class).getBigDecimalValue());
+    }
+
+    @Test
+    void testFastPath_ShouldLeaveOtherTextToJackson() throws Exception {
+        assertSameResult("{\"bigDecimalValue\": \" 12.5 \", \"bigIntegerValue\": \"\"}");
+        assertSameResult("{\"bigIntegerValue\": 12.0}");
+        assertSameError("{\"bigDecimalValue\": \"NaN\"}");
+        assertSameError("{\"bigDecimalValue\": \"1e\"}");
+        assertSameError("{\"bigIntegerValue\": \"0x1F\"}");
+
+        MismatchedInputException error = assertThrows(MismatchedInputException.class,
+                () -> fast.readValue("{\"bigDecimalValue\": \"" + "x".repeat(10_000) + "\"}", ComprehensiveData.class));
+        assertTrue(error.getMessage().contains("longer than the limit"), error.getMessage());
+    }
+
+    @Test
+    void testFastPath_ShouldRespectDisabledStringCoercion() {
+        ObjectMapper strict = fast.copy();
+        strict.coercionConfigFor(LogicalType.Float).setCoercion(CoercionInputShape.String, CoercionAction.Fail);
+
+        MismatchedInputException error = assertThrows(MismatchedInputException.class,
+                () -> strict.readValue("{\"bigDecimalValue\": \"1.5\"}", ComprehensiveData.class));
+        assertTrue(error.getMessage().contains("Cannot coerce String"), error.getMessage());
+    }
+
+    @Test
+    void testFastPath_ShouldNotApplyToBinaryFormats() throws Exception {
+        ObjectMapper cbor = fast.copyWith(new CBORFactory());
+        ComprehensiveData data = new ComprehensiveData();
+        data.setBigIntegerValue(BigInteger.TEN.pow(400));
+        data.setDoubleValue(0.1);
+
+        ComprehensiveData read = cbor.readValue(cbor.writeValueAsBytes(data), ComprehensiveData.class);
+
+        assertEquals(BigInteger.TEN.pow(400), read.getBigIntegerValue());
+        assertEquals(Double.valueOf(0.1), read.getDoubleValue());
+    }
+
+    @Test
+    void testConfiguration_ShouldInstallOnlyInFastMode() {
+        JsonCodecConfiguration configuration = new JsonCodecConfiguration();
+
+        assertNotNull(customized(configuration, " Fast ").getDeserializationConfig().getAttributes()
+                .getAttribute(NumberParsing.class));
+        assertNull(customized(configuration, "jackson").getDeserializationConfig().getAttributes()
+                .getAttribute(NumberParsing.class));
+        assertThrows(IllegalArgumentException.class, () -> customized(configuration, "turbo"));
+    }
+
+    private static ObjectMapper customized(JsonCodecConfiguration configuration, String mode) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        configuration.numberParsingCustomizer(mode, 256, 1000).customize(builder);
+        return builder.build();
+    }
+
+    private void assertSameResult(String json) throws JsonProcessingException {
+        assertEquals(jackson.writeValueAsString(jackson.readValue(json, ComprehensiveData.class)),
+                fast.writeValueAsString(fast.readValue(json, ComprehensiveData.class)), json);
+    }
+
+    private void assertSameError(String json) {
+        JsonProcessingException expected = assertThrows(JsonProcessingException.class,
+                () -> jackson.readValue(json, ComprehensiveData.class));
+        assertEquals(expected.getClass(), assertThrows(JsonProcessingException.class,
+                () -> fast.readValue(json, ComprehensiveData.class)).getClass(), json);
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(JsonCodecs.module())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
@@ -0,0 +1,50 @@
+package com.folley.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @Test
+    void testIntern_ShouldReturnSameInstanceForEqualCharacters() {
+        StringPool pool = new StringPool(64);
+        char[] chars = "xxSpringfieldxx".toCharArray();
+
+        String first = pool.intern(chars, 2, 11);
+        String second = pool.intern(new String("Springfield"));
+
+        assertEquals("Springfield", first);
+        assertSame(first, second);
+        assertSame(first, pool.intern("Springfield".toCharArray(), 0, 11));
+    }
+
+    @Test
+    void testIntern_ShouldStayBoundedAndKeepRecurringValues() {
+        StringPool pool = new StringPool(256);
+        String recurring = pool.intern("Portland");
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            seen.add(pool.intern("value " + i));
+            recurring = pool.intern(new String("Portland"));
+        }
+
+        assertEquals(256, pool.capacity());
+        assertEquals(100_000, seen.size());
+        assertSame(recurring, pool.intern(new String("Portland")));
+    }
+
+    @Test
+    void testIntern_ShouldNotPoolLongValues() {
+        StringPool pool = new StringPool(64);
+        String value = "x".repeat(StringPool.MAX_LENGTH + 1);
+
+        assertNotSame(pool.intern(value.toCharArray(), 0, value.length()),
+                pool.intern(value.toCharArray(), 0, value.length()));
+        assertNull(pool.intern(null));
+    }
+}
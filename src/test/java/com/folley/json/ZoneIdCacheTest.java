@@ -0,0 +1,46 @@
+package com.folley.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneIdCacheTest {
+
+    @Test
+    void testGet_ShouldResolveOnceAndReuse() {
+        ZoneIdCache cache = new ZoneIdCache(64);
+        char[] chars = "[Europe/Paris]".toCharArray();
+
+        ZoneId first = cache.get(chars, 1, 12);
+
+        assertEquals(ZoneId.of("Europe/Paris"), first);
+        assertSame(first, cache.get("Europe/Paris".toCharArray(), 0, 12));
+        assertEquals(ZoneOffset.UTC, cache.get("Z".toCharArray(), 0, 1));
+    }
+
+    @Test
+    void testGet_ShouldRejectUnknownAndNonCanonicalIds() {
+        ZoneIdCache cache = new ZoneIdCache(64);
+
+        assertNull(cache.get("Nowhere/City".toCharArray(), 0, 12));
+        assertNull(cache.get("".toCharArray(), 0, 0));
+        // ZoneId.of("+1") is +01:00, which is not the text that was sent.
+        assertNull(cache.get("+1".toCharArray(), 0, 2));
+    }
+
+    @Test
+    void testGet_ShouldStayBoundedAndCorrectWhenSlotsCollide() {
+        ZoneIdCache cache = new ZoneIdCache(2);
+        String[] ids = {"America/Chicago", "Asia/Tokyo", "Europe/London", "Australia/Sydney", "UTC"};
+
+        for (int round = 0; round < 3; round++) {
+            for (String id : ids) {
+                assertEquals(id, cache.get(id.toCharArray(), 0, id.length()).getId());
+            }
+        }
+        assertEquals(2, cache.capacity());
+    }
+}
@@ -0,0 +1,257 @@
+package com.folley.persistence;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecovery_ShouldReplayLogInEveryDurabilityMode() throws Exception {
+        for (DurabilityMode mode : DurabilityMode.values()) {
+            Path modeDirectory = directory.resolve(mode.name());
+            ProductRepository repository = new ProductRepository();
+            ProductPersistence persistence = open(repository, modeDirectory, mode);
+            repository.save(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+            repository.save(new Product(2L, "Mouse", null, null));
+            repository.update(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"));
+            repository.save(new Product(3L, "Keyboard", 79.99, "Keyboard desc"));
+            repository.deleteById(3L);
+            persistence.destroy();
+
+            ProductRepository recovered = new ProductRepository();
+            open(recovered, modeDirectory, mode).destroy();
+
+            assertEquals(2, recovered.count(), mode.name());
+            assertEquals("Gaming Laptop", recovered.findById(1L).orElseThrow().getName());
+            assertEquals(1299.99, recovered.findById(1L).orElseThrow().getPrice());
+            assertNull(recovered.findById(2L).orElseThrow().getPrice());
+            assertFalse(recovered.existsById(3L));
+        }
+    }
+
+    @Test
+    void testSnapshot_ShouldCompactLogAndRecoverWithTail() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = open(repository, directory, DurabilityMode.PER_WRITE);
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Product(id, "Product " + id, (double) id, "desc"));
+        }
+        persistence.snapshot();
+        repository.deleteById(1L);
+        repository.save(new Product(101L, "Product 101", 101.0, "desc"));
+        persistence.destroy();
+
+        assertEquals(1, countFiles("snapshot-"));
+        assertEquals(1, countFiles("wal-"));
+
+        ProductRepository recovered = new ProductRepository();
+        open(recovered, directory, DurabilityMode.PER_WRITE).destroy();
+
+        assertEquals(100, recovered.count());
+        assertFalse(recovered.existsById(1L));
+        assertEquals("Product 101", recovered.findById(101L).orElseThrow().getName());
+    }
+
+    @Test
+    void testRecovery_ShouldKeepVersions() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = open(repository, directory, DurabilityMode.PER_WRITE);
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        persistence.snapshot();
+        repository.update(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"));
+        repository.deleteById(2L);
+        persistence.destroy();
+
+        ProductRepository recovered = new ProductRepository();
+        ProductPersistence reopened = open(recovered, directory, DurabilityMode.PER_WRITE);
+        recovered.save(new Product(5L, "Monitor", 199.99, "Monitor desc"));
+        reopened.destroy();
+
+        assertEquals(3L, recovered.findById(1L).orElseThrow().getVersion());
+        assertEquals(5L, recovered.findById(5L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testRecovery_ShouldDropTornTailAndKeepAppending() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = open(repository, directory, DurabilityMode.PER_WRITE);
+        repository.save(new Product(1L, "Laptop", 999.99, "desc"));
+        persistence.destroy();
+        Path segment = WriteAheadLog.segments(directory).get(0);
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        ProductRepository second = new ProductRepository();
+        ProductPersistence reopened = open(second, directory, DurabilityMode.PER_WRITE);
+        second.save(new Product(2L, "Mouse", 29.99, "desc"));
+        reopened.destroy();
+
+        ProductRepository third = new ProductRepository();
+        open(third, directory, DurabilityMode.PER_WRITE).destroy();
+        assertEquals(2, third.count());
+    }
+
+    @Test
+    void testGroupCommit_ShouldPersistConcurrentWriters() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = open(repository, directory, DurabilityMode.BATCHED);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long base = t * 1_000L;
+                futures.add(executor.submit(() -> {
+                    for (long id = base; id < base + 1_000; id++) {
+                        repository.save(new Product(id, "Product " + id, 1.0, "desc"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        persistence.destroy();
+
+        ProductRepository recovered = new ProductRepository();
+        open(recovered, directory, DurabilityMode.BATCHED).destroy();
+        assertEquals(8_000, recovered.count());
+    }
+
+    @Test
+    void testSegments_ShouldRollBySizeAndRecoverThroughSmallMappingWindows() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = new ProductPersistence(repository, directory, DurabilityMode.PER_WRITE,
+                5, 4096, 0);
+        for (long id = 1; id <= 500; id++) {
+            repository.save(new Product(id, "Product " + id, (double) id, "x".repeat((int) id % 300)));
+        }
+        persistence.snapshot();
+        for (long id = 1; id <= 200; id++) {
+            repository.update(id, new Product(null, "Renamed " + id, null, "y".repeat((int) id)));
+        }
+        repository.deleteById(500L);
+        persistence.destroy();
+
+        assertTrue(countFiles("wal-") > 5);
+        try (var segments = Files.list(directory)) {
+            assertTrue(segments.filter(path -> path.getFileName().toString().startsWith("wal-"))
+                    .allMatch(path -> path.toFile().length() <= 4096));
+        }
+
+        // Windows smaller than many records force remapping mid-record.
+        ProductRepository recovered = new ProductRepository();
+        ProductSnapshots.Header header = ProductSnapshots.loadLatest(directory, recovered::restore, 64);
+        WriteAheadLog.replay(directory, header.lsn(), new WriteAheadLog.RecordHandler() {
+            @Override
+            public void put(Product product) {
+                recovered.restore(product);
+            }
+
+            @Override
+            public void delete(long id, long version) {
+                recovered.restoreDeletion(id, version);
+            }
+        }, 64);
+
+        assertEquals(499, recovered.count());
+        assertEquals("Renamed 7", recovered.findById(7L).orElseThrow().getName());
+        assertEquals("y".repeat(150), recovered.findById(150L).orElseThrow().getDescription());
+        assertEquals("x".repeat(299), recovered.findById(299L).orElseThrow().getDescription());
+        assertEquals(repository.findById(300L).orElseThrow().getVersion(),
+                recovered.findById(300L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testSnapshot_ShouldNotLoseWritesJournaledButNotYetApplied() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = open(repository, directory, DurabilityMode.PER_WRITE);
+        repository.save(new Product(1L, "Laptop", 999.99, "desc"));
+        CountDownLatch journaled = new CountDownLatch(1);
+        // Holds the write to id 2 between the log and the store while the snapshot runs.
+        repository.setJournal((id, current, version) -> {
+            persistence.record(id, current, version);
+            if (id == 2L) {
+                journaled.countDown();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> repository.save(new Product(2L, "Mouse", 29.99, "desc")));
+            assertTrue(journaled.await(10, TimeUnit.SECONDS));
+            persistence.snapshot();
+            writer.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        persistence.destroy();
+
+        ProductRepository recovered = new ProductRepository();
+        open(recovered, directory, DurabilityMode.PER_WRITE).destroy();
+
+        assertEquals(2, recovered.count());
+        assertEquals("Mouse", recovered.findById(2L).orElseThrow().getName());
+    }
+
+    @Test
+    void testUnusableLog_ShouldRefuseWritesWithoutChangingStore() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        List<Long> seen = new ArrayList<>();
+        repository.addListener((previous, current, version) -> seen.add(version));
+        ProductPersistence persistence = open(repository, directory, DurabilityMode.PER_WRITE);
+        repository.save(new Product(1L, "Laptop", 999.99, "desc"));
+        persistence.destroy();
+
+        assertThrows(IllegalStateException.class, () -> repository.save(new Product(2L, "Mouse", 29.99, "desc")));
+        assertThrows(IllegalStateException.class, () -> repository.deleteById(1L));
+
+        assertEquals(1, repository.count());
+        assertFalse(repository.existsById(2L));
+        assertEquals(List.of(1L), seen);
+        assertTrue(repository.stableCatalogVersion().isPresent());
+    }
+
+    @Test
+    void testDisabled_ShouldNotTouchDisk() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ProductPersistence persistence = new ProductPersistence(repository, "", "batched", 10,
+                ProductPersistence.DEFAULT_SEGMENT_BYTES, 0);
+        repository.save(new Product(1L, "Laptop", 999.99, "desc"));
+
+        assertFalse(persistence.isEnabled());
+        persistence.snapshot();
+        persistence.destroy();
+    }
+
+    private static ProductPersistence open(ProductRepository repository, Path directory, DurabilityMode mode)
+            throws Exception {
+        return new ProductPersistence(repository, directory, mode, 5, 0);
+    }
+
+    private long countFiles(String prefix) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
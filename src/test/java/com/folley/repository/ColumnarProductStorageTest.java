@@ -0,0 +1,186 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarProductStorageTest {
+
+    @Test
+    void testPutAndGet_ShouldRoundTripAllFieldsIncludingNullsAndUnicode() {
+        for (boolean offHeap : new boolean[] {false, true}) {
+            ColumnarProductStorage storage = new ColumnarProductStorage(offHeap);
+            storage.put(new Product(1L, "Café ☕", 3.5, "Crème brûlée flavour"));
+            storage.put(new Product(2L, null, null, null));
+
+            Product first = storage.get(1L);
+            assertEquals(1L, first.getId());
+            assertEquals("Café ☕", first.getName());
+            assertEquals(3.5, first.getPrice());
+            assertEquals("Crème brûlée flavour", first.getDescription());
+
+            Product second = storage.get(2L);
+            assertNull(second.getName());
+            assertNull(second.getPrice());
+            assertNull(second.getDescription());
+            assertNull(storage.get(3L));
+        }
+    }
+
+    @Test
+    void testPut_ShouldReturnPreviousAndReplaceValues() {
+        ColumnarProductStorage storage = new ColumnarProductStorage(false);
+        assertNull(storage.put(new Product(1L, "Laptop", 999.99, "Laptop desc")));
+
+        Product previous = storage.put(new Product(1L, "Gaming Laptop", 1299.99, null));
+
+        assertEquals("Laptop", previous.getName());
+        assertEquals("Gaming Laptop", storage.get(1L).getName());
+        assertNull(storage.get(1L).getDescription());
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    void testValues_ShouldIterateInIdOrderAcrossRemovals() {
+        ColumnarProductStorage storage = new ColumnarProductStorage(false);
+        for (long id : new long[] {5, 1, 4, 2, 3}) {
+            storage.put(new Product(id, "Product " + id, 1.0, "desc"));
+        }
+        storage.remove(4L);
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), ids(storage.values()));
+        assertEquals(List.of(3L, 5L), ids(storage.valuesAfter(2L)));
+        assertTrue(storage.hasIdAfter(3L));
+        assertFalse(storage.hasIdAfter(5L));
+    }
+
+    @Test
+    void testChurn_ShouldReuseSlotsAndCompactText() {
+        ColumnarProductStorage storage = new ColumnarProductStorage(true);
+        String description = "x".repeat(200);
+        for (int round = 0; round < 50; round++) {
+            for (long id = 0; id < 2_000; id++) {
+                storage.put(new Product(id, "Product " + id + " r" + round, (double) round, description));
+            }
+        }
+        for (long id = 0; id < 2_000; id += 2) {
+            storage.remove(id);
+        }
+
+        assertEquals(1_000, storage.size());
+        assertEquals("Product 1999 r49", storage.get(1999L).getName());
+        assertEquals(description, storage.get(1L).getDescription());
+        // 50 rounds of rewrites would need ~21 MB of text without compaction.
+        assertTrue(storage.allocatedBytes() < 4 * 1024 * 1024);
+    }
+
+    @Test
+    void testPut_ShouldRefuseTextPastTheLimitAndCompactToMakeRoom() {
+        ColumnarProductStorage storage = new ColumnarProductStorage(false, 100_000);
+        String description = "x".repeat(990);
+        for (long id = 0; id < 100; id++) {
+            storage.put(new Product(id, "Item " + (id % 10), 1.0, description));
+        }
+        // 100 * (6 + 990) bytes stored; 400 remain.
+        Product tooBig = new Product(100L, "Café ☕ \uD83D\uDE00", 1.0, "y".repeat(400));
+        Product fits = new Product(100L, "Café ☕ \uD83D\uDE00", 1.0, "y".repeat(400 - 14));
+
+        assertThrows(IllegalStateException.class, () -> storage.checkRoomFor(tooBig));
+        assertThrows(IllegalStateException.class, () -> storage.put(tooBig));
+        assertNull(storage.get(100L));
+        assertEquals(100, storage.size());
+        storage.checkRoomFor(fits);
+
+        // Rewrites leave garbage behind; at the limit it is compacted instead of growing.
+        for (int round = 0; round < 20; round++) {
+            for (long id = 0; id < 100; id++) {
+                storage.put(new Product(id, "Item " + (id % 10), (double) round, description));
+            }
+        }
+        storage.put(fits);
+        assertEquals(fits.getName(), storage.get(100L).getName());
+        assertEquals(19.0, storage.get(99L).getPrice());
+        assertTrue(storage.allocatedBytes() < 200_000);
+    }
+
+    @Test
+    void testValues_ShouldSortIdsInsertedOutOfOrder() {
+        ColumnarProductStorage storage = new ColumnarProductStorage(false);
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(10_000);
+            if (i % 7 == 0 && storage.remove(id) != null) {
+                expected.remove(id);
+            } else {
+                storage.put(new Product(id, null, null, null));
+                expected.add(id);
+            }
+            if (i % 500 == 0) {
+                assertEquals(new ArrayList<>(expected), ids(storage.values()));
+            }
+        }
+
+        assertEquals(new ArrayList<>(expected), ids(storage.values()));
+        assertEquals(new ArrayList<>(expected.tailSet(5_000L, false)), ids(storage.valuesAfter(5_000L)));
+        assertFalse(storage.hasIdAfter(expected.last()));
+    }
+
+    @Test
+    void testValues_ShouldSkipAndDropRemovedIdsUnderChurn() {
+        ColumnarProductStorage storage = new ColumnarProductStorage(false);
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(7);
+        for (long id = 0; id < 20_000; id++) {
+            storage.put(new Product(id, "Product " + id, null, null));
+            expected.add(id);
+        }
+        for (int i = 0; i < 60_000; i++) {
+            long id = random.nextInt(20_000);
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.remove(id), storage.remove(id) != null);
+            } else {
+                storage.put(new Product(id, "Product " + id, null, null));
+                expected.add(id);
+            }
+            if (i % 5_000 == 0) {
+                long from = random.nextInt(20_000);
+                assertEquals(new ArrayList<>(expected.tailSet(from, false)), ids(storage.valuesAfter(from)));
+                Long higher = expected.higher(from);
+                assertEquals(higher != null, storage.hasIdAfter(from));
+            }
+        }
+
+        assertEquals(expected.size(), storage.size());
+        assertEquals(new ArrayList<>(expected), ids(storage.values()));
+        for (long id : expected) {
+            assertEquals("Product " + id, storage.get(id).getName());
+        }
+    }
+
+    @Test
+    void testRepository_ShouldBehaveTheSameInColumnarMode() {
+        ProductRepository repository = new ProductRepository(ProductRepository.StorageMode.COLUMNAR, false);
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.update(2L, new Product(null, "Wireless Mouse", 39.99, "Mouse desc"));
+
+        assertEquals("Wireless Mouse", repository.findById(2L).orElseThrow().getName());
+        assertEquals(List.of(1L, 2L), ids(repository.findAll()));
+        assertEquals(List.of(2L), ids(repository.findPage(1L, 10)));
+        assertTrue(repository.deleteById(1L));
+        assertFalse(repository.existsById(1L));
+    }
+
+    private static List<Long> ids(Iterable<Product> products) {
+        List<Long> ids = new ArrayList<>();
+        products.forEach(product -> ids.add(product.getId()));
+        return ids;
+    }
+}
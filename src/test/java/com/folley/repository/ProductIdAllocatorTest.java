@@ -0,0 +1,39 @@
+package com.folley.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductIdAllocatorTest {
+
+    @Test
+    void testNext_ShouldStartAboveReservedIds() {
+        ProductIdAllocator allocator = new ProductIdAllocator();
+        allocator.reserve(5_000);
+
+        assertEquals(5_001, allocator.next());
+        assertEquals(5_002, allocator.next());
+    }
+
+    @Test
+    void testReserve_ShouldNotWrapAroundAtTheLargestId() {
+        ProductIdAllocator allocator = new ProductIdAllocator();
+        allocator.reserve(Long.MAX_VALUE);
+        allocator.reserve(42);
+
+        assertThrows(IllegalStateException.class, allocator::next);
+        assertThrows(IllegalStateException.class, allocator::next);
+    }
+
+    @Test
+    void testNext_ShouldUseTheLastWholeBlockThenStop() {
+        ProductIdAllocator allocator = new ProductIdAllocator();
+        long start = Long.MAX_VALUE - ProductIdAllocator.BLOCK_SIZE;
+        allocator.reserve(start - 1);
+
+        for (int i = 0; i < ProductIdAllocator.BLOCK_SIZE; i++) {
+            assertEquals(start + i, allocator.next());
+        }
+        assertThrows(IllegalStateException.class, allocator::next);
+    }
+}
@@ -0,0 +1,307 @@
+package com.folley.repository;
+
+import com.folley.model.Product;
+import com.folley.model.ProductOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductRepositoryTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int PRODUCTS_PER_THREAD = 10_000;
+
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+    }
+
+    @Test
+    void testSaveAndFindById_ShouldReturnSavedProduct() {
+        repository.save(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+
+        assertTrue(repository.findById(1L).isPresent());
+        assertEquals("Laptop", repository.findById(1L).get().getName());
+        assertTrue(repository.findById(2L).isEmpty());
+    }
+
+    @Test
+    void testUpdate_ShouldOnlyReplaceExistingProducts() {
+        repository.save(new Product(1L, "Laptop", 999.99, "High-performance laptop"));
+
+        assertTrue(repository.update(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming")).isPresent());
+        assertTrue(repository.update(2L, new Product(null, "Mouse", 29.99, "Mouse")).isEmpty());
+        assertEquals("Gaming Laptop", repository.findById(1L).get().getName());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testVersions_ShouldIncreaseWithEveryWrite() {
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        repository.update(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"));
+        repository.deleteById(2L);
+
+        assertEquals(3L, repository.findById(1L).get().getVersion());
+        assertEquals(4L, repository.catalogVersion());
+        assertEquals(4L, repository.stableCatalogVersion().getAsLong());
+    }
+
+    @Test
+    void testJournal_ShouldRefuseWriteBeforeStoreOrListenersChange() {
+        List<Long> seen = new ArrayList<>();
+        repository.addListener((previous, current, version) -> seen.add(version));
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.setJournal((id, current, version) -> {
+            throw new IllegalStateException("journal down");
+        });
+
+        assertThrows(IllegalStateException.class, () -> repository.save(new Product(2L, "Mouse", 29.99, "desc")));
+        assertThrows(IllegalStateException.class, () -> repository.deleteById(1L));
+
+        assertEquals(List.of(1L), seen);
+        assertTrue(repository.existsById(1L));
+        assertFalse(repository.existsById(2L));
+        assertEquals(3L, repository.stableCatalogVersion().getAsLong());
+    }
+
+    @Test
+    void testListeners_ShouldAllSeeChangeWhenOneFails() {
+        List<Long> seen = new ArrayList<>();
+        repository.addListener((previous, current, version) -> {
+            throw new IllegalStateException("listener down");
+        });
+        repository.addListener((previous, current, version) -> seen.add(version));
+
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.deleteById(1L);
+
+        assertEquals(List.of(1L, 2L), seen);
+        assertFalse(repository.existsById(1L));
+    }
+
+    @Test
+    void testConditionalWrites_ShouldRequireCurrentVersion() {
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        long version = repository.findById(1L).get().getVersion();
+
+        assertTrue(repository.update(1L, new Product(null, "Gaming Laptop", 1299.99, "Gaming"), version).isPresent());
+        ProductVersionConflictException conflict = assertThrows(ProductVersionConflictException.class,
+                () -> repository.deleteById(1L, version));
+        assertEquals(version + 1, conflict.getCurrentVersion());
+        assertTrue(repository.deleteById(1L, version + 1));
+        assertFalse(repository.deleteById(1L, version + 1));
+    }
+
+    @Test
+    void testFindAll_ShouldReturnSnapshotUnaffectedByLaterWrites() {
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        List<Product> snapshot = repository.findAll();
+
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        repository.deleteById(1L);
+
+        assertEquals(1, snapshot.size());
+        assertEquals(1L, snapshot.get(0).getId());
+    }
+
+    @Test
+    void testFindAllById_ShouldReturnFoundInRequestOrderAndReportMissing() {
+        repository.save(new Product(1L, "Laptop", 999.99, "Laptop desc"));
+        repository.save(new Product(2L, "Mouse", 29.99, "Mouse desc"));
+        List<Long> missing = new ArrayList<>();
+
+        List<Product> found = repository.findAllById(new long[]{2, 7, 1, 2, 7}, missing::add);
+
+        assertEquals(List.of(2L, 1L), found.stream().map(Product::getId).toList());
+        assertEquals(List.of(7L), missing);
+    }
+
+    @Test
+    void testConcurrentWriters_ShouldNotLoseProducts() throws Exception {
+        runConcurrently(thread -> {
+            long base = (long) thread * PRODUCTS_PER_THREAD;
+            for (int i = 0; i < PRODUCTS_PER_THREAD; i++) {
+                repository.save(new Product(base + i, "Product " + i, (double) i, "desc"));
+            }
+        });
+
+        assertEquals(THREADS * PRODUCTS_PER_THREAD, repository.count());
+        assertEquals(THREADS * PRODUCTS_PER_THREAD, repository.findAll().size());
+    }
+
+    @Test
+    void testInsert_ShouldRejectDuplicateIds() {
+        assertTrue(repository.insert(new Product(1L, "Laptop", 999.99, "Laptop desc")).isPresent());
+        assertTrue(repository.insert(new Product(1L, "Mouse", 29.99, "Mouse desc")).isEmpty());
+        assertEquals("Laptop", repository.findById(1L).get().getName());
+    }
+
+    @Test
+    void testInsert_ShouldAssignIdsAboveClientIds() {
+        repository.insert(new Product(5_000L, "Laptop", 999.99, "Laptop desc"));
+
+        Product assigned = repository.insert(new Product(null, "Mouse", 29.99, "Mouse desc")).orElseThrow();
+
+        assertTrue(assigned.getId() > 5_000L, "id=" + assigned.getId());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void testConcurrentInserts_ShouldAssignUniqueIds() throws Exception {
+        // A client-chosen id sits inside the first allocation block and must be skipped.
+        repository.insert(new Product(3L, "Client", 1.0, "desc"));
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < PRODUCTS_PER_THREAD; i++) {
+                repository.insert(new Product(null, "Product", 1.0, "desc"));
+            }
+        });
+
+        assertEquals(THREADS * PRODUCTS_PER_THREAD + 1, repository.count());
+        assertEquals("Client", repository.findById(3L).get().getName());
+    }
+
+    @Test
+    void testConcurrentMixedWorkload_ShouldKeepStoreConsistent() throws Exception {
+        for (long id = 0; id < PRODUCTS_PER_THREAD; id++) {
+            repository.save(new Product(id, "Product " + id, 1.0, "desc"));
+        }
+
+        // Every thread hammers the same id range: half update, half read, and the
+        // odd ids are deleted along the way. Readers must never see a torn state.
+        runConcurrently(thread -> {
+            for (long id = 0; id < PRODUCTS_PER_THREAD; id++) {
+                if (thread % 2 == 0) {
+                    repository.update(id, new Product(null, "Updated " + id, 2.0, "desc"));
+                } else {
+                    repository.findById(id).ifPresent(p -> assertNotNull(p.getId()));
+                }
+                if (id % 2 == 1) {
+                    repository.deleteById(id);
+                }
+            }
+        });
+
+        assertEquals(PRODUCTS_PER_THREAD / 2, repository.count());
+        for (long id = 0; id < PRODUCTS_PER_THREAD; id += 2) {
+            Product product = repository.findById(id).orElseThrow();
+            assertEquals(id, product.getId());
+            assertEquals("Updated " + id, product.getName());
+        }
+    }
+
+    @Test
+    void testConcurrentAtomicBatches_ShouldApplyPairsTogether() throws Exception {
+        // Each batch creates or deletes a pair of ids together; after
+        // all threads finish, every pair must be either fully present or absent.
+        runConcurrently(thread -> {
+            for (long pair = 0; pair < 1_000; pair++) {
+                long a = pair * 2;
+                long b = pair * 2 + 1;
+                ProductOperation.Type type = (thread + pair) % 2 == 0
+                        ? ProductOperation.Type.CREATE
+                        : ProductOperation.Type.DELETE;
+                List<ProductOperation> batch = type == ProductOperation.Type.CREATE
+                        ? List.of(new ProductOperation(type, null, new Product(a, "A", 1.0, "desc")),
+                                  new ProductOperation(type, null, new Product(b, "B", 1.0, "desc")))
+                        : List.of(new ProductOperation(type, a, null), new ProductOperation(type, b, null));
+                repository.applyBatch(batch, true);
+            }
+        });
+
+        for (long pair = 0; pair < 1_000; pair++) {
+            assertEquals(repository.existsById(pair * 2), repository.existsById(pair * 2 + 1));
+        }
+    }
+
+    @Test
+    void testSingleLockStripe_ShouldBehaveLikeTheStripedRepository() throws Exception {
+        repository = new ProductRepository(ProductRepository.StorageMode.HEAP, false, 1);
+
+        runConcurrently(thread -> {
+            long base = (long) thread * PRODUCTS_PER_THREAD;
+            for (int i = 0; i < PRODUCTS_PER_THREAD; i += 2) {
+                repository.applyBatch(List.of(
+                        new ProductOperation(ProductOperation.Type.CREATE, null, new Product(base + i, "A", 1.0, "desc")),
+                        new ProductOperation(ProductOperation.Type.CREATE, null, new Product(base + i + 1, "B", 1.0, "desc"))),
+                        true);
+            }
+        });
+
+        assertEquals(THREADS * PRODUCTS_PER_THREAD, repository.count());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProductRepository(ProductRepository.StorageMode.HEAP, false, 48));
+    }
+
+    @Test
+    void testWhileWritesPaused_ShouldNeverSeeHalfAnAtomicBatch() throws Exception {
+        // Each batch writes ids n and n + partner together; the filler between
+        // them keeps a copy busy long enough for batches to land mid-copy.
+        long partner = 2_000_000;
+        for (long id = 1_000_000; id < 1_020_000; id++) {
+            repository.save(new Product(id, "Filler", 1.0, "desc"));
+        }
+        runConcurrently(thread -> {
+            for (long n = 0; n < 1_000; n++) {
+                if (thread == 0) {
+                    if (n == 200) {
+                        break;
+                    }
+                    Set<Long> ids = new HashSet<>();
+                    repository.whileWritesPaused(repository::findAll).forEach(product -> ids.add(product.getId()));
+                    for (long id = 0; id < 1_000; id++) {
+                        assertEquals(ids.contains(id), ids.contains(id + partner), "pair of " + id + " split");
+                    }
+                    continue;
+                }
+                List<ProductOperation> batch = (thread + n) % 2 == 0
+                        ? List.of(new ProductOperation(ProductOperation.Type.CREATE, null, new Product(n, "A", 1.0, "desc")),
+                                  new ProductOperation(ProductOperation.Type.CREATE, null, new Product(n + partner, "B", 1.0, "desc")))
+                        : List.of(new ProductOperation(ProductOperation.Type.DELETE, n, null),
+                                  new ProductOperation(ProductOperation.Type.DELETE, n + partner, null));
+                repository.applyBatch(batch, true);
+            }
+        });
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
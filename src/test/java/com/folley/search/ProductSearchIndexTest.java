@@ -0,0 +1,129 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductRepository repository;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+        index = new ProductSearchIndex(repository);
+    }
+
+    @Test
+    void testSearch_ShouldUsePriceIndexForPriceRange() {
+        repository.save(new Product(1L, "Laptop", 999.99, "desc"));
+        repository.save(new Product(2L, "Mouse", 29.99, "desc"));
+        repository.save(new Product(3L, "Monitor", 199.99, "desc"));
+
+        ProductSearchResult result = index.search(query(100.0, null, null, ProductSort.PRICE, 10));
+
+        assertEquals(QueryPlan.PRICE_INDEX, result.plan());
+        assertEquals(List.of(3L, 1L), ids(result));
+    }
+
+    @Test
+    void testSearch_ShouldMatchNamePrefixCaseInsensitively() {
+        repository.save(new Product(1L, "Mouse", 29.99, "desc"));
+        repository.save(new Product(2L, "monitor", 199.99, "desc"));
+        repository.save(new Product(3L, "Laptop", 999.99, "desc"));
+
+        ProductSearchResult result = index.search(query(null, null, "MO", ProductSort.NAME, 10));
+
+        assertEquals(QueryPlan.NAME_INDEX, result.plan());
+        assertEquals(List.of(2L, 1L), ids(result));
+    }
+
+    @Test
+    void testSearch_ShouldPickMoreSelectiveIndex() {
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Product(id, (id == 50 ? "Rare " : "Common ") + id, (double) id, "desc"));
+        }
+
+        ProductSearchResult byName = index.search(query(0.0, 1000.0, "rare", ProductSort.ID, 10));
+        ProductSearchResult byPrice = index.search(query(10.0, 12.0, "common", ProductSort.ID, 10));
+
+        assertEquals(QueryPlan.NAME_INDEX, byName.plan());
+        assertEquals(List.of(50L), ids(byName));
+        assertEquals(QueryPlan.PRICE_INDEX, byPrice.plan());
+        assertEquals(List.of(10L, 11L, 12L), ids(byPrice));
+    }
+
+    @Test
+    void testSearch_ShouldFallBackToParallelScanAndKeepTopK() {
+        for (long id = 1; id <= 1000; id++) {
+            repository.save(new Product(id, "Item " + id, (double) (id % 100), "desc"));
+        }
+
+        ProductSearchResult result = index.search(
+                new ProductQuery(null, null, null, "item 9", ProductSort.PRICE_DESC, 3));
+
+        assertEquals(QueryPlan.PARALLEL_SCAN, result.plan());
+        assertEquals(List.of(99L, 999L, 98L), ids(result));
+    }
+
+    @Test
+    void testSearch_ShouldOrderPriceTiesByIdLikeTheScan() {
+        for (long id = 1; id <= 20; id++) {
+            repository.save(new Product(id, "Item " + id, (double) (id % 4), "desc"));
+        }
+        ProductQuery indexed = query(0.0, null, null, ProductSort.PRICE_DESC, 7);
+        ProductQuery scanned = new ProductQuery(null, null, null, "item", ProductSort.PRICE_DESC, 7);
+
+        ProductSearchResult fromIndex = index.search(indexed);
+
+        assertEquals(QueryPlan.PRICE_INDEX, fromIndex.plan());
+        assertEquals(List.of(3L, 7L, 11L, 15L, 19L, 2L, 6L), ids(fromIndex));
+        assertEquals(ids(index.search(scanned)), ids(fromIndex));
+    }
+
+    @Test
+    void testSearch_ShouldKeepNaNPricesOutOfRangesInEveryPlan() {
+        for (long id = 1; id <= 10; id++) {
+            repository.save(new Product(id, "Gadget " + id, (double) id, "desc"));
+        }
+        repository.save(new Product(11L, "Widget 11", 11.0, "desc"));
+        repository.save(new Product(12L, "Widget 12", Double.NaN, "desc"));
+
+        ProductSearchResult byName = index.search(query(0.0, null, "widget", ProductSort.ID, 20));
+        ProductSearchResult byPrice = index.search(query(5.0, null, null, ProductSort.ID, 20));
+        ProductSearchResult byPriceDescending = index.search(query(null, 1000.0, null, ProductSort.PRICE_DESC, 1));
+
+        assertEquals(QueryPlan.NAME_INDEX, byName.plan());
+        assertEquals(List.of(11L), ids(byName));
+        assertEquals(QueryPlan.PRICE_INDEX, byPrice.plan());
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L), ids(byPrice));
+        assertEquals(List.of(11L), ids(byPriceDescending));
+        assertEquals(12, index.search(query(null, null, null, ProductSort.ID, 20)).items().size());
+    }
+
+    @Test
+    void testSearch_ShouldReflectUpdatesAndDeletes() {
+        repository.save(new Product(1L, "Laptop", 999.99, "desc"));
+        repository.update(1L, new Product(null, "Notebook", 499.99, "desc"));
+        repository.save(new Product(2L, "Laptop Bag", 49.99, "desc"));
+        repository.deleteById(2L);
+
+        assertTrue(index.search(query(null, null, "lap", ProductSort.ID, 10)).items().isEmpty());
+        assertTrue(index.search(query(900.0, null, null, ProductSort.ID, 10)).items().isEmpty());
+        assertEquals(List.of(1L), ids(index.search(query(400.0, 500.0, "note", ProductSort.ID, 10))));
+    }
+
+    private static ProductQuery query(Double minPrice, Double maxPrice, String namePrefix, ProductSort sort, int limit) {
+        return new ProductQuery(minPrice, maxPrice, namePrefix, null, sort, limit);
+    }
+
+    private static List<Long> ids(ProductSearchResult result) {
+        return result.items().stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.folley.search;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductTextIndexTest {
+
+    private ProductRepository repository;
+    private ProductTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+        index = new ProductTextIndex(repository);
+    }
+
+    @Test
+    void testTokenize_ShouldLowercaseAndSplitOnPunctuation() {
+        assertEquals(List.of("usb", "c", "hub", "4k", "hdmi"), ProductTextIndex.tokenize("USB-C Hub (4K, HDMI)"));
+    }
+
+    @Test
+    void testSearch_ShouldRankRareTermsHigher() {
+        repository.save(new Product(1L, "Cable", 9.99, "A common cable"));
+        repository.save(new Product(2L, "Cable", 9.99, "A common cable with braided jacket"));
+        repository.save(new Product(3L, "Cable", 9.99, "A common cable"));
+
+        List<ProductTextMatch> matches = index.search("braided cable", 10);
+
+        assertEquals(3, matches.size());
+        assertEquals(2L, matches.get(0).product().getId());
+        assertTrue(matches.get(0).score() > matches.get(1).score());
+    }
+
+    @Test
+    void testSearch_ShouldFollowUpdatesAndDeletes() {
+        repository.save(new Product(1L, "Laptop", 999.99, "Silver aluminium body"));
+        repository.save(new Product(2L, "Tablet", 499.99, "Silver finish"));
+
+        repository.update(1L, new Product(null, "Laptop", 999.99, "Black carbon body"));
+        repository.deleteById(2L);
+
+        assertTrue(index.search("silver", 10).isEmpty());
+        assertEquals(1L, index.search("carbon", 10).get(0).product().getId());
+    }
+
+    @Test
+    void testSearch_ShouldHonourLimit() {
+        for (long id = 1; id <= 50; id++) {
+            repository.save(new Product(id, "Widget " + id, 1.0, "A widget"));
+        }
+
+        assertEquals(5, index.search("widget", 5).size());
+    }
+
+    @Test
+    void testPostings_ShouldMatchMapUnderRandomChurn() {
+        ProductTextIndex.Postings postings = new ProductTextIndex.Postings();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long id = i % 3 == 0 ? i : random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(id);
+                assertEquals(expected.isEmpty(), postings.remove(id));
+            } else {
+                int tf = 1 + random.nextInt(5);
+                expected.put(id, tf);
+                postings.put(id, tf, tf);
+            }
+        }
+
+        ProductTextIndex.Scores scores = new ProductTextIndex.Scores(0);
+        postings.score(expected.size(), 3.0, scores);
+        int[] all = scores.best(Integer.MAX_VALUE);
+        assertEquals(expected.size(), all.length);
+        TreeMap<Long, Double> scored = new TreeMap<>();
+        for (int slot : all) {
+            scored.put(scores.id(slot), scores.score(slot));
+        }
+        assertEquals(expected.keySet(), scored.keySet());
+        for (int i = 1; i < all.length; i++) {
+            double previous = scores.score(all[i - 1]);
+            double current = scores.score(all[i]);
+            assertTrue(previous > current || (previous == current && scores.id(all[i - 1]) < scores.id(all[i])));
+        }
+    }
+
+    @Test
+    void testSearch_ShouldBreakScoreTiesByIdAcrossManyMatches() {
+        for (long id = 300; id >= 1; id--) {
+            repository.save(new Product(id, "Widget", 1.0, id % 2 == 0 ? "Blue widget" : "Widget"));
+        }
+
+        List<ProductTextMatch> matches = index.search("blue widget", 4);
+
+        assertEquals(List.of(2L, 4L, 6L, 8L), matches.stream().map(match -> match.product().getId()).toList());
+        assertEquals(matches.get(0).score(), matches.get(3).score());
+    }
+}
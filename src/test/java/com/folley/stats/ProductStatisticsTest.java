@@ -0,0 +1,128 @@
+package com.folley.stats;
+
+import com.folley.model.Product;
+import com.folley.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductStatisticsTest {
+
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+    }
+
+    @Test
+    void testStats_ShouldBeEmptyWithoutPrices() {
+        ProductStatistics statistics = new ProductStatistics(repository);
+        repository.save(new Product(1L, "Cable", null, "Cable desc"));
+
+        ProductStats stats = statistics.stats();
+
+        assertEquals(1, stats.count());
+        assertEquals(0, stats.pricedCount());
+        assertNull(stats.min());
+        assertNull(stats.p50());
+    }
+
+    @Test
+    void testStats_ShouldSeedFromExistingProducts() {
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Product(id, "Product " + id, (double) id, "desc"));
+        }
+
+        ProductStats stats = new ProductStatistics(repository).stats();
+
+        assertEquals(100, stats.count());
+        assertEquals(5050.0, stats.sum());
+        assertEquals(50.5, stats.average());
+        assertEquals(1.0, stats.min());
+        assertEquals(100.0, stats.max());
+        assertEquals(50.0, stats.p50(), 0.5);
+        assertEquals(90.0, stats.p90(), 0.9);
+        assertEquals(99.0, stats.p99(), 1.0);
+    }
+
+    @Test
+    void testStats_ShouldForgetDeletedExtremes() {
+        ProductStatistics statistics = new ProductStatistics(repository);
+        repository.save(new Product(1L, "Cheap", 1.0, "desc"));
+        repository.save(new Product(2L, "Also cheap", 1.0, "desc"));
+        repository.save(new Product(3L, "Mid", 50.0, "desc"));
+        repository.save(new Product(4L, "Expensive", 1000.0, "desc"));
+
+        repository.deleteById(4L);
+        repository.deleteById(1L);
+        assertEquals(1.0, statistics.stats().min());
+        repository.deleteById(2L);
+
+        ProductStats stats = statistics.stats();
+        assertEquals(50.0, stats.min());
+        assertEquals(50.0, stats.max());
+        assertEquals(50.0, stats.p99());
+    }
+
+    @Test
+    void testStats_ShouldLeaveNonFinitePricesOutOfPriceFigures() {
+        ProductStatistics statistics = new ProductStatistics(repository);
+        repository.save(new Product(1L, "Priced", 10.0, "desc"));
+        repository.save(new Product(2L, "Unbounded", Double.POSITIVE_INFINITY, "desc"));
+        repository.save(new Product(3L, "Unknown", Double.NaN, "desc"));
+        repository.save(new Product(2L, "Unbounded", 30.0, "desc"));
+        repository.deleteById(3L);
+
+        ProductStats stats = statistics.stats();
+
+        assertEquals(2, stats.count());
+        assertEquals(2, stats.pricedCount());
+        assertEquals(40.0, stats.sum());
+        assertEquals(10.0, stats.min());
+        assertEquals(30.0, stats.max());
+        assertEquals(30.0, stats.p99(), 0.3);
+    }
+
+    @Test
+    void testConcurrentWriters_ShouldKeepAggregatesExact() throws Exception {
+        ProductStatistics statistics = new ProductStatistics(repository);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = t * 10_000L;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < 10_000; i++) {
+                        repository.save(new Product(base + i, "Product", 2.0, "desc"));
+                        if (i % 2 == 0) {
+                            repository.update(base + i, new Product(null, "Product", 4.0, "desc"));
+                        } else {
+                            repository.deleteById(base + i);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ProductStats stats = statistics.stats();
+        assertEquals(20_000, stats.count());
+        assertEquals(20_000 * 4.0, stats.sum());
+        assertEquals(4.0, stats.min());
+        assertEquals(4.0, stats.max());
+    }
+}